@@ -0,0 +1,56 @@
+package com.github.dakusui.pcond.benchmark;
+
+import com.github.dakusui.pcond.experimentals.currying.CurriedFunction;
+import com.github.dakusui.pcond.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.github.dakusui.pcond.experimentals.currying.CurriedFunctions.nest;
+import static com.github.dakusui.pcond.experimentals.currying.CurriedFunctions.toCurriedContextPredicate;
+import static com.github.dakusui.pcond.forms.Functions.curry;
+import static com.github.dakusui.pcond.forms.Predicates.noneMatch;
+import static com.github.dakusui.pcond.forms.Predicates.transform;
+import static java.util.Arrays.asList;
+
+/**
+ * Measures applications of curried functions and validation with curried-context predicates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurryingBenchmark {
+  private static final CurriedFunction<Object, Object> STRING_ENDS_WITH = curry(CurryingBenchmark.class, "stringEndsWith", String.class, String.class);
+
+  private static final Predicate<Stream<?>> NONE_ENDS_WITH = transform(nest(asList("x", "y", "z")))
+      .check(noneMatch(toCurriedContextPredicate(STRING_ENDS_WITH, 0, 1)));
+
+  private final Validator    validator = Validator.instance();
+  private final List<String> values    = asList("Hi", "hello", "world");
+
+  @Benchmark
+  public Object curryFunction() {
+    return curry(CurryingBenchmark.class, "stringEndsWith", String.class, String.class);
+  }
+
+  @Benchmark
+  public Object applyCurriedFunction() {
+    return STRING_ENDS_WITH.<CurriedFunction<Object, Object>>applyNext("hello").applyLast("o");
+  }
+
+  @Benchmark
+  public Object requireWithCurriedContextPredicate() {
+    return validator.requireArgument(values.stream(), NONE_ENDS_WITH);
+  }
+
+  @SuppressWarnings("unused") // Called through reflection
+  public static boolean stringEndsWith(String s, String suffix) {
+    return s.endsWith(suffix);
+  }
+}
@@ -0,0 +1,39 @@
+package com.github.dakusui.pcond.benchmark;
+
+import com.github.dakusui.pcond.fluent.Statement;
+import com.github.dakusui.pcond.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.fluent.Statement.stringValue;
+
+/**
+ * Measures construction of fluent statements and validation with them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FluentStatementBenchmark {
+  private final Validator validator = Validator.instance();
+  private final String    value     = "hello";
+
+  @Benchmark
+  public Object buildStatement() {
+    return stringValue(value).toUpperCase().then().isEqualTo("HELLO").statementPredicate();
+  }
+
+  @Benchmark
+  public Object buildAndValidateStatement() {
+    Statement<String> statement = stringValue(value).toUpperCase().then().isEqualTo("HELLO");
+    return validate(statement.statementValue(), statement.statementPredicate());
+  }
+
+  private <T> T validate(T value, Predicate<T> predicate) {
+    return validator.validate(value, predicate, IllegalStateException::new);
+  }
+}
@@ -0,0 +1,58 @@
+package com.github.dakusui.pcond.benchmark;
+
+import com.github.dakusui.pcond.core.*;
+import com.github.dakusui.pcond.validator.ReportComposer;
+import com.github.dakusui.pcond.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static com.github.dakusui.pcond.forms.Functions.length;
+import static com.github.dakusui.pcond.forms.Predicates.*;
+
+/**
+ * Measures `ReportComposer#composeExplanation` on evaluation traces of various sizes.
+ * A trace is recorded once in the setup, so that only composition of a report is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportComposerBenchmark {
+  @Param({ "10", "100", "1000" })
+  public int numConditions;
+
+  private ReportComposer        reportComposer;
+  private List<EvaluationEntry> evaluationEntries;
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Setup
+  public void setUp() {
+    this.reportComposer = Validator.instance().configuration().reportComposer();
+    Predicate[] conditions = IntStream.range(0, numConditions)
+        .mapToObj(i -> transform(length()).check(gt(i)))
+        .toArray(Predicate[]::new);
+    this.evaluationEntries = evaluate((Predicate<String>) allOf(conditions), "hello");
+  }
+
+  @Benchmark
+  public Object composeExplanation() {
+    return reportComposer.composeExplanation("Value:\"hello\" violated a precondition", evaluationEntries);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<EvaluationEntry> evaluate(Predicate<T> predicate, T value) {
+    Evaluable<T> evaluable = (Evaluable<T>) predicate;
+    EvaluationContext<T> evaluationContext = new EvaluationContext<>();
+    evaluable.accept(
+        new EvaluableIo<>(ValueHolder.forValue(value), EvaluationContext.resolveEvaluationEntryType(evaluable), evaluable),
+        evaluationContext,
+        Evaluator.create());
+    return evaluationContext.resultEntries();
+  }
+}
@@ -0,0 +1,119 @@
+package com.github.dakusui.pcond.benchmark;
+
+import com.github.dakusui.pcond.experimentals.cursor.Cursors;
+import com.github.dakusui.pcond.forms.Printables;
+import com.github.dakusui.pcond.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Functions.*;
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static java.util.Arrays.asList;
+
+/**
+ * Measures `Validator#requireArgument` and `Validator#validate` on passing and failing values.
+ * A failing value is measured including creation of an exception and its message.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+  private static final Function<String, Integer> LENGTH = Printables.function("length", String::length);
+
+  private static final Predicate<String>               LEAF                = isNotNull();
+  private static final Predicate<String>               ALL_OF              = allOf(isNotNull(), not(isEmptyString()), containsString(" "));
+  private static final Predicate<String>               NESTED_TRANSFORM    = transform(LENGTH).check(allOf(gt(0), lt(100), transform(stringify()).check(transform(LENGTH).check(lt(3)))));
+  private static final Predicate<? super List<String>> STREAM_ALL_MATCH    = transform(stream(String.class)).check(allMatch(isNotNull()));
+  private static final Predicate<String>               CURSORED_SUBSTRINGS = Cursors.findSubstrings("John", "Doe");
+
+  private final Validator validator = Validator.instance();
+
+  private final String       passingString = "John Doe";
+  private final String       failingString = "";
+  private final List<String> passingList   = asList("John", "Doe", "Jane", "Roe");
+  private final List<String> failingList   = asList("John", null, "Jane", "Roe");
+
+  @Benchmark
+  public Object requireLeafPassing() {
+    return validator.requireArgument(passingString, LEAF);
+  }
+
+  @Benchmark
+  public Object requireLeafFailing() {
+    return requireArgumentAndCatch(null, LEAF);
+  }
+
+  @Benchmark
+  public Object requireAllOfPassing() {
+    return validator.requireArgument(passingString, ALL_OF);
+  }
+
+  @Benchmark
+  public Object requireAllOfFailing() {
+    return requireArgumentAndCatch(failingString, ALL_OF);
+  }
+
+  @Benchmark
+  public Object requireNestedTransformPassing() {
+    return validator.requireArgument(passingString, NESTED_TRANSFORM);
+  }
+
+  @Benchmark
+  public Object requireNestedTransformFailing() {
+    return requireArgumentAndCatch(failingString, NESTED_TRANSFORM);
+  }
+
+  @Benchmark
+  public Object requireStreamAllMatchPassing() {
+    return validator.requireArgument(passingList, STREAM_ALL_MATCH);
+  }
+
+  @Benchmark
+  public Object requireStreamAllMatchFailing() {
+    return requireArgumentAndCatch(failingList, STREAM_ALL_MATCH);
+  }
+
+  @Benchmark
+  public Object requireFindSubstringsPassing() {
+    return validator.requireArgument(passingString, CURSORED_SUBSTRINGS);
+  }
+
+  @Benchmark
+  public Object requireFindSubstringsFailing() {
+    return requireArgumentAndCatch(failingString, CURSORED_SUBSTRINGS);
+  }
+
+  @Benchmark
+  public Object validateAllOfPassing() {
+    return validator.validate(passingString, ALL_OF, IllegalStateException::new);
+  }
+
+  @Benchmark
+  public Object validateAllOfFailing() {
+    try {
+      return validator.validate(failingString, ALL_OF, IllegalStateException::new);
+    } catch (IllegalStateException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object validateInlinePredicatePassing() {
+    return validator.validate(passingString, allOf(isNotNull(), not(isEmptyString()), containsString(" ")), IllegalStateException::new);
+  }
+
+  private <T> Object requireArgumentAndCatch(T value, Predicate<? super T> cond) {
+    try {
+      return validator.requireArgument(value, cond);
+    } catch (IllegalArgumentException e) {
+      return e;
+    }
+  }
+}
@@ -0,0 +1,320 @@
+package com.github.dakusui.pcond.core;
+
+import com.github.dakusui.pcond.experimentals.currying.context.CurriedContext;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.github.dakusui.pcond.internals.InternalUtils.isDummyFunction;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A "flat" form of an {@link Evaluable} tree.
+ *
+ * An {@link Evaluator} visits each node of a tree by double-dispatching and records
+ * an {@link EvaluationEntry} for it, so that a report can be composed.
+ * That is necessary only when a value doesn't satisfy a predicate.
+ * This class turns a tree into an array of instructions (leaf calls, function applications,
+ * and jumps for junctions) once, and runs them in a single loop without any bookkeeping.
+ *
+ * A compiled predicate gives the same boolean result as the tree it was compiled from.
+ * If any form in the tree throws an exception, the exception is thrown from {@link CompiledPredicate#test(Object)}
+ * as it is.
+ * When a report is needed, evaluate the original tree with an {@link Evaluator}.
+ *
+ * Use {@link CompiledPredicate#compile(Evaluable)} to create an instance.
+ * An instance of this class is immutable and can be shared among threads as long as
+ * the forms in the original tree are.
+ *
+ * @param <T> The type of the value to be tested.
+ */
+public final class CompiledPredicate<T> implements Predicate<T> {
+  private static final int TEST                = 0;
+  private static final int APPLY               = 1;
+  private static final int PUSH_VALUE          = 2;
+  private static final int POP_VALUE           = 3;
+  private static final int CONTEXT_VALUE       = 4;
+  private static final int NOT                 = 5;
+  private static final int JUMP_IF_FALSE       = 6;
+  private static final int JUMP_IF_TRUE        = 7;
+  private static final int PUSH_FLAG           = 8;
+  private static final int AND_FLAG            = 9;
+  private static final int OR_FLAG             = 10;
+  private static final int POP_FLAG            = 11;
+  private static final int CONSTANT            = 12;
+  private static final int STREAM              = 13;
+  private static final int NOT_COMPILABLE      = 14;
+  private static final int STREAM_CUT_ON_TRUE  = 1;
+  private static final int STREAM_DEFAULT_TRUE = 2;
+
+  private final int[]    opcodes;
+  private final int[]    intOperands;
+  private final Object[] operands;
+  private final int      valueStackDepth;
+  private final int      flagStackDepth;
+  private final boolean  replayable;
+
+  private static final CompiledPredicate<?> NOT_COMPILABLE_PLAN = new CompiledPredicate<>(new Compiler().notCompilable(), false);
+
+  private CompiledPredicate(Compiler compiler, boolean replayable) {
+    int size = compiler.opcodes.size();
+    this.opcodes = new int[size];
+    this.intOperands = new int[size];
+    this.operands = compiler.operands.toArray();
+    for (int i = 0; i < size; i++) {
+      this.opcodes[i] = compiler.opcodes.get(i);
+      this.intOperands[i] = compiler.intOperands.get(i);
+    }
+    this.valueStackDepth = compiler.maxValueDepth + 1;
+    this.flagStackDepth = compiler.maxFlagDepth;
+    this.replayable = replayable;
+  }
+
+  /**
+   * Compiles a given `evaluable` into a flat execution plan.
+   *
+   * @param evaluable An evaluable to be compiled.
+   * @param <T>       The type of the value to be tested.
+   * @return A compiled predicate.
+   */
+  public static <T> CompiledPredicate<T> compile(Evaluable<T> evaluable) {
+    requireNonNull(evaluable);
+    Compiler compiler = new Compiler();
+    compiler.compilePredicate(evaluable);
+    return new CompiledPredicate<>(compiler, evaluable.isReplayable());
+  }
+
+  /**
+   * Compiles a given `evaluable` just like {@link CompiledPredicate#compile(Evaluable)}.
+   * However, if the tree contains a form this class doesn't know, this method returns a placeholder
+   * instead of throwing an {@link UnsupportedOperationException}.
+   * The placeholder is not replayable and throws an {@link UnsupportedOperationException}
+   * from {@link CompiledPredicate#test(Object)}, so a caller should evaluate the original tree with an {@link Evaluator}.
+   *
+   * @param evaluable An evaluable to be compiled.
+   * @param <T>       The type of the value to be tested.
+   * @return A compiled predicate or the placeholder.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> CompiledPredicate<T> compileIfPossible(Evaluable<T> evaluable) {
+    try {
+      return compile(evaluable);
+    } catch (UnsupportedOperationException e) {
+      return (CompiledPredicate<T>) NOT_COMPILABLE_PLAN;
+    }
+  }
+
+  /**
+   * Returns `true` if the original tree of this object can be evaluated again for
+   * the same value to compose a report.
+   *
+   * @return `true` if the original tree is replayable.
+   * @see Evaluable#isReplayable()
+   */
+  public boolean isReplayable() {
+    return this.replayable;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Override
+  public boolean test(T value) {
+    final int[] opcodes = this.opcodes;
+    final int[] intOperands = this.intOperands;
+    final Object[] operands = this.operands;
+    final Object[] values = new Object[this.valueStackDepth];
+    final boolean[] flags = this.flagStackDepth > 0 ? new boolean[this.flagStackDepth] : null;
+    int valueIndex = 0;
+    int flagIndex = -1;
+    boolean result = false;
+    values[0] = value;
+    for (int pc = 0; pc < opcodes.length; pc++) {
+      switch (opcodes[pc]) {
+      case TEST:
+        result = ((Predicate) operands[pc]).test(values[valueIndex]);
+        break;
+      case APPLY:
+        values[valueIndex] = ((Function) operands[pc]).apply(values[valueIndex]);
+        break;
+      case PUSH_VALUE:
+        values[valueIndex + 1] = values[valueIndex];
+        valueIndex++;
+        break;
+      case POP_VALUE:
+        values[valueIndex--] = null;
+        break;
+      case CONTEXT_VALUE:
+        values[valueIndex] = ((CurriedContext) values[valueIndex]).valueAt(intOperands[pc]);
+        break;
+      case NOT:
+        result = !result;
+        break;
+      case JUMP_IF_FALSE:
+        if (!result)
+          pc = intOperands[pc] - 1;
+        break;
+      case JUMP_IF_TRUE:
+        if (result)
+          pc = intOperands[pc] - 1;
+        break;
+      case PUSH_FLAG:
+        flags[++flagIndex] = intOperands[pc] != 0;
+        break;
+      case AND_FLAG:
+        flags[flagIndex] &= result;
+        break;
+      case OR_FLAG:
+        flags[flagIndex] |= result;
+        break;
+      case POP_FLAG:
+        result = flags[flagIndex--];
+        break;
+      case CONSTANT:
+        result = intOperands[pc] != 0;
+        break;
+      case STREAM:
+        result = testStream((CompiledPredicate<Object>) operands[pc], (Stream<Object>) values[valueIndex], intOperands[pc]);
+        break;
+      case NOT_COMPILABLE:
+        throw new UnsupportedOperationException("Not compilable. Evaluate the original predicate instead.");
+      default:
+        throw new AssertionError("Unknown opcode: " + opcodes[pc]);
+      }
+    }
+    return result;
+  }
+
+  private static boolean testStream(CompiledPredicate<Object> cut, Stream<Object> stream, int mode) {
+    boolean valueToCut = (mode & STREAM_CUT_ON_TRUE) != 0;
+    boolean defaultValue = (mode & STREAM_DEFAULT_TRUE) != 0;
+    Iterator<Object> i = stream.iterator();
+    while (i.hasNext()) {
+      if (cut.test(i.next()) == valueToCut)
+        return !defaultValue;
+    }
+    return defaultValue;
+  }
+
+  private static class Compiler {
+    final List<Integer> opcodes     = new ArrayList<>();
+    final List<Integer> intOperands = new ArrayList<>();
+    final List<Object>  operands    = new ArrayList<>();
+    int valueDepth    = 0;
+    int maxValueDepth = 0;
+    int flagDepth     = 0;
+    int maxFlagDepth  = 0;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    void compilePredicate(Evaluable<?> evaluable) {
+      if (evaluable instanceof Evaluable.Conjunction)
+        compileJunction(((Evaluable.Conjunction<?>) evaluable).children(), ((Evaluable.Conjunction<?>) evaluable).shortcut(), true);
+      else if (evaluable instanceof Evaluable.Disjunction)
+        compileJunction(((Evaluable.Disjunction<?>) evaluable).children(), ((Evaluable.Disjunction<?>) evaluable).shortcut(), false);
+      else if (evaluable instanceof Evaluable.Negation) {
+        compilePredicate(((Evaluable.Negation<?>) evaluable).target());
+        emit(NOT);
+      } else if (evaluable instanceof Evaluable.LeafPred)
+        emit(TEST, requireNonNull(((Evaluable.LeafPred<?>) evaluable).predicate()));
+      else if (evaluable instanceof Evaluable.Transformation)
+        compileTransformation((Evaluable.Transformation<?, ?>) evaluable);
+      else if (evaluable instanceof Evaluable.CurriedContextPred) {
+        pushValue();
+        emit(CONTEXT_VALUE, ((Evaluable.CurriedContextPred) evaluable).argIndex());
+        compilePredicate(((Evaluable.CurriedContextPred) evaluable).enclosed());
+        popValue();
+      } else if (evaluable instanceof Evaluable.StreamPred) {
+        Evaluable.StreamPred<?> streamPred = (Evaluable.StreamPred<?>) evaluable;
+        emit(STREAM,
+            compile((Evaluable) streamPred.cut()),
+            (streamPred.valueToCut() ? STREAM_CUT_ON_TRUE : 0) | (streamPred.defaultValue() ? STREAM_DEFAULT_TRUE : 0));
+      } else if (evaluable instanceof Predicate)
+        emit(TEST, evaluable);
+      else
+        throw new UnsupportedOperationException("Not a predicate: " + evaluable);
+    }
+
+    void compileJunction(List<? extends Evaluable<?>> children, boolean shortcut, boolean conjunction) {
+      if (children.isEmpty()) {
+        emit(CONSTANT, conjunction ? 1 : 0);
+        return;
+      }
+      if (shortcut) {
+        List<Integer> jumps = new ArrayList<>();
+        for (int i = 0; i < children.size(); i++) {
+          compilePredicate(children.get(i));
+          if (i < children.size() - 1)
+            jumps.add(emit(conjunction ? JUMP_IF_FALSE : JUMP_IF_TRUE, -1));
+        }
+        jumps.forEach(each -> intOperands.set(each, opcodes.size()));
+        return;
+      }
+      // Without "shortcut", every child needs to be tested because any of them may throw an exception.
+      emit(PUSH_FLAG, conjunction ? 1 : 0);
+      maxFlagDepth = Math.max(maxFlagDepth, ++flagDepth);
+      for (Evaluable<?> each : children) {
+        compilePredicate(each);
+        emit(conjunction ? AND_FLAG : OR_FLAG);
+      }
+      emit(POP_FLAG);
+      flagDepth--;
+    }
+
+    void compileTransformation(Evaluable.Transformation<?, ?> transformation) {
+      if (isDummyFunction((Function<?, ?>) transformation.mapper())) {
+        compilePredicate(transformation.checker());
+        return;
+      }
+      pushValue();
+      compileFunction(transformation.mapper());
+      compilePredicate(transformation.checker());
+      popValue();
+    }
+
+    void compileFunction(Evaluable<?> evaluable) {
+      if (evaluable instanceof Evaluable.Func) {
+        emit(APPLY, requireNonNull(((Evaluable.Func<?>) evaluable).head()));
+        ((Evaluable.Func<?>) evaluable).tail().ifPresent(this::compileFunction);
+      } else if (evaluable instanceof Function)
+        emit(APPLY, evaluable);
+      else
+        throw new UnsupportedOperationException("Not a function: " + evaluable);
+    }
+
+    Compiler notCompilable() {
+      emit(NOT_COMPILABLE);
+      return this;
+    }
+
+    void pushValue() {
+      emit(PUSH_VALUE);
+      maxValueDepth = Math.max(maxValueDepth, ++valueDepth);
+    }
+
+    void popValue() {
+      emit(POP_VALUE);
+      valueDepth--;
+    }
+
+    void emit(int opcode) {
+      emit(opcode, null, 0);
+    }
+
+    void emit(int opcode, Object operand) {
+      emit(opcode, operand, 0);
+    }
+
+    int emit(int opcode, int intOperand) {
+      return emit(opcode, null, intOperand);
+    }
+
+    int emit(int opcode, Object operand, int intOperand) {
+      opcodes.add(opcode);
+      operands.add(operand);
+      intOperands.add(intOperand);
+      return opcodes.size() - 1;
+    }
+  }
+}
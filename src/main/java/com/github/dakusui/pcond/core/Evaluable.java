@@ -47,6 +47,24 @@ public interface Evaluable<T> {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Returns `true` if this object can be evaluated more than once for the same
+   * input value and produces the same result (and the same explanation) every time.
+   *
+   * A validator may first test a value with a plain predicate call and evaluate it
+   * again with an {@link Evaluator} only when the test fails, in order to build a
+   * report.
+   * Such a "replay" is only allowed for an evaluable, for which this method returns
+   * `true`.
+   * An evaluable that accumulates a state during its evaluation should override
+   * this method and return `false`.
+   *
+   * @return `true` if this object can be evaluated repeatedly.
+   */
+  default boolean isReplayable() {
+    return true;
+  }
+
   /**
    * A base interface to model all the predicates in the model of the evaluation
    * framework.
@@ -95,6 +113,11 @@ public interface Evaluable<T> {
     default boolean isSquashable() {
       return children().size() <= 1;
     }
+
+    @Override
+    default boolean isReplayable() {
+      return children().stream().allMatch(Evaluable::isReplayable);
+    }
   }
 
   /**
@@ -146,6 +169,11 @@ public interface Evaluable<T> {
     default boolean isSquashable() {
       return true;
     }
+
+    @Override
+    default boolean isReplayable() {
+      return target().isReplayable();
+    }
   }
 
   /**
@@ -183,6 +211,11 @@ public interface Evaluable<T> {
     <T> Evaluable<T> enclosed();
 
     int argIndex();
+
+    @Override
+    default boolean isReplayable() {
+      return enclosed().isReplayable();
+    }
   }
 
   /**
@@ -240,7 +273,13 @@ public interface Evaluable<T> {
      */
     default boolean requestExpectationFlip() {
       return false;
-    }  }
+    }
+
+    @Override
+    default boolean isReplayable() {
+      return cut().isReplayable();
+    }
+  }
 
   /**
    * An interface to model a "transforming predicate", which models the "transform and check" style of value validation.
@@ -278,6 +317,11 @@ public interface Evaluable<T> {
      * @return An optional to store a name of the checker.
      */
     Optional<String> checkerName();
+
+    @Override
+    default boolean isReplayable() {
+      return mapper().isReplayable() && checker().isReplayable();
+    }
   }
 
   /**
@@ -296,5 +340,10 @@ public interface Evaluable<T> {
     Function<? super T, Object> head();
 
     Optional<Evaluable<Object>> tail();
+
+    @Override
+    default boolean isReplayable() {
+      return tail().map(Evaluable::isReplayable).orElse(true);
+    }
   }
 }
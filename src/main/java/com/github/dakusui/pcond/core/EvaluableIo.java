@@ -7,16 +7,33 @@ public class EvaluableIo<I, E extends Evaluable<I>, O> {
   private final ValueHolder<I>       input;
   private final E                    evaluable;
   private final EvaluationEntry.Type evaluableType;
-  private final String               formName;
+  /**
+   * A type from which the form name is resolved, when it is not given explicitly.
+   */
+  private final EvaluationEntry.Type formNameType;
+  private       String               formName;
   private       ValueHolder<O>       output;
 
+  /**
+   * Creates an object of this class, whose form name is resolved from the `evaluableType` and
+   * the `evaluable` when it is requested for the first time.
+   *
+   * @param input         An input to the `evaluable`.
+   * @param evaluableType The type of the `evaluable`.
+   * @param evaluable     An evaluable.
+   */
   public EvaluableIo(ValueHolder<I> input, EvaluationEntry.Type evaluableType, E evaluable) {
-    this(input, evaluableType, formNameOf(evaluableType, evaluable), evaluable);
+    this(input, evaluableType, evaluableType, null, evaluable);
   }
 
   public EvaluableIo(ValueHolder<I> input, EvaluationEntry.Type evaluableType, String formName, E evaluable) {
+    this(input, evaluableType, null, formName, evaluable);
+  }
+
+  EvaluableIo(ValueHolder<I> input, EvaluationEntry.Type evaluableType, EvaluationEntry.Type formNameType, String formName, E evaluable) {
     this.input = requireNonNull(input);
     this.evaluableType = requireNonNull(evaluableType);
+    this.formNameType = formNameType;
     this.formName = formName;
     this.evaluable = requireNonNull(evaluable);
     this.output = ValueHolder.create();
@@ -35,6 +52,8 @@ public class EvaluableIo<I, E extends Evaluable<I>, O> {
   }
 
   public String formName() {
+    if (this.formName == null && this.formNameType != null)
+      this.formName = formNameOf(this.formNameType, this.evaluable);
     return this.formName;
   }
 
@@ -1,7 +1,6 @@
 package com.github.dakusui.pcond.core;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -16,15 +15,88 @@ import static java.util.Objects.requireNonNull;
  */
 
 public class EvaluationContext<T> {
-  final List<EvaluationEntry> evaluationEntries = new LinkedList<>();
-  final List<EvaluationEntry> visitorLineage    = new LinkedList<>();
+  /**
+   * An "arena" of entries shared by a top-level context and all the child contexts created from it.
+   * A child context writes its entries directly into the arena, instead of having them copied
+   * into its parent afterwards.
+   */
+  final List<EvaluationEntry> evaluationEntries;
+  final List<EvaluationEntry> visitorLineage = new ArrayList<>();
+
+  /**
+   * The index in the arena, from which entries of this context start.
+   */
+  private final int startIndex;
+  /**
+   * The level of an entry created at the top of this context.
+   */
+  private final int baseLevel;
+
+  private final EvaluationListener evaluationListener;
+
+  /**
+   * Whether stack traces of exceptions thrown during an evaluation are shown in a report.
+   */
+  private final boolean captureStackTrace;
 
   boolean expectationFlipped = false;
 
   public EvaluationContext() {
+    this(EvaluationListener.NOOP);
+  }
+
+  /**
+   * Creates a top-level context.
+   * The `evaluationListener` is notified of every form evaluated in this context and its children.
+   *
+   * @param evaluationListener A listener to be notified.
+   */
+  public EvaluationContext(EvaluationListener evaluationListener) {
+    this(evaluationListener, true);
+  }
+
+  /**
+   * Creates a top-level context.
+   * The `evaluationListener` is notified of every form evaluated in this context and its children.
+   *
+   * @param evaluationListener A listener to be notified.
+   * @param captureStackTrace  `false` not to show stack traces of exceptions thrown during an evaluation in a report.
+   * @see com.github.dakusui.pcond.validator.Validator.Configuration#captureStackTrace()
+   */
+  public EvaluationContext(EvaluationListener evaluationListener, boolean captureStackTrace) {
+    this.evaluationEntries = new ArrayList<>();
+    this.startIndex = 0;
+    this.baseLevel = 0;
+    this.evaluationListener = requireNonNull(evaluationListener);
+    this.captureStackTrace = captureStackTrace;
   }
 
+  /**
+   * Creates a child context of the `parent`.
+   * Entries of the child are indented by the current indent level of the `parent`.
+   *
+   * @param parent A parent context.
+   * @see EvaluationContext#importEntries(EvaluationContext)
+   */
   public EvaluationContext(EvaluationContext<?> parent) {
+    this(parent, parent.currentIndentLevel());
+  }
+
+  /**
+   * Creates a child context of the `parent`.
+   * Entries of the child are written into the same list as the `parent`'s and indented
+   * by `indentLevelGap` relatively to the top level of the `parent`.
+   *
+   * @param parent         A parent context.
+   * @param indentLevelGap A gap of the indent level between the `parent` and the child.
+   * @see EvaluationContext#importEntries(EvaluationContext, int)
+   */
+  public EvaluationContext(EvaluationContext<?> parent, int indentLevelGap) {
+    this.evaluationEntries = parent.evaluationEntries;
+    this.startIndex = parent.evaluationEntries.size();
+    this.baseLevel = parent.baseLevel + indentLevelGap;
+    this.evaluationListener = parent.evaluationListener;
+    this.captureStackTrace = parent.captureStackTrace;
     this.expectationFlipped = parent.isExpectationFlipped();
   }
 
@@ -41,14 +113,22 @@ public class EvaluationContext<T> {
   }
 
   public <E extends Evaluable<T>, O> void evaluate(EvaluationEntry.Type type, EvaluableIo<T, E, O> evaluableIo, Function<EvaluableIo<T, E, O>, ValueHolder<O>> function) {
-    evaluate(type, formNameOf(evaluableIo), evaluableIo, function);
+    // The form name is resolved lazily from the type of the given evaluableIo, not from the "type".
+    evaluate(type, requireNonNull(evaluableIo).evaluableType(), null, evaluableIo, function);
   }
 
   public <E extends Evaluable<T>, O> void evaluate(EvaluationEntry.Type type, String formName, EvaluableIo<T, E, O> evaluableIo, Function<EvaluableIo<T, E, O>, ValueHolder<O>> function) {
+    evaluate(type, null, formName, evaluableIo, function);
+  }
+
+  private <E extends Evaluable<T>, O> void evaluate(EvaluationEntry.Type type, EvaluationEntry.Type formNameType, String formName, EvaluableIo<T, E, O> evaluableIo, Function<EvaluableIo<T, E, O>, ValueHolder<O>> function) {
     requireNonNull(evaluableIo);
-    EvaluableIo<T, E, O> evaluableIoWork = this.enter(evaluableIo.input(), type, formName, evaluableIo.evaluable());
+    EvaluableIo<T, E, O> evaluableIoWork = this.enter(evaluableIo.input(), type, formNameType, formName, evaluableIo.evaluable());
+    this.evaluationListener.enter(this, type, evaluableIoWork);
     this.leave(evaluableIoWork, function.apply(evaluableIoWork));
-    DebuggingUtils.printTo(this, System.err, 1);
+    this.evaluationListener.leave(this, type, evaluableIoWork);
+    if (type == LEAF)
+      this.evaluationListener.leafResult(this, evaluableIoWork);
     updateEvaluableIo(evaluableIo, evaluableIoWork);
   }
 
@@ -64,6 +144,11 @@ public class EvaluationContext<T> {
     return this.expectationFlipped;
   }
 
+  boolean captureStackTrace() {
+    return this.captureStackTrace;
+  }
+
+
   public void flipExpectation() {
     this.expectationFlipped = !expectationFlipped;
   }
@@ -89,8 +174,8 @@ public class EvaluationContext<T> {
   }
 
   @SuppressWarnings("unchecked")
-  private <E extends Evaluable<T>, O> EvaluableIo<T, E, O> enter(ValueHolder<T> input, EvaluationEntry.Type type, String formName, E evaluable) {
-    EvaluableIo<T, Evaluable<T>, O> ret = createEvaluableIo(input, type, formName, evaluable);
+  private <E extends Evaluable<T>, O> EvaluableIo<T, E, O> enter(ValueHolder<T> input, EvaluationEntry.Type type, EvaluationEntry.Type formNameType, String formName, E evaluable) {
+    EvaluableIo<T, Evaluable<T>, O> ret = createEvaluableIo(input, type, formNameType, formName, evaluable);
     this.evaluationEntries.add(createEvaluationEntry(this, ret));
     this.visitorLineage.add(evaluationEntries.get(evaluationEntries.size() - 1));
     return (EvaluableIo<T, E, O>) ret;
@@ -102,8 +187,8 @@ public class EvaluationContext<T> {
     currentEvaluationEntry.finalizeValues();
   }
 
-  private static <T, O> EvaluableIo<T, Evaluable<T>, O> createEvaluableIo(ValueHolder<T> input, EvaluationEntry.Type type, String formName, Evaluable<T> evaluable) {
-    return new EvaluableIo<>(input, type, formName, evaluable);
+  private static <T, O> EvaluableIo<T, Evaluable<T>, O> createEvaluableIo(ValueHolder<T> input, EvaluationEntry.Type type, EvaluationEntry.Type formNameType, String formName, Evaluable<T> evaluable) {
+    return new EvaluableIo<>(input, type, formNameType, formName, evaluable);
   }
 
   private static <T, E extends Evaluable<T>> EvaluationEntry createEvaluationEntry(
@@ -113,19 +198,49 @@ public class EvaluationContext<T> {
   }
 
   public List<EvaluationEntry> resultEntries() {
-    return new ArrayList<>(this.evaluationEntries);
+    return new ArrayList<>(this.evaluationEntries.subList(this.startIndex, this.evaluationEntries.size()));
   }
 
   public <R> void importEntries(EvaluationContext<R> childContext) {
     importEntries(childContext, currentIndentLevel());
   }
 
+  /**
+   * Imports entries of a `childContext` into this context.
+   *
+   * If the `childContext` was created from this context, its entries are already in place and
+   * nothing needs to be copied.
+   * Levels of the entries are adjusted only if `indentLevelGap` is different from the one given
+   * on the creation of the child.
+   *
+   * @param childContext   A child context whose entries are imported.
+   * @param indentLevelGap A gap of the indent level between this context and the child.
+   * @param <R>            The type of the value evaluated by the child context.
+   */
   public <R> void importEntries(EvaluationContext<R> childContext, int indentLevelGap) {
-    childContext.evaluationEntries.forEach(each -> each.level += indentLevelGap);
-    this.evaluationEntries.addAll(childContext.resultEntries());
+    if (childContext.evaluationEntries == this.evaluationEntries) {
+      int adjustment = this.baseLevel + indentLevelGap - childContext.baseLevel;
+      if (adjustment != 0)
+        childContext.evaluationEntries
+            .subList(childContext.startIndex, childContext.evaluationEntries.size())
+            .forEach(each -> each.level += adjustment);
+      return;
+    }
+    List<EvaluationEntry> entries = childContext.resultEntries();
+    entries.forEach(each -> each.level += this.baseLevel + indentLevelGap);
+    this.evaluationEntries.addAll(entries);
   }
 
   public int currentIndentLevel() {
     return this.visitorLineage.size();
   }
+
+  /**
+   * Returns the level of an entry to be created next in this context.
+   *
+   * @return The level of the next entry.
+   */
+  int levelOfNextEntry() {
+    return this.baseLevel + this.visitorLineage.size();
+  }
 }
@@ -160,13 +160,15 @@ public abstract class EvaluationEntry {
     return String.format("%s(%s)", formName(), inputActualValue());
   }
   
-  static String composeDetailOutputActualValueFromInputAndThrowable(Object input, Throwable throwable) {
+  static String composeDetailOutputActualValueFromInputAndThrowable(Object input, Throwable throwable, boolean captureStackTrace) {
     StringBuilder b = new StringBuilder();
     b.append("Input: '").append(input).append("'").append(format("%n"));
     b.append("Input Type: ").append(input == null ? "(null)" : input.getClass().getName()).append(format("%n"));
     b.append("Thrown Exception: '").append(throwable.getClass().getName()).append("'").append(format("%n"));
     b.append("Exception Message: ").append(sanitizeExceptionMessage(throwable)).append(format("%n"));
     
+    if (!captureStackTrace)
+      return b.toString();
     for (StackTraceElement each : foldInternalPackageElements(throwable)) {
       b.append("\t");
       b.append(each);
@@ -214,15 +216,15 @@ public abstract class EvaluationEntry {
             evaluableIo.evaluable() instanceof Evaluable.LeafPred && returnedValueOrVoidIfSkipped(expectationFlipped, evaluableIo)));
   }
   
+  private static final String INTERNAL_PACKAGE_NAME = Validator.class.getPackage().getName()
+      .replaceFirst("\\.[a-zA-Z0-9_.]+$", "")
+      .replaceFirst("\\.[a-zA-Z0-9_.]+$", "");
+  
   private static List<StackTraceElement> foldInternalPackageElements(Throwable throwable) {
     AtomicReference<StackTraceElement> firstInternalStackElement = new AtomicReference<>();
-    String lastPackageNameElementPattern = "\\.[a-zA-Z0-9_.]+$";
-    String internalPackageName = Validator.class.getPackage().getName()
-        .replaceFirst(lastPackageNameElementPattern, "")
-        .replaceFirst(lastPackageNameElementPattern, "");
     return Arrays.stream(throwable.getStackTrace())
         .filter(e -> {
-          if (e.getClassName().startsWith(internalPackageName)) {
+          if (e.getClassName().startsWith(INTERNAL_PACKAGE_NAME)) {
             if (firstInternalStackElement.get() == null) {
               firstInternalStackElement.set(e);
               return true;
@@ -233,7 +235,7 @@ public abstract class EvaluationEntry {
           return true;
         })
         .map(e -> {
-          if (e.getClassName().startsWith(internalPackageName)) {
+          if (e.getClassName().startsWith(INTERNAL_PACKAGE_NAME)) {
             return new StackTraceElement("...internal.package.InternalClass", "internalMethod", "InternalClass.java", 0);
           }
           return e;
@@ -396,35 +398,57 @@ public abstract class EvaluationEntry {
     
     private final EvaluableIo<?, ?, ?> evaluableIo;
     private final boolean              expectationFlipped;
+    private final boolean              captureStackTrace;
     private       boolean              ignored;
     
     private boolean finalized = false;
     private Object  outputActualValue;
     private Object  detailOutputActualValue;
-    
+
+    private boolean detailOutputExpectationComputed;
+    private boolean detailOutputActualValueComputed;
+
+    /**
+     * Creates an entry for a given `evaluableIo`.
+     * Only references to the I/O are recorded here.
+     * Values that are expensive to compute, such as explanations, are computed when a report actually
+     * needs them, unless the evaluable is an {@link Evaluator.Explainable} whose explanations may change
+     * during an evaluation.
+     * For such an evaluable, the explanations of the expectation and the input are computed here, and the one of
+     * the actual output is computed in {@link Impl#finalizeValues()}.
+     *
+     * @param evaluationContext An evaluation context in which the entry is created.
+     * @param evaluableIo       An I/O of an evaluable for which the entry is created.
+     */
     <T, E extends Evaluable<T>> Impl(
         EvaluationContext<T> evaluationContext,
         EvaluableIo<T, E, ?> evaluableIo) {
       super(
-          EvaluationContext.formNameOf(evaluableIo),
+          null,                                                   // formName is resolved by evaluableIo
           evaluableIo.evaluableType(),
-          evaluationContext.visitorLineage.size(),
+          evaluationContext.levelOfNextEntry(),
           computeInputExpectation(evaluableIo),                   // inputExpectation        == inputActualValue
-          explainInputExpectation(evaluableIo),                   // detailInputExpectation  == detailInputActualValue
+          null,                                                   // detailInputExpectation: evaluableIo is never explainable
           null, // not necessary                                  // outputExpectation
-          explainOutputExpectation(evaluableIo.evaluable(), evaluableIo),      // detailOutputExpectation
+          null,                                                   // detailOutputExpectation
           computeInputActualValue(evaluableIo),                   // inputActualValue
-          explainInputActualValue(evaluableIo.evaluable(), computeInputActualValue(evaluableIo)), // detailInputActualValue
+          null,                                                   // detailInputActualValue
           evaluableIo.evaluable().isSquashable());
       this.evaluableIo = evaluableIo;
       this.expectationFlipped = evaluationContext.isExpectationFlipped();
+      this.captureStackTrace = evaluationContext.captureStackTrace();
       this.ignored = false;
+      if (!isExplanationDeferrable(evaluableIo.evaluable())) {
+        this.detailOutputExpectation = explainOutputExpectation(evaluableIo.evaluable(), evaluableIo);
+        this.detailOutputExpectationComputed = true;
+        this.detailInputActualValue = explainInputActualValue(evaluableIo.evaluable(), this.inputActualValue);
+      }
     }
-    
-    private static <E extends Evaluable<T>, T> Object explainInputExpectation(EvaluableIo<T, E, ?> evaluableIo) {
-      return explainInputActualValue(evaluableIo, computeInputExpectation(evaluableIo));
+
+    private static boolean isExplanationDeferrable(Object evaluable) {
+      return !(evaluable instanceof Evaluator.Explainable) || ((Evaluator.Explainable) evaluable).isExplanationDeferrable();
     }
-    
+
     private static <E extends Evaluable<T>, T> Object computeInputExpectation(EvaluableIo<T, E, ?> evaluableIo) {
       return computeInputActualValue(evaluableIo);
     }
@@ -443,6 +467,15 @@ public abstract class EvaluationEntry {
       assert finalized;
       return outputExpectation;
     }
+
+    @Override
+    public Object detailOutputExpectation() {
+      if (!this.detailOutputExpectationComputed) {
+        this.detailOutputExpectation = explainOutputExpectation(this.evaluableIo.evaluable(), this.evaluableIo);
+        this.detailOutputExpectationComputed = true;
+      }
+      return this.detailOutputExpectation;
+    }
     
     @Override
     public Object outputActualValue() {
@@ -453,6 +486,10 @@ public abstract class EvaluationEntry {
     @Override
     public Object detailOutputActualValue() {
       assert finalized;
+      if (!this.detailOutputActualValueComputed) {
+        this.detailOutputActualValue = explainActual(evaluableIo(), this.captureStackTrace);
+        this.detailOutputActualValueComputed = true;
+      }
       return detailOutputActualValue;
     }
     
@@ -480,10 +517,13 @@ public abstract class EvaluationEntry {
     public void finalizeValues() {
       this.outputExpectation = computeOutputExpectation(evaluableIo(), expectationFlipped);
       this.outputActualValue = computeOutputActualValue(evaluableIo());
-      this.detailOutputActualValue = explainActual(evaluableIo());
       this.ignored =
           (this.evaluableIo.evaluableType() == TRANSFORM_AND_CHECK && this.evaluableIo.formName().equals("transformAndCheck")) ||
               (this.evaluableIo.evaluableType() == FUNCTION && this.evaluableIo.output().creatorFormType() == FUNC_TAIL);
+      if (!isExplanationDeferrable(this.evaluableIo.evaluable())) {
+        this.detailOutputActualValue = explainActual(evaluableIo(), this.captureStackTrace);
+        this.detailOutputActualValueComputed = true;
+      }
       this.finalized = true;
     }
     
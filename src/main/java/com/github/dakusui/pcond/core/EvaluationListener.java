@@ -0,0 +1,85 @@
+package com.github.dakusui.pcond.core;
+
+import java.io.PrintStream;
+
+import static com.github.dakusui.pcond.internals.InternalUtils.indent;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An interface to observe an evaluation performed in an {@link EvaluationContext}.
+ *
+ * A listener is given to a top-level context when it is created and inherited by all of its child contexts.
+ * {@link EvaluationListener#enter} is called when a form is about to be evaluated and {@link EvaluationListener#leave}
+ * is called when its output is determined.
+ * For a leaf form, {@link EvaluationListener#leafResult} is called in addition to {@link EvaluationListener#leave}.
+ *
+ * When no listener is installed, {@link EvaluationListener#NOOP} is used, whose methods do nothing at all.
+ */
+public interface EvaluationListener {
+  /**
+   * A listener that does nothing.
+   */
+  EvaluationListener NOOP = new EvaluationListener() {
+  };
+
+  /**
+   * Called when a form held by `evaluableIo` is about to be evaluated.
+   *
+   * @param evaluationContext A context in which the form is evaluated.
+   * @param type              The type of the entry created for the form.
+   * @param evaluableIo       An object which holds the form and its input.
+   * @param <T>               The type of the input.
+   */
+  default <T> void enter(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+  }
+
+  /**
+   * Called when the output of a form held by `evaluableIo` is determined.
+   *
+   * @param evaluationContext A context in which the form is evaluated.
+   * @param type              The type of the entry created for the form.
+   * @param evaluableIo       An object which holds the form, its input, and output.
+   * @param <T>               The type of the input.
+   */
+  default <T> void leave(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+  }
+
+  /**
+   * Called when the output of a leaf form held by `evaluableIo` is determined.
+   *
+   * @param evaluationContext A context in which the form is evaluated.
+   * @param evaluableIo       An object which holds the form, its input, and output.
+   * @param <T>               The type of the input.
+   */
+  default <T> void leafResult(EvaluationContext<T> evaluationContext, EvaluableIo<T, ?, ?> evaluableIo) {
+  }
+
+  /**
+   * A listener which prints each step of an evaluation and entries recorded so far.
+   * This is used when `com.github.dakusui.pcond.debug` is set to `true`.
+   */
+  class DebugPrinting implements EvaluationListener {
+    private final PrintStream printStream;
+
+    public DebugPrinting() {
+      this(System.err);
+    }
+
+    public DebugPrinting(PrintStream printStream) {
+      this.printStream = requireNonNull(printStream);
+    }
+
+    @Override
+    public <T> void enter(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+      printStream.println("ENTER:" + type + ":" + evaluableIo.evaluable() + "(" + evaluableIo.input() + ")");
+    }
+
+    @Override
+    public <T> void leave(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+      printStream.println("LEAVE:" + type + ":" + evaluableIo.evaluable() + "(" + evaluableIo.input() + ")=" + evaluableIo.output());
+      printStream.println(indent(1) + "context=<" + evaluationContext + ">");
+      for (Object each : evaluationContext.resultEntries())
+        printStream.println(indent(2) + each);
+    }
+  }
+}
@@ -232,7 +232,7 @@ public interface Evaluator {
             ValueHolder<R> ret;
             {
               EvaluableIo<T, Evaluable<T>, Object> ioForHead = createChildEvaluableIoOf(evaluable, input);
-              EvaluationContext<T> childContext = new EvaluationContext<>(evaluationContext);
+              EvaluationContext<T> childContext = new EvaluationContext<>(evaluationContext, 1);
               childContext.evaluate(FUNCTION, ioForHead, io -> {
                 ValueHolder<Object> tmp = ValueHolder.create();
                 if (io.input().isValueReturned())
@@ -247,9 +247,7 @@ public interface Evaluator {
             ValueHolder<Object> finalRet = (ValueHolder<Object>) ret;
             return evaluable.tail().map((Evaluable<Object> e) -> {
                   EvaluableIo<Object, Evaluable<Object>, R> ioForTail = createChildEvaluableIoOf(e, finalRet);
-                  DebuggingUtils.printIo("FUNC_TAIL:BEFORE", ioForTail);
                   e.accept(ioForTail, (EvaluationContext<Object>) evaluationContext, this);
-                  DebuggingUtils.printIo("FUNC_TAIL:AFTER", ioForTail);
                   return ioForTail.output().creatorFormType(FUNC_TAIL);
                 })
                 .orElse(ret);
@@ -274,14 +272,12 @@ public interface Evaluator {
         evaluableIo.evaluable().checker().accept((EvaluableIo<R, Evaluable<R>, Boolean>) (Evaluable) evaluableIo, (EvaluationContext<R>) evaluationContext, this);
         return;
       }
-      EvaluationContext<T> childContext = new EvaluationContext<>(evaluationContext);
+      EvaluationContext<T> childContext = new EvaluationContext<>(evaluationContext, 1);
       childContext.evaluate(
           evaluableIo,
           (Evaluable.Transformation<T, R> evaluable, ValueHolder<T> input) -> {
-            DebuggingUtils.printInput("TRANSFORMATION:BEFORE", evaluable, input);
             EvaluableIo<T, Evaluable<T>, R> mapperIo = evaluateMapper(evaluable.mapperName().orElse("transform"), evaluable.mapper(), input, childContext);
             EvaluableIo<R, Evaluable<R>, Boolean> checkerIo = evaluateChecker(evaluable.checkerName().orElse("check"), evaluable.checker(), mapperIo.output(), childContext);
-            DebuggingUtils.printInputAndOutput(evaluable, input, checkerIo.output());
             return checkerIo.output();
           }
       );
@@ -291,13 +287,11 @@ public interface Evaluator {
     private <T, R> EvaluableIo<T, Evaluable<T>, R> evaluateMapper(String mapperName, Evaluable<T> mapper, ValueHolder<T> input, EvaluationContext<T> evaluationContext) {
       EvaluableIo<T, Evaluable<T>, R> ioForMapper = createChildEvaluableIoOf(mapper, input.creatorFormType(ValueHolder.CreatorFormType.TRANSFORM));
       {
-        EvaluationContext<T> childContext = new EvaluationContext<>(evaluationContext);
+        EvaluationContext<T> childContext = new EvaluationContext<>(evaluationContext, 0);
 
         // #1
         childContext.evaluate(TRANSFORM, mapperName, ioForMapper, io -> {
-          DebuggingUtils.printIo("TRANSFORM:BEFORE", io);
           io.evaluable().accept(io, childContext, this);
-          DebuggingUtils.printIo("TRANSFORM:AFTER", io);
           return io.output();
         });
 
@@ -309,12 +303,10 @@ public interface Evaluator {
     private <T, R> EvaluableIo<R, Evaluable<R>, Boolean> evaluateChecker(String checkerName, Evaluable<R> checker, ValueHolder<R> input, EvaluationContext<T> evaluationContext) {
       EvaluableIo<R, Evaluable<R>, Boolean> ioForChecker = createChildEvaluableIoOf(checker, input);
       {
-        EvaluationContext<R> childContext = new EvaluationContext<>(evaluationContext);
+        EvaluationContext<R> childContext = new EvaluationContext<>(evaluationContext, 0);
 
         childContext.evaluate(CHECK, checkerName, ioForChecker, io -> {
-          DebuggingUtils.printIo("CHECK:BEFORE", io);
           io.evaluable().accept(io, childContext, this);
-          DebuggingUtils.printIo("CHECK:AFTER", io);
           return io.output();
         });
 
@@ -332,7 +324,10 @@ public interface Evaluator {
     public <E> void evaluateStreamPredicate(EvaluableIo<Stream<E>, Evaluable.StreamPred<E>, Boolean> evaluableIo, EvaluationContext<Stream<E>> evaluationContext) {
       evaluationContext.evaluate(
           evaluableIo,
+          // An evaluation context records entries in the encounter order and is not thread-safe.
+          // Thus, a parallel stream is evaluated sequentially here.
           (Evaluable.StreamPred<E> evaluable, ValueHolder<Stream<E>> input) -> input.returnedValue()
+              .sequential()
               .map((E e) -> {
                 if (evaluable.requestExpectationFlip())
                   evaluationContext.flipExpectation();
@@ -369,16 +364,7 @@ public interface Evaluator {
     }
 
     private static <T, E extends Evaluable<T>, O> EvaluableIo<T, Evaluable<T>, O> createChildEvaluableIoOf(E evaluable, ValueHolder<T> input) {
-      return createChildEvaluableIoOf(resolveEvaluationEntryType(evaluable).formName(evaluable), evaluable, input);
-    }
-
-    private static <T, E extends Evaluable<T>, O> EvaluableIo<T, Evaluable<T>, O> createChildEvaluableIoOf(String formName, E evaluable, ValueHolder<T> input) {
-      EvaluationEntry.Type evaluableType = resolveEvaluationEntryType(evaluable);
-      return createChildEvaluableIoOf(evaluableType, formName, evaluable, input);
-    }
-
-    private static <T, E extends Evaluable<T>, O> EvaluableIo<T, Evaluable<T>, O> createChildEvaluableIoOf(EvaluationEntry.Type evaluableType, String formName, E evaluable, ValueHolder<T> input) {
-      return new EvaluableIo<>(input, evaluableType, formName, evaluable);
+      return new EvaluableIo<>(input, resolveEvaluationEntryType(evaluable), evaluable);
     }
   }
 
@@ -416,11 +402,39 @@ public interface Evaluator {
   interface Explainable {
     Object explainOutputExpectation();
 
+    /**
+     * Returns an explanation of the expected output of this object for a given input.
+     *
+     * Override this method, if the explanation depends on the input, for instance, on a state
+     * that the input holds during an evaluation.
+     * By default, this method returns the value of {@link Explainable#explainOutputExpectation()}.
+     *
+     * @param input An input value given to this object.
+     * @return An explanation of the expected output.
+     */
+    default Object explainOutputExpectation(Object input) {
+      return explainOutputExpectation();
+    }
+
     Object explainActual(Object actualValue);
 
+    /**
+     * Returns `true` if {@link Explainable#explainOutputExpectation()} and {@link Explainable#explainActual(Object)}
+     * of this object have no side effects and return values that do not change during an evaluation.
+     *
+     * For such an object, the framework calls those methods only when a report actually needs them.
+     * Otherwise, they are called during an evaluation, when the framework enters the object, and the actual value
+     * is explained when it leaves the object.
+     *
+     * @return `true` if the explanations of this object can be computed lazily.
+     */
+    default boolean isExplanationDeferrable() {
+      return false;
+    }
+
     static Object explainOutputExpectation(Object evaluable, EvaluableIo<?, ?, ?> evaluableIo) {
       if (evaluable instanceof Explainable)
-        return explainValue(((Explainable) evaluable).explainOutputExpectation());
+        return explainValue(((Explainable) evaluable).explainOutputExpectation(evaluableIo.input().value()));
       if (evaluable instanceof Evaluable)
         return formNameOf(evaluableIo);
       return null;
@@ -433,11 +447,23 @@ public interface Evaluator {
     }
 
     static <T, E extends Evaluable<T>> Object explainActual(EvaluableIo<T, E, ?> evaluableIo) {
+      return explainActual(evaluableIo, true);
+    }
+
+    /**
+     * Returns an explanation of the actual output of an evaluable.
+     * If the evaluable threw an exception, its stack trace is included only when `captureStackTrace` is `true`.
+     *
+     * @param evaluableIo       An I/O of an evaluable.
+     * @param captureStackTrace `false` not to include a stack trace.
+     * @return An explanation of the actual output.
+     */
+    static <T, E extends Evaluable<T>> Object explainActual(EvaluableIo<T, E, ?> evaluableIo, boolean captureStackTrace) {
       if (evaluableIo.output().state() == VALUE_RETURNED) {
         T ret = evaluableIo.input().returnedValue();
         return ret != null ? ret : Impl.NULL_VALUE;
       } else if (evaluableIo.output().state() == EXCEPTION_THROWN)
-        return composeDetailOutputActualValueFromInputAndThrowable(evaluableIo.input().value(), evaluableIo.output().thrownException());
+        return composeDetailOutputActualValueFromInputAndThrowable(evaluableIo.input().value(), evaluableIo.output().thrownException(), captureStackTrace);
       else if (evaluableIo.output().state() == EVALUATION_SKIPPED) {
         return EVALUATION_SKIPPED;
       } else
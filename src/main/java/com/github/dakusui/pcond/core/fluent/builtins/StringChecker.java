@@ -45,6 +45,10 @@ public interface StringChecker<T> extends
     return this.checkWithPredicate(Predicates.matchesRegex(regex));
   }
 
+  default StringChecker<T> matchesPattern(Pattern pattern) {
+    return this.checkWithPredicate(Predicates.matchesPattern(pattern));
+  }
+
   default StringChecker<T> equalsIgnoreCase(String s) {
     return this.checkWithPredicate(Predicates.equalsIgnoreCase(s));
   }
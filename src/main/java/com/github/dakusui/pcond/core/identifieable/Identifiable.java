@@ -1,12 +1,11 @@
 package com.github.dakusui.pcond.core.identifieable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
-import static java.util.stream.Collectors.toList;
 
 /**
  * An interface that represents an object which can be identified based on objects
@@ -60,9 +59,11 @@ public interface Identifiable {
   }
 
   default Object createIdentity() {
-    return Stream.concat(
-        Stream.of(creator()),
-        args().stream()).collect(toList());
+    List<Object> args = args();
+    List<Object> ret = new ArrayList<>(args.size() + 1);
+    ret.add(creator());
+    ret.addAll(args);
+    return ret;
   }
 
   /**
@@ -79,6 +80,12 @@ public interface Identifiable {
     private final Object       creator;
     private final List<Object> args;
     private final Object       identity;
+    /**
+     * A cache of the hash code of `identity`, which is `0` until computed.
+     * Since an identity contains identities of nested forms, computing it every time
+     * would cost as much as the number of forms in a tree.
+     */
+    private       int          hashCode;
 
     protected Base(Object creator, List<Object> args) {
       this.creator = Objects.requireNonNull(creator);
@@ -103,7 +110,10 @@ public interface Identifiable {
 
     @Override
     public int hashCode() {
-      return defaultHashCode();
+      int ret = this.hashCode;
+      if (ret == 0)
+        this.hashCode = ret = defaultHashCode();
+      return ret;
     }
 
     // Done in a method to which the operation is delegated.
@@ -24,6 +24,7 @@ public class PrintableFunction<T, R> extends
   private final Function<?, R>                   tailAsFunction;
 
   boolean trivial = false;
+  private Object structuralKey;
 
   @SuppressWarnings("unchecked")
   protected PrintableFunction(Object creator, List<Object> args, Supplier<String> s, Function<? super T, ? extends R> function, Function<? super T, ?> head, Evaluable<?> tail) {
@@ -73,6 +74,13 @@ public class PrintableFunction<T, R> extends
     return this.function.apply(value);
   }
 
+  @Override
+  public <V> V applyAll(Object... args) {
+    return function instanceof CurriedFunction ?
+        ((CurriedFunction<?, ?>) function).applyAll(args) :
+        CurriedFunction.super.applyAll(args);
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public Class<?> parameterType() {
@@ -99,6 +107,24 @@ public class PrintableFunction<T, R> extends
     return actualValue;
   }
 
+  @Override
+  public boolean isExplanationDeferrable() {
+    return true;
+  }
+
+  /**
+   * Returns a key which identifies this function by its structure.
+   * The key is computed on the first call and cached in this object.
+   *
+   * @see StructuralKey
+   */
+  Object structuralKey() {
+    Object ret = this.structuralKey;
+    if (ret == null)
+      this.structuralKey = ret = StructuralKey.compute(this);
+    return ret;
+  }
+
   @SuppressWarnings("unchecked")
   public static <T, R> Function<T, R> unwrap(Function<T, R> function) {
     Function<T, R> ret = function;
@@ -114,7 +114,8 @@ public enum PrintableFunctionFactory {
   public static <R> MultiFunction<R> multifunction(Method method, List<Integer> paramOrder) {
     validateParamOrderList(paramOrder, method.getParameterCount());
     requireStaticMethod(method);
-    return new MultiFunction.Builder<R>(args -> invokeStaticMethod(method, (paramOrder).stream().map(args::get).toArray()))
+    int[] order = paramOrder.stream().mapToInt(Integer::intValue).toArray();
+    return new MultiFunction.Builder<R>(args -> invokeStaticMethod(method, orderArguments(args, order)))
         .name(method.getName())
         .formatter(() -> formatMethodName(method) + CurryingUtils.formatParameterOrder(paramOrder))
         .addParameters(paramOrder.stream().map(i -> method.getParameterTypes()[i]).collect(toList()))
@@ -122,6 +123,13 @@ public enum PrintableFunctionFactory {
         .$();
   }
   
+  private static Object[] orderArguments(List<Object> args, int[] order) {
+    Object[] ret = new Object[order.length];
+    for (int i = 0; i < order.length; i++)
+      ret[i] = args.get(order[i]);
+    return ret;
+  }
+  
   public static <T, R> Function<T, R> function(Function<T, R> function) {
     if (function instanceof PrintableFunction)
       return function;
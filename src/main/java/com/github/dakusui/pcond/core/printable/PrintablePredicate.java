@@ -1,5 +1,6 @@
 package com.github.dakusui.pcond.core.printable;
 
+import com.github.dakusui.pcond.core.CompiledPredicate;
 import com.github.dakusui.pcond.core.Evaluable;
 import com.github.dakusui.pcond.core.identifieable.Identifiable;
 import com.github.dakusui.pcond.forms.Predicates;
@@ -13,6 +14,8 @@ public abstract class PrintablePredicate<T> extends Identifiable.Base implements
   protected final Predicate<? super T> predicate;
   final           Supplier<String>     formatter;
   boolean squashable = false;
+  private CompiledPredicate<T> compiled;
+  private Object               structuralKey;
 
   protected PrintablePredicate(Object creator, List<Object> args, Supplier<String> formatter, Predicate<? super T> predicate) {
     super(creator, args);
@@ -30,6 +33,35 @@ public abstract class PrintablePredicate<T> extends Identifiable.Base implements
     return formatter.get();
   }
 
+  /**
+   * Returns a compiled form of this predicate.
+   * The compiled form is created on the first call and cached in this object.
+   * If this predicate cannot be compiled, a non-replayable placeholder is cached instead, so that
+   * compilation is not attempted again.
+   *
+   * @return A compiled form of this predicate.
+   * @see CompiledPredicate#compileIfPossible(Evaluable)
+   */
+  public CompiledPredicate<T> compiled() {
+    CompiledPredicate<T> ret = this.compiled;
+    if (ret == null)
+      this.compiled = ret = CompiledPredicate.compileIfPossible(this);
+    return ret;
+  }
+
+  /**
+   * Returns a key which identifies this predicate by its structure.
+   * The key is computed on the first call and cached in this object.
+   *
+   * @see StructuralKey
+   */
+  Object structuralKey() {
+    Object ret = this.structuralKey;
+    if (ret == null)
+      this.structuralKey = ret = StructuralKey.compute(this);
+    return ret;
+  }
+
   @Override
   public Predicate<T> and(Predicate<? super T> other) {
     return Predicates.and(this, other);
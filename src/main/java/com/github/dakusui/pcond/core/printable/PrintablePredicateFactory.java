@@ -12,6 +12,8 @@ import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Stream;
 
 import static com.github.dakusui.pcond.core.identifieable.Identifiable.argsOf;
@@ -66,9 +68,10 @@ public enum PrintablePredicateFactory {
   ) {
     Supplier<String> formatter = formatterFactory.apply(args);
     Predicate<T> predicate = predicateFactory.apply(args);
+    // Not "orElse", which would create a predicate even if it is not used.
     return creatorOf(predicate)
-        .map(c -> new LeafPredicate<>(c, argsOf(predicate), formatter, predicate))
-        .orElse(new LeafPredicate<>(fallbackCreator, args, formatter, predicate));
+        .<Predicate<T>>map(c -> new LeafPredicate<>(c, argsOf(predicate), formatter, predicate))
+        .orElseGet(() -> new LeafPredicate<>(fallbackCreator, args, formatter, predicate));
   }
 
   public static <P, O> TransformingPredicate.Factory<P, O> transform(Function<O, P> function) {
@@ -115,6 +118,17 @@ public enum PrintablePredicateFactory {
     return CurriedContextPredicate.create(toPrintablePredicateIfNotPrintable(predicate), argIndex);
   }
 
+  private static Predicate<Object> patternMatcher(String regex) {
+    Pattern pattern;
+    try {
+      pattern = compilePattern(regex);
+    } catch (PatternSyntaxException e) {
+      // An invalid regex is reported when the predicate is tested, just as "String#matches" does.
+      return (s) -> ((String) s).matches(regex);
+    }
+    return (s) -> pattern.matcher((String) s).matches();
+  }
+
   private static RuntimeException noPredicateGiven() {
     throw new IllegalArgumentException("No predicate was given");
   }
@@ -168,7 +182,13 @@ public enum PrintablePredicateFactory {
         (args) -> v -> ((Comparable<? super Comparable<?>>) v).compareTo((Comparable<? super Comparable<?>>) args.get(0)) == 0),
     MATCHES_REGEX(
         (args) -> () -> String.format("matchesRegex[%s]", args.get(0)),
-        (args) -> (s) -> ((String) s).matches((String) args.get(0))),
+        (args) -> patternMatcher((String) args.get(0))),
+    MATCHES_PATTERN(
+        (args) -> () -> format("matchesPattern[%s]", args.get(0)),
+        (args) -> {
+          Pattern pattern = (Pattern) args.get(0);
+          return (s) -> pattern.matcher((String) s).matches();
+        }),
     CONTAINS_STRING(
         (args) -> () -> format("containsString[%s]", args.get(0)),
         (args) -> (s) -> ((String) s).contains((String) args.get(0))),
@@ -233,6 +253,11 @@ public enum PrintablePredicateFactory {
       return actualValue;
     }
 
+    @Override
+    public boolean isExplanationDeferrable() {
+      return true;
+    }
+
     @Override
     public String toString() {
       return formatObject(toNonStringObject(this.formatter.get()));
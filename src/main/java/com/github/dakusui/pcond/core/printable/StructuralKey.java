@@ -0,0 +1,98 @@
+package com.github.dakusui.pcond.core.printable;
+
+import com.github.dakusui.pcond.core.identifieable.Identifiable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.Arrays.asList;
+
+/**
+ * A key which identifies a form by its structure, e.g., for counting checks of the same predicate in one place.
+ *
+ * Forms are usually identified by {@link Identifiable#identityObject()}, and such a form is used as a key as it is.
+ * However, forms created by `Printables.predicate(name, predicate)` or `Printables.function(name, function)` don't have
+ * creators of their own, and all of them have the same identity.
+ * In a key, such a form is represented by its name and the class of the predicate or the function it wraps.
+ * That is, those created at the same place with the same name are equal to each other, even if they capture
+ * different values.
+ *
+ * A key of a {@link PrintablePredicate} or a {@link PrintableFunction} is computed on the first request and cached in it.
+ */
+public final class StructuralKey {
+  private final List<Object> elements;
+  private final int          hashCode;
+
+  private StructuralKey(List<Object> elements) {
+    this.elements = elements;
+    this.hashCode = elements.hashCode();
+  }
+
+  /**
+   * Returns a key of the given object.
+   * An object which is not {@link Identifiable} is a key of itself.
+   *
+   * @param object An object to be identified.
+   * @return A key of the `object`.
+   */
+  public static Object of(Object object) {
+    if (object instanceof PrintablePredicate)
+      return ((PrintablePredicate<?>) object).structuralKey();
+    if (object instanceof PrintableFunction)
+      return ((PrintableFunction<?, ?>) object).structuralKey();
+    return compute(object);
+  }
+
+  static Object compute(Object object) {
+    if (!(object instanceof Identifiable))
+      return object;
+    Identifiable identifiable = (Identifiable) object;
+    List<Object> args = identifiable.args();
+    if (identifiable.creator() instanceof Class && args.isEmpty())
+      return new StructuralKey(asList(object.getClass(), identifiable.creator(), object.toString(), wrappedClassOf(object)));
+    List<Object> elements = null;
+    for (int i = 0; i < args.size(); i++) {
+      Object each = args.get(i);
+      Object key = of(each);
+      if (elements == null && key != each) {
+        elements = new ArrayList<>(args.size() + 2);
+        elements.add(object.getClass());
+        elements.add(identifiable.creator());
+        elements.addAll(args.subList(0, i));
+      }
+      if (elements != null)
+        elements.add(key);
+    }
+    if (elements != null)
+      return new StructuralKey(elements);
+    return object instanceof Identifiable.Base ?
+        object :
+        identifiable.identityObject();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Class<?> wrappedClassOf(Object object) {
+    if (object instanceof PrintablePredicate)
+      return PrintablePredicate.unwrap((Predicate<Object>) object).getClass();
+    if (object instanceof PrintableFunction)
+      return PrintableFunction.unwrap((Function<Object, Object>) object).getClass();
+    return object.getClass();
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hashCode;
+  }
+
+  @Override
+  public boolean equals(Object anotherObject) {
+    if (this == anotherObject)
+      return true;
+    if (!(anotherObject instanceof StructuralKey))
+      return false;
+    StructuralKey another = (StructuralKey) anotherObject;
+    return this.hashCode == another.hashCode && this.elements.equals(another.elements);
+  }
+}
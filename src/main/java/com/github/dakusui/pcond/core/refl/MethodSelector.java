@@ -1,7 +1,6 @@
 package com.github.dakusui.pcond.core.refl;
 
-import com.github.dakusui.pcond.internals.InternalChecks;
-import com.github.dakusui.pcond.internals.InternalUtils;
+import com.github.dakusui.pcond.internals.TypeCompatibility;
 
 import java.lang.reflect.Method;
 import java.util.*;
@@ -186,17 +185,7 @@ public interface MethodSelector extends Formattable {
     ;
 
     static boolean isAssignableWithBoxingFrom(Class<?> a, Class<?> b) {
-      if (a.isAssignableFrom(b))
-        return true;
-      if (InternalChecks.isPrimitiveWrapperClassOrPrimitive(a) && InternalChecks.isPrimitiveWrapperClassOrPrimitive(b))
-        return InternalChecks.isWiderThanOrEqualTo(toWrapperIfPrimitive(a), toWrapperIfPrimitive(b));
-      return false;
-    }
-
-    private static Class<?> toWrapperIfPrimitive(Class<?> in) {
-      if (in.isPrimitive())
-        return InternalUtils.wrapperClassOf(in);
-      return in;
+      return TypeCompatibility.isAssignableWithBoxingFrom(a, b);
     }
 
     private static Class<?> toClass(Object value) {
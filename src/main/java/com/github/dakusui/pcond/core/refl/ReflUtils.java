@@ -2,13 +2,17 @@ package com.github.dakusui.pcond.core.refl;
 
 import com.github.dakusui.pcond.internals.*;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Collector;
 
 import static com.github.dakusui.pcond.internals.InternalUtils.wrapperClassOf;
@@ -46,6 +50,34 @@ public enum ReflUtils {
     }
   };
 
+  private static final MethodSelector METHOD_SELECTOR = new MethodSelector.Default()
+      .andThen(new MethodSelector.PreferNarrower())
+      .andThen(new MethodSelector.PreferExact());
+
+  /**
+   * The maximum number of method resolutions cached for a class.
+   */
+  private static final int METHOD_RESOLUTION_CACHE_SIZE = 256;
+
+  private static final ClassValue<MethodResolutions> METHOD_RESOLUTIONS = new ClassValue<MethodResolutions>() {
+    @Override
+    protected MethodResolutions computeValue(Class<?> type) {
+      return new MethodResolutions(type);
+    }
+  };
+
+  /**
+   * The maximum number of method invokers cached for a class.
+   */
+  private static final int METHOD_INVOKER_CACHE_SIZE = 256;
+
+  private static final ClassValue<Map<Method, MethodInvoker>> METHOD_INVOKERS = new ClassValue<Map<Method, MethodInvoker>>() {
+    @Override
+    protected Map<Method, MethodInvoker> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   /**
    * Invokes a method found by {@code methodQuery}.
    * All parameters in the query needs to be bound before calling this method.
@@ -60,8 +92,8 @@ public enum ReflUtils {
    * @see ReflUtils#findMethod(Class, String, Object[])
    */
   public static <R> R invokeMethod(MethodQuery methodQuery) {
-    return invokeMethod(
-        findMethod(methodQuery.targetClass(), methodQuery.methodName(), methodQuery.arguments()),
+    return invoke(
+        resolveMethod(methodQuery.targetClass(), methodQuery.methodName(), methodQuery.arguments()).invoker(),
         methodQuery.targetObject(),
         methodQuery.arguments());
   }
@@ -69,26 +101,37 @@ public enum ReflUtils {
   /**
    * Invokes a given {@code method} on the object with arguments passed as {@code obj} and {@code arguments}.
    *
+   * When possible, the {@code method} is called through a functional interface generated for it, which is cached.
+   *
    * @param method    A method to be invoked.
    * @param obj       An object on which the {@code method} is invoked.
    * @param arguments Arguments passed to the {@code method}.
    * @param <R>       The type of the value returned from the {@code method}.
    * @return The value returned by {@code method}.
    */
-  @SuppressWarnings("unchecked")
   public static <R> R invokeMethod(Method method, Object obj, Object[] arguments) {
-    boolean wasAccessible = method.isAccessible();
+    return invoke(methodInvokerFor(method), obj, arguments);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R> R invoke(MethodInvoker invoker, Object obj, Object[] arguments) {
+    if (invoker.canCallDirectly(obj, arguments)) {
+      try {
+        return (R) invoker.directCall.call(obj, arguments);
+      } catch (Throwable e) {
+        throw new MethodInvocationException(format("Method invocation of '%s' was failed", invoker.method), e);
+      }
+    }
     try {
       ////
       // Issue-42
       // Without setting accessible, a public method defined in a private class
       // overriding a public method cannot be invoked.
-      method.setAccessible(true);
-      return (R) method.invoke(obj, arguments);
+      // The invoker holds a declaration of the method by a public supertype, or a copy of it made accessible,
+      // so that the flag of the given one is not toggled.
+      return (R) invoker.accessibleMethod().invoke(obj, arguments);
     } catch (IllegalAccessException | InvocationTargetException e) {
-      throw new MethodInvocationException(format("Method invocation of '%s' was failed", method), e.getCause());
-    } finally {
-      method.setAccessible(wasAccessible);
+      throw new MethodInvocationException(format("Method invocation of '%s' was failed", invoker.method), e.getCause());
     }
   }
 
@@ -105,47 +148,53 @@ public enum ReflUtils {
    * method will fail. Also even if there is a method of the {@code methodName}
    * that can be invoked if boxing/unboxing happens, this method will fail.
    *
+   * Methods selected for a method name and the classes of {@code args} are cached for each class,
+   * including the cases where none or more than one are found.
+   *
    * @param aClass     A class from which the method is searched.
    * @param methodName A name of the method
    * @param args       Arguments which should be given to the method
    * @return A method for given class {@code aClass}, {@code method}, and {@code args}.
    */
   public static Method findMethod(Class<?> aClass, String methodName, Object[] args) {
-    MethodSelector methodSelector = new MethodSelector.Default()
-        .andThen(new MethodSelector.PreferNarrower())
-        .andThen(new MethodSelector.PreferExact());
-    return getIfOnlyOneElseThrow(
-        methodSelector.select(
-            Arrays.stream(aClass.getMethods())
-                .filter((Method m) -> m.getName().equals(methodName))
-                .collect(toMethodList()),
-            args),
-        () -> exceptionOnAmbiguity(aClass, methodName, args, methodSelector),
-        () -> exceptionOnMethodNotFound(aClass, methodName, args, methodSelector));
-  }
-
-  private static RuntimeException exceptionOnMethodNotFound(Class<?> aClass, String methodName, Object[] args, MethodSelector methodSelector) {
+    return resolveMethod(aClass, methodName, args).method;
+  }
+
+  private static MethodResolution resolveMethod(Class<?> aClass, String methodName, Object[] args) {
+    MethodResolution resolution = METHOD_RESOLUTIONS.get(aClass).resolve(methodName, args);
+    if (resolution.method != null)
+      return resolution;
+    if (resolution.selectedMethods.isEmpty())
+      throw exceptionOnMethodNotFound(aClass, methodName, args);
+    throw exceptionOnAmbiguity(aClass, methodName, args, resolution.selectedMethods);
+  }
+
+  private static List<Method> selectMethods(Class<?> aClass, String methodName, Object[] args) {
+    return Collections.unmodifiableList(new ArrayList<>(METHOD_SELECTOR.select(
+        Arrays.stream(aClass.getMethods())
+            .filter((Method m) -> m.getName().equals(methodName))
+            .collect(toMethodList()),
+        args)));
+  }
+
+  private static RuntimeException exceptionOnMethodNotFound(Class<?> aClass, String methodName, Object[] args) {
     return new MethodNotFound(format(
         "Method matching '%s%s' was not found by selector=%s in %s.",
         methodName,
         asList(args),
-        methodSelector,
+        METHOD_SELECTOR,
         aClass.getCanonicalName()
     ));
   }
 
-  private static RuntimeException exceptionOnAmbiguity(Class<?> aClass, String methodName, Object[] args, MethodSelector methodSelector) {
+  private static RuntimeException exceptionOnAmbiguity(Class<?> aClass, String methodName, Object[] args, List<Method> selectedMethods) {
     return new MethodAmbiguous(format(
         "Methods matching '%s%s' were found more than one in %s by selector=%s.: %s ",
         methodName,
         asList(args),
         aClass.getCanonicalName(),
-        methodSelector,
-        summarizeMethods(methodSelector.select(
-            Arrays.stream(aClass.getMethods())
-                .filter((Method m) -> m.getName().equals(methodName))
-                .collect(toMethodList()),
-            args))));
+        METHOD_SELECTOR,
+        summarizeMethods(selectedMethods)));
   }
 
   static Class<?> targetTypeOf(Object targetObject) {
@@ -186,14 +235,6 @@ public enum ReflUtils {
     };
   }
 
-  private static Method getIfOnlyOneElseThrow(List<Method> foundMethods, Supplier<RuntimeException> exceptionSupplierOnAmbiguity, Supplier<RuntimeException> exceptionSupplierOnNotFound) {
-    if (foundMethods.isEmpty())
-      throw exceptionSupplierOnNotFound.get();
-    if (foundMethods.size() == 1)
-      return foundMethods.get(0);
-    throw exceptionSupplierOnAmbiguity.get();
-  }
-
   private static List<String> summarizeMethods(List<Method> methods) {
     return methods
         .stream()
@@ -237,6 +278,14 @@ public enum ReflUtils {
 
   @SuppressWarnings("unchecked")
   public static <R> R invokeStaticMethod(Method method, Object[] args) {
+    MethodInvoker invoker = methodInvokerFor(method);
+    if (invoker.canCallDirectly(null, args)) {
+      try {
+        return (R) invoker.directCall.call(null, args);
+      } catch (Throwable e) {
+        throw InternalUtils.executionFailure(format("Invoked method:%s threw an exception", formatMethodName(method)), e);
+      }
+    }
     try {
       return (R) method.invoke(null, args);
     } catch (IllegalAccessException | InvocationTargetException e) {
@@ -252,4 +301,329 @@ public enum ReflUtils {
         method.getName(),
         Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName).collect(joining(",")));
   }
+
+  /**
+   * Methods selected by {@link ReflUtils#METHOD_SELECTOR} for a class, keyed by a method name and classes of arguments.
+   * The cache holds a limited number of keys, and it is cleared when it becomes full.
+   *
+   * Since the cache is held by the class, a resolution is cached only when the classes of the arguments are
+   * loaded by the class loader of the class or its ancestors.
+   * Otherwise, e.g., for `equals` on a `String` with an argument of an application class, the cache would keep the
+   * class loader of the argument from being unloaded.
+   */
+  private static class MethodResolutions {
+    final Class<?>                           targetClass;
+    final Map<MethodSignature, MethodResolution> cache = new ConcurrentHashMap<>();
+
+    MethodResolutions(Class<?> targetClass) {
+      this.targetClass = targetClass;
+    }
+
+    MethodResolution resolve(String methodName, Object[] args) {
+      MethodSignature signature = new MethodSignature(methodName, args);
+      MethodResolution ret = this.cache.get(signature);
+      if (ret != null)
+        return ret;
+      if (!signature.isVisibleFrom(this.targetClass.getClassLoader()))
+        return new MethodResolution(selectMethods(this.targetClass, methodName, args));
+      if (this.cache.size() >= METHOD_RESOLUTION_CACHE_SIZE)
+        this.cache.clear();
+      return this.cache.computeIfAbsent(signature, k -> new MethodResolution(selectMethods(this.targetClass, methodName, args)));
+    }
+  }
+
+  /**
+   * Methods selected for a method signature, and the method if only one is selected.
+   * An invoker of the method is created when it is invoked for the first time, so that finding a method doesn't
+   * generate a class for it.
+   */
+  private static class MethodResolution {
+    final    List<Method>  selectedMethods;
+    final    Method        method;
+    volatile MethodInvoker invoker;
+
+    MethodResolution(List<Method> selectedMethods) {
+      this.selectedMethods = selectedMethods;
+      this.method = selectedMethods.size() == 1 ?
+          selectedMethods.get(0) :
+          null;
+    }
+
+    MethodInvoker invoker() {
+      MethodInvoker ret = this.invoker;
+      if (ret == null)
+        this.invoker = ret = methodInvokerFor(this.method);
+      return ret;
+    }
+  }
+
+  /**
+   * A method name and classes of arguments, which determine methods selected by {@link ReflUtils#METHOD_SELECTOR}.
+   * A `null` element stands for a `null` argument.
+   */
+  private static class MethodSignature {
+    final String     methodName;
+    final Class<?>[] argumentClasses;
+    final int        hashCode;
+
+    MethodSignature(String methodName, Object[] args) {
+      this.methodName = methodName;
+      this.argumentClasses = new Class<?>[args.length];
+      for (int i = 0; i < args.length; i++)
+        this.argumentClasses[i] = args[i] == null ? null : args[i].getClass();
+      this.hashCode = methodName.hashCode() * 31 + Arrays.hashCode(this.argumentClasses);
+    }
+
+    /**
+     * Returns `true` if all the classes of the arguments are loaded by `classLoader` or its ancestors.
+     */
+    boolean isVisibleFrom(ClassLoader classLoader) {
+      for (Class<?> each : this.argumentClasses) {
+        if (each != null && !isSameOrAncestorOf(each.getClassLoader(), classLoader))
+          return false;
+      }
+      return true;
+    }
+
+    private static boolean isSameOrAncestorOf(ClassLoader candidate, ClassLoader classLoader) {
+      if (candidate == null)
+        return true;
+      for (ClassLoader each = classLoader; each != null; each = each.getParent()) {
+        if (each == candidate)
+          return true;
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(Object anotherObject) {
+      if (this == anotherObject)
+        return true;
+      if (!(anotherObject instanceof MethodSignature))
+        return false;
+      MethodSignature another = (MethodSignature) anotherObject;
+      return this.methodName.equals(another.methodName) && Arrays.equals(this.argumentClasses, another.argumentClasses);
+    }
+  }
+
+  private static MethodInvoker methodInvokerFor(Method method) {
+    Map<Method, MethodInvoker> invokers = METHOD_INVOKERS.get(method.getDeclaringClass());
+    MethodInvoker ret = invokers.get(method);
+    if (ret != null)
+      return ret;
+    if (invokers.size() >= METHOD_INVOKER_CACHE_SIZE)
+      invokers.clear();
+    return invokers.computeIfAbsent(method, MethodInvoker::new);
+  }
+
+  /**
+   * Holds what is necessary to invoke a method quickly.
+   *
+   * For a `public` method of a `public` class visible from the class loader of this class, a functional interface
+   * that calls the method directly is generated by {@link LambdaMetafactory}, unlike {@link Method#invoke(Object, Object...)},
+   * it doesn't check access or copy arguments for each call.
+   * It is used only when arguments are instances of the (boxed) parameter types as they are,
+   * so that it behaves in the same way as {@link Method#invoke(Object, Object...)}.
+   * Otherwise, e.g., when a widening conversion is necessary, the method is invoked through the reflection (see {@link MethodInvoker#accessibleMethod()}).
+   */
+  private static class MethodInvoker {
+    private static final int MAX_DIRECT_CALL_ARITY = 4;
+
+    final Method       method;
+    final boolean      isStatic;
+    final Class<?>     declaringClass;
+    final Class<?>[]   parameterTypes;
+    final boolean[]    primitiveParameters;
+    final DirectCall   directCall;
+    volatile Method    accessibleMethod;
+
+    MethodInvoker(Method method) {
+      this.method = method;
+      this.isStatic = Modifier.isStatic(method.getModifiers());
+      this.declaringClass = method.getDeclaringClass();
+      this.parameterTypes = method.getParameterTypes();
+      this.primitiveParameters = new boolean[this.parameterTypes.length];
+      for (int i = 0; i < this.parameterTypes.length; i++) {
+        this.primitiveParameters[i] = this.parameterTypes[i].isPrimitive();
+        if (this.primitiveParameters[i])
+          this.parameterTypes[i] = wrapperClassOf(this.parameterTypes[i]);
+      }
+      this.directCall = directCallFor(method, this.parameterTypes);
+    }
+
+    boolean canCallDirectly(Object obj, Object[] args) {
+      if (this.directCall == null || args == null || args.length != this.parameterTypes.length)
+        return false;
+      if (!this.isStatic && !this.declaringClass.isInstance(obj))
+        return false;
+      for (int i = 0; i < args.length; i++) {
+        if (args[i] == null ? this.primitiveParameters[i] : !this.parameterTypes[i].isInstance(args[i]))
+          return false;
+      }
+      return true;
+    }
+
+    /**
+     * Returns a method to be invoked through the reflection, which is looked up when the method is invoked that way
+     * for the first time.
+     *
+     * A `public` method of a `public` class is returned as it is.
+     * Otherwise, the same method declared by a `public` supertype is preferred, since it can be invoked without
+     * making anything accessible.
+     * If there is no such declaration, a copy of the method made accessible is returned, and if it cannot be
+     * made accessible (e.g., it belongs to a package not opened to this class), the method as it is.
+     */
+    Method accessibleMethod() {
+      Method ret = this.accessibleMethod;
+      if (ret == null)
+        this.accessibleMethod = ret = accessibleMethodOf(this.method);
+      return ret;
+    }
+
+    private static Method accessibleMethodOf(Method method) {
+      if (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers()))
+        return method;
+      Method ret = publicDeclarationOf(method);
+      if (ret != null)
+        return ret;
+      try {
+        ret = method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+        ret.setAccessible(true);
+        return ret;
+      } catch (NoSuchMethodException | RuntimeException e) {
+        return method;
+      }
+    }
+
+    private static Method publicDeclarationOf(Method method) {
+      if (!Modifier.isPublic(method.getModifiers()))
+        return null;
+      Deque<Class<?>> types = new ArrayDeque<>();
+      types.add(method.getDeclaringClass());
+      while (!types.isEmpty()) {
+        Class<?> each = types.removeFirst();
+        if (each != method.getDeclaringClass() && Modifier.isPublic(each.getModifiers())) {
+          try {
+            return each.getMethod(method.getName(), method.getParameterTypes());
+          } catch (NoSuchMethodException ignored) {
+          }
+        }
+        types.addAll(asList(each.getInterfaces()));
+        if (each.getSuperclass() != null)
+          types.add(each.getSuperclass());
+      }
+      return null;
+    }
+
+    private static DirectCall directCallFor(Method method, Class<?>[] boxedParameterTypes) {
+      boolean isStatic = Modifier.isStatic(method.getModifiers());
+      int arity = boxedParameterTypes.length + (isStatic ? 0 : 1);
+      if (!isDirectlyCallable(method) || arity > MAX_DIRECT_CALL_ARITY)
+        return null;
+      List<Class<?>> instantiatedParameterTypes = new ArrayList<>(arity);
+      if (!isStatic)
+        instantiatedParameterTypes.add(method.getDeclaringClass());
+      instantiatedParameterTypes.addAll(asList(boxedParameterTypes));
+      Class<?> returnType = method.getReturnType().isPrimitive() ? wrapperClassOf(method.getReturnType()) : method.getReturnType();
+      try {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Object call = LambdaMetafactory.metafactory(
+                lookup,
+                "call",
+                MethodType.methodType(DirectCall.INTERFACES.get(arity)),
+                MethodType.genericMethodType(arity),
+                lookup.unreflect(method),
+                MethodType.methodType(returnType, instantiatedParameterTypes))
+            .getTarget()
+            .invoke();
+        return DirectCall.create(call, isStatic, arity);
+      } catch (Throwable e) {
+        return null;
+      }
+    }
+
+    private static boolean isDirectlyCallable(Method method) {
+      Class<?> declaringClass = method.getDeclaringClass();
+      if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers()))
+        return false;
+      if (method.getReturnType() == void.class || (declaringClass.isInterface() && Modifier.isStatic(method.getModifiers())))
+        return false;
+      if (!isVisibleFromThisClass(declaringClass) || !isVisibleFromThisClass(method.getReturnType()))
+        return false;
+      return Arrays.stream(method.getParameterTypes()).allMatch(MethodInvoker::isVisibleFromThisClass);
+    }
+
+    /**
+     * A class generated by {@link LambdaMetafactory} refers to classes through the class loader of this class.
+     */
+    private static boolean isVisibleFromThisClass(Class<?> aClass) {
+      if (aClass.isPrimitive())
+        return true;
+      try {
+        return Class.forName(aClass.getName(), false, ReflUtils.class.getClassLoader()) == aClass;
+      } catch (ClassNotFoundException | LinkageError e) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Calls a method with a receiver object, which is ignored for a `static` method, and an array of arguments.
+   */
+  @FunctionalInterface
+  private interface DirectCall {
+    List<Class<?>> INTERFACES = asList(Call0.class, Call1.class, Call2.class, Call3.class, Call4.class);
+
+    Object call(Object obj, Object[] args) throws Throwable;
+
+    static DirectCall create(Object call, boolean isStatic, int arity) {
+      switch (arity) {
+      case 0:
+        return (obj, args) -> ((Call0) call).call();
+      case 1:
+        return isStatic ?
+            (obj, args) -> ((Call1) call).call(args[0]) :
+            (obj, args) -> ((Call1) call).call(obj);
+      case 2:
+        return isStatic ?
+            (obj, args) -> ((Call2) call).call(args[0], args[1]) :
+            (obj, args) -> ((Call2) call).call(obj, args[0]);
+      case 3:
+        return isStatic ?
+            (obj, args) -> ((Call3) call).call(args[0], args[1], args[2]) :
+            (obj, args) -> ((Call3) call).call(obj, args[0], args[1]);
+      case 4:
+        return isStatic ?
+            (obj, args) -> ((Call4) call).call(args[0], args[1], args[2], args[3]) :
+            (obj, args) -> ((Call4) call).call(obj, args[0], args[1], args[2]);
+      default:
+        throw new IllegalArgumentException("arity:" + arity);
+      }
+    }
+
+    interface Call0 {
+      Object call();
+    }
+
+    interface Call1 {
+      Object call(Object a0);
+    }
+
+    interface Call2 {
+      Object call(Object a0, Object a1);
+    }
+
+    interface Call3 {
+      Object call(Object a0, Object a1, Object a2);
+    }
+
+    interface Call4 {
+      Object call(Object a0, Object a1, Object a2, Object a3);
+    }
+  }
 }
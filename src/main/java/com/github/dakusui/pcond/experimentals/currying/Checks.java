@@ -1,11 +1,11 @@
 package com.github.dakusui.pcond.experimentals.currying;
 
 import com.github.dakusui.pcond.internals.InternalChecks;
+import com.github.dakusui.pcond.internals.TypeCompatibility;
 
 import java.util.function.Supplier;
 
 import static com.github.dakusui.pcond.internals.InternalUtils.formatObject;
-import static com.github.dakusui.pcond.internals.InternalUtils.wrapperClassOf;
 import static java.lang.String.format;
 
 /**
@@ -36,21 +36,9 @@ public enum Checks {
   }
 
   static boolean isValidValueForType(Object arg, Class<?> paramType) {
-    if (paramType.isPrimitive()) {
-      if (arg == null)
-        return paramType.equals(void.class);
-      if (InternalChecks.isPrimitiveWrapperClassOrPrimitive(arg.getClass())) {
-        Class<?> wrapperClassForParamType = wrapperClassOf(paramType);
-        if (wrapperClassForParamType.equals(arg.getClass()))
-          return true;
-        return InternalChecks.isWiderThan(wrapperClassForParamType, arg.getClass());
-      }
-      return false;
-    } else {
-      if (arg == null)
-        return true;
-      return paramType.isAssignableFrom(arg.getClass());
-    }
+    if (arg == null)
+      return !paramType.isPrimitive() || paramType.equals(void.class);
+    return TypeCompatibility.isValidValueClassForType(paramType, arg.getClass());
   }
 
   @SuppressWarnings("unchecked")
@@ -3,12 +3,14 @@ package com.github.dakusui.pcond.experimentals.currying;
 import com.github.dakusui.pcond.experimentals.currying.multi.MultiFunction;
 import com.github.dakusui.pcond.internals.InternalUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
 
 import static com.github.dakusui.pcond.experimentals.currying.Checks.isValidValueForType;
 import static com.github.dakusui.pcond.experimentals.currying.Checks.validateArgumentType;
+import static java.util.Collections.unmodifiableList;
 
 public interface CurriedFunction<T, R> extends Function<T, R> {
   R applyFunction(T value);
@@ -27,6 +29,23 @@ public interface CurriedFunction<T, R> extends Function<T, R> {
     return (V) requireHasNext(this).apply(value);
   }
 
+  /**
+   * Applies `args` to this function at once.
+   * This is equivalent to applying each of them but the last one by {@link CurriedFunction#applyNext(Object)} and
+   * then the last one by {@link CurriedFunction#applyLast(Object)}.
+   *
+   * @param args Arguments to be applied.
+   * @param <V>  The type of the value returned by the last application.
+   * @return The value returned by the last application.
+   */
+  @SuppressWarnings("unchecked")
+  default <V> V applyAll(Object... args) {
+    CurriedFunction<Object, Object> cur = (CurriedFunction<Object, Object>) this;
+    for (int i = 0; i < args.length - 1; i++)
+      cur = cur.applyNext(args[i]);
+    return cur.applyLast(args[args.length - 1]);
+  }
+
   static <V extends CurriedFunction<T, R>, T, R> V requireHasNext(V value) {
     if (!value.hasNext())
       throw new NoSuchElementException();
@@ -77,5 +96,24 @@ public interface CurriedFunction<T, R> extends Function<T, R> {
         return function.apply(InternalUtils.append(ongoingContext, p));
       return CurryingUtils.curry(function, InternalUtils.append(ongoingContext, p));
     }
+
+    /**
+     * When `args` are exactly the remaining arguments, this method validates them and calls the multi-function once,
+     * without creating intermediate curried functions.
+     * Otherwise, it applies them one by one, so that the same exception is thrown.
+     */
+    @Override
+    public <V> V applyAll(Object... args) {
+      int arity = function.arity();
+      if (args.length == 0 || ongoingContext.size() + args.length != arity)
+        return CurriedFunction.super.applyAll(args);
+      List<Object> allArgs = new ArrayList<>(arity);
+      allArgs.addAll(ongoingContext);
+      for (Object each : args) {
+        Class<?> parameterType = function.parameterType(allArgs.size());
+        allArgs.add(validateArgumentType(each, parameterType, CurryingUtils.messageInvalidTypeArgument(each, parameterType)));
+      }
+      return Checks.ensureReturnedValueType(function.apply(unmodifiableList(allArgs)), function.returnType());
+    }
   }
 }
@@ -37,11 +37,12 @@ public enum CurryingUtils {
 
   public static <R> Function<CurriedContext, R> applyCurriedFunction(CurriedFunction<Object, Object> curriedFunction, int... orderArgs) {
     return context -> {
-      CurriedFunction<?, ?> cur = curriedFunction;
       int[] normalizedOrderArgs = normalizeOrderArgs(context, orderArgs);
-      for (int i = 0; i < normalizedOrderArgs.length - 1; i++)
-        cur = cur.applyNext(context.valueAt(normalizedOrderArgs[i]));
-      return cur.applyLast(context.valueAt(normalizedOrderArgs[context.size() - 1]));
+      Object[] args = new Object[normalizedOrderArgs.length];
+      for (int i = 0; i < args.length - 1; i++)
+        args[i] = context.valueAt(normalizedOrderArgs[i]);
+      args[args.length - 1] = context.valueAt(normalizedOrderArgs[context.size() - 1]);
+      return curriedFunction.applyAll(args);
     };
   }
 
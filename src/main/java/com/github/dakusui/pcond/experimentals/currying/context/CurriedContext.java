@@ -1,13 +1,10 @@
 package com.github.dakusui.pcond.experimentals.currying.context;
 
-import com.github.dakusui.pcond.internals.InternalUtils;
-
 import java.util.Formattable;
 import java.util.Formatter;
 import java.util.List;
 
 import static com.github.dakusui.pcond.experimentals.currying.context.CurriedContext.PrivateUtils.variableBundleToString;
-import static java.util.Collections.singletonList;
 
 /**
  * `Context` is a concept to handle multiple values in the `pcond`.
@@ -36,22 +33,13 @@ public interface CurriedContext extends Formattable {
 
   /**
    * Creates a new context with an appended value.
+   * The new context shares the values of this context instead of copying them.
    *
    * @param o A value to appended
    * @return A new context with the appended value.
    */
   default CurriedContext append(Object o) {
-    return new CurriedContext() {
-      @Override
-      public List<Object> values() {
-        return InternalUtils.append(CurriedContext.this.values(), o);
-      }
-
-      @Override
-      public String toString() {
-        return variableBundleToString(this);
-      }
-    };
+    return LinkedCurriedContext.append(this, o);
   }
 
   @Override
@@ -73,18 +61,7 @@ public interface CurriedContext extends Formattable {
    * @return A new context.
    */
   static CurriedContext from(Object o) {
-    return new CurriedContext() {
-      @Override
-      public List<Object> values() {
-        return singletonList(o);
-      }
-
-      @Override
-      public String toString() {
-        return variableBundleToString(this);
-      }
-
-    };
+    return LinkedCurriedContext.root(o);
   }
 
   enum PrivateUtils {
@@ -8,9 +8,9 @@ import com.github.dakusui.pcond.forms.Predicates;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
@@ -21,11 +21,24 @@ import static java.util.Objects.requireNonNull;
 public enum CurriedContextUtils {
   ;
 
+  /**
+   * Returns a stream of contexts, each of which is a context of an element in `stream` with an element in `inner` appended.
+   *
+   * Contexts are ordered by the elements of `stream` first and then by the ones of `inner`.
+   * The elements of `inner` are copied when this method is called.
+   * The returned stream knows its exact size when `stream` does, and can be split evenly for parallel processing
+   * even if `stream` is short.
+   * It is parallel if `stream` is, and closing it closes `stream`.
+   *
+   * @param stream A stream of the "outer" elements.
+   * @param inner  A collection of the "inner" elements.
+   * @return A stream of the cartesian product of `stream` and `inner`.
+   */
   public static Stream<CurriedContext> nest(Stream<?> stream, Collection<?> inner) {
-    return toCurriedContextStream(stream)
-        .flatMap((CurriedContext curriedContext) -> inner
-            .stream()
-            .map((Function<Object, CurriedContext>) curriedContext::append));
+    return StreamSupport.stream(
+            new NestedContextSpliterator(toCurriedContextStream(stream).spliterator(), inner.toArray()),
+            stream.isParallel())
+        .onClose(stream::close);
   }
 
   public static Stream<CurriedContext> toCurriedContextStream(Stream<?> stream) {
@@ -0,0 +1,107 @@
+package com.github.dakusui.pcond.experimentals.currying.context;
+
+import java.util.List;
+
+import static com.github.dakusui.pcond.experimentals.currying.context.CurriedContext.PrivateUtils.variableBundleToString;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A persistent implementation of {@link CurriedContext}.
+ *
+ * A context created by {@link CurriedContext#append(Object)} holds only its parent and the appended value,
+ * so that contexts sharing the same parent, such as ones created by {@link CurriedContextUtils#nest(java.util.stream.Stream, java.util.Collection)},
+ * share the parent's values instead of copying them.
+ * The list returned by {@link LinkedCurriedContext#values()} is composed when it is requested for the first time and
+ * reused afterwards.
+ * {@link LinkedCurriedContext#valueAt(int)} walks up to the context holding the value instead, so that reading values
+ * doesn't make each context keep its own copy of them.
+ */
+final class LinkedCurriedContext implements CurriedContext {
+  /**
+   * A parent context or `null`, if this is a root.
+   */
+  private final CurriedContext parent;
+  private final Object         value;
+  private final int            size;
+
+  private volatile List<Object> values;
+
+  private LinkedCurriedContext(CurriedContext parent, Object value, int size) {
+    this.parent = parent;
+    this.value = value;
+    this.size = size;
+  }
+
+  static CurriedContext root(Object value) {
+    return new LinkedCurriedContext(null, value, 1);
+  }
+
+  static CurriedContext append(CurriedContext parent, Object value) {
+    return new LinkedCurriedContext(parent, value, parent.size() + 1);
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T valueAt(int i) {
+    if (i < 0 || i >= this.size)
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + this.size);
+    CurriedContext cur = this;
+    while (cur instanceof LinkedCurriedContext) {
+      LinkedCurriedContext each = (LinkedCurriedContext) cur;
+      if (i == each.size - 1)
+        return (T) each.value;
+      List<Object> composed = each.values;
+      if (composed != null)
+        return (T) composed.get(i);
+      cur = each.parent;
+    }
+    return cur.valueAt(i);
+  }
+
+  @Override
+  public List<Object> values() {
+    List<Object> ret = this.values;
+    if (ret == null)
+      this.values = ret = unmodifiableList(asList(toArray()));
+    return ret;
+  }
+
+  @Override
+  public String toString() {
+    return variableBundleToString(this);
+  }
+
+  /**
+   * Walks up to the nearest ancestor whose values are already composed (or a context not created by this class)
+   * and fills an array from the tail.
+   */
+  private Object[] toArray() {
+    Object[] ret = new Object[this.size];
+    int i = this.size;
+    CurriedContext cur = this;
+    while (cur instanceof LinkedCurriedContext) {
+      LinkedCurriedContext each = (LinkedCurriedContext) cur;
+      List<Object> composed = each.values;
+      if (composed != null) {
+        copy(composed, ret, i);
+        return ret;
+      }
+      ret[--i] = each.value;
+      cur = each.parent;
+    }
+    if (cur != null)
+      copy(cur.values(), ret, i);
+    return ret;
+  }
+
+  private static void copy(List<Object> from, Object[] to, int length) {
+    for (int i = 0; i < length; i++)
+      to[i] = from.get(i);
+  }
+}
@@ -0,0 +1,147 @@
+package com.github.dakusui.pcond.experimentals.currying.context;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A spliterator of the cartesian product of an "outer" spliterator and an "inner" array,
+ * each of whose elements is a {@link CurriedContext} created by appending an inner element to a context of an outer one.
+ *
+ * Contexts are created only when they are traversed.
+ * The size of a product is known exactly if the outer spliterator's is.
+ * A product is split along the outer spliterator first, and along the inner elements for an outer element
+ * when the outer spliterator cannot be split any further, so that a product of a short outer stream and a large inner collection
+ * can also be processed in parallel.
+ * The encounter order is the same as the one of the `flatMap` over the inner elements for each outer element.
+ */
+final class NestedContextSpliterator implements Spliterator<CurriedContext> {
+  private final Spliterator<CurriedContext> outer;
+  private final Object[]                    inner;
+  /**
+   * A context of the outer element, whose product with `inner[innerIndex]...inner[innerEnd - 1]` is not yet traversed.
+   * `null`, if there is no such element.
+   */
+  private       CurriedContext              current;
+  private       int                         innerIndex;
+  private       int                         innerEnd;
+
+  NestedContextSpliterator(Spliterator<CurriedContext> outer, Object[] inner) {
+    this(requireNonNull(outer), requireNonNull(inner), null, 0, 0);
+  }
+
+  private NestedContextSpliterator(Spliterator<CurriedContext> outer, Object[] inner, CurriedContext current, int innerIndex, int innerEnd) {
+    this.outer = outer;
+    this.inner = inner;
+    this.current = current;
+    this.innerIndex = innerIndex;
+    this.innerEnd = innerEnd;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super CurriedContext> action) {
+    requireNonNull(action);
+    while (this.current == null || this.innerIndex >= this.innerEnd) {
+      if (!advanceOuter())
+        return false;
+    }
+    action.accept(this.current.append(this.inner[this.innerIndex++]));
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super CurriedContext> action) {
+    requireNonNull(action);
+    do {
+      if (this.current != null) {
+        CurriedContext context = this.current;
+        int end = this.innerEnd;
+        for (int i = this.innerIndex; i < end; i++)
+          action.accept(context.append(this.inner[i]));
+        this.current = null;
+      }
+    } while (advanceOuter());
+  }
+
+  @Override
+  public Spliterator<CurriedContext> trySplit() {
+    if (this.current == null || this.innerIndex >= this.innerEnd) {
+      this.current = null;
+      Spliterator<CurriedContext> outerPrefix = this.outer.trySplit();
+      if (outerPrefix != null)
+        return new NestedContextSpliterator(outerPrefix, this.inner);
+      if (this.inner.length < 2 || !advanceOuter())
+        return null;
+    }
+    // The rest for the current outer element precedes the rest of the outer spliterator.
+    int remaining = this.innerEnd - this.innerIndex;
+    int mid = remaining < 2 ?
+        this.innerEnd :
+        this.innerIndex + remaining / 2;
+    Spliterator<CurriedContext> ret = new NestedContextSpliterator(emptyOf(this.outer), this.inner, this.current, this.innerIndex, mid);
+    if (mid == this.innerEnd)
+      this.current = null;
+    this.innerIndex = mid;
+    return ret;
+  }
+
+  @Override
+  public long estimateSize() {
+    long remainingForCurrent = this.current == null ? 0 : this.innerEnd - this.innerIndex;
+    long outerSize = this.outer.estimateSize();
+    if (outerSize == Long.MAX_VALUE)
+      return Long.MAX_VALUE;
+    try {
+      return Math.addExact(Math.multiplyExact(outerSize, this.inner.length), remainingForCurrent);
+    } catch (ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  @Override
+  public int characteristics() {
+    int ret = NONNULL | (this.outer.characteristics() & (ORDERED | SIZED | SUBSIZED));
+    if ((ret & SIZED) != 0 && estimateSize() == Long.MAX_VALUE)
+      ret &= ~(SIZED | SUBSIZED);
+    return ret;
+  }
+
+  private boolean advanceOuter() {
+    if (this.inner.length == 0)
+      return false;
+    if (!this.outer.tryAdvance(each -> this.current = each))
+      return false;
+    this.innerIndex = 0;
+    this.innerEnd = this.inner.length;
+    return true;
+  }
+
+  /**
+   * Returns an empty spliterator that has the same characteristics as `spliterator`.
+   */
+  private static Spliterator<CurriedContext> emptyOf(Spliterator<CurriedContext> spliterator) {
+    int characteristics = spliterator.characteristics() & (ORDERED | SIZED | SUBSIZED) | SIZED | SUBSIZED;
+    return new Spliterator<CurriedContext>() {
+      @Override
+      public boolean tryAdvance(Consumer<? super CurriedContext> action) {
+        return false;
+      }
+
+      @Override
+      public Spliterator<CurriedContext> trySplit() {
+        return null;
+      }
+
+      @Override
+      public long estimateSize() {
+        return 0;
+      }
+
+      @Override
+      public int characteristics() {
+        return characteristics;
+      }
+    };
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * The `currying` package provides a mechanism to "curry" a multi-parameters function.
+ * 
+ */
+package com.github.dakusui.pcond.experimentals.currying;
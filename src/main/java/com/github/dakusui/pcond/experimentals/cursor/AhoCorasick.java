@@ -0,0 +1,284 @@
+package com.github.dakusui.pcond.experimentals.cursor;
+
+import java.util.*;
+
+/**
+ * An Aho-Corasick automaton, which finds all the occurrences of given tokens in a string by scanning it only once.
+ *
+ * An automaton is built once for a set of tokens and can be used for any number of strings.
+ * The automaton is immutable and can be shared among threads.
+ */
+final class AhoCorasick {
+  /**
+   * The maximum size of a transition table.
+   * If a table for given tokens becomes larger than this, transitions are computed by following failure links
+   * during a scan.
+   */
+  private static final int MAX_TABLE_SIZE = 1 << 20;
+
+  private final int[]  distinctIndices;
+  private final int[]  lengths;
+  private final Node[] nodes;
+  /**
+   * Characters that appear in tokens in ascending order.
+   * A character's index in this array plus one is its "class", and the class `0` is for any other characters.
+   */
+  private final char[] alphabet;
+  private final int[]  asciiClasses;
+  /**
+   * The next state of state `s` for a character of class `c` is at `s * (alphabet.length + 1) + c`,
+   * or `null` if the table would be too large.
+   */
+  private final int[]  table;
+  /**
+   * For each state, a (distinct) index of a token which ends at the state, or `-1`.
+   */
+  private final int[]  outputs;
+  /**
+   * For each state, the nearest state reachable by failure links, which has an output, or `-1`.
+   */
+  private final int[]  outputLinks;
+  /**
+   * The first character of all the tokens, if they share one; `-1` otherwise.
+   * While the automaton is at the root state, characters other than this can be skipped by `String#indexOf`.
+   */
+  private final int    firstChar;
+
+  /**
+   * Creates an automaton for given `tokens`.
+   *
+   * @param tokens Tokens to be found.
+   */
+  AhoCorasick(String... tokens) {
+    Map<String, Integer> distinctTokens = new LinkedHashMap<>();
+    this.distinctIndices = new int[tokens.length];
+    for (int i = 0; i < tokens.length; i++)
+      this.distinctIndices[i] = distinctTokens.computeIfAbsent(tokens[i], t -> distinctTokens.size());
+    this.lengths = new int[distinctTokens.size()];
+    List<Node> nodes = new ArrayList<>();
+    nodes.add(new Node());
+    distinctTokens.forEach((token, index) -> {
+      this.lengths[index] = token.length();
+      if (!token.isEmpty())
+        addToken(nodes, token, index);
+    });
+    this.nodes = nodes.toArray(new Node[0]);
+    linkNodes(this.nodes);
+    this.alphabet = alphabetOf(distinctTokens.keySet());
+    this.asciiClasses = new int[128];
+    for (int i = 0; i < this.alphabet.length && this.alphabet[i] < 128; i++)
+      this.asciiClasses[this.alphabet[i]] = i + 1;
+    this.outputs = Arrays.stream(this.nodes).mapToInt(n -> n.output).toArray();
+    this.outputLinks = Arrays.stream(this.nodes).mapToInt(n -> n.outputLink).toArray();
+    this.firstChar = this.nodes[0].size == 1 ? this.nodes[0].keys[0] : -1;
+    this.table = (long) this.nodes.length * (this.alphabet.length + 1) <= MAX_TABLE_SIZE ?
+        createTable(this.nodes, this.alphabet) :
+        null;
+  }
+
+  /**
+   * Returns a locator which finds an occurrence of the `i`-th token in a given `text` at a given position or after it.
+   *
+   * The locator scans `text` lazily, only as far as it is necessary to answer a request,
+   * and it remembers all the occurrences of all the tokens it has met.
+   * Thus, `text` is scanned at most once, however many requests are made.
+   *
+   * @param text A string to be scanned.
+   * @return A locator for `text`.
+   */
+  Cursors.Locator scan(String text) {
+    return new Scan(text);
+  }
+
+  private int classOf(char c) {
+    if (c < 128)
+      return this.asciiClasses[c];
+    int i = Arrays.binarySearch(this.alphabet, c);
+    return i >= 0 ? i + 1 : 0;
+  }
+
+  private static int nextState(Node[] nodes, int state, char c) {
+    int next;
+    while ((next = nodes[state].next(c)) < 0 && state != 0)
+      state = nodes[state].failure;
+    return Math.max(next, 0);
+  }
+
+  private static char[] alphabetOf(Collection<String> tokens) {
+    BitSet chars = new BitSet();
+    tokens.forEach(t -> t.chars().forEach(chars::set));
+    char[] ret = new char[chars.cardinality()];
+    for (int i = 0, c = chars.nextSetBit(0); c >= 0; i++, c = chars.nextSetBit(c + 1))
+      ret[i] = (char) c;
+    return ret;
+  }
+
+  /**
+   * Creates a table of transitions, where failure links are already followed.
+   * Since a failure link points a shallower node, rows are filled in breadth-first order.
+   */
+  private static int[] createTable(Node[] nodes, char[] alphabet) {
+    int width = alphabet.length + 1;
+    int[] ret = new int[nodes.length * width];
+    Deque<Integer> queue = new ArrayDeque<>();
+    queue.add(0);
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      Node node = nodes[state];
+      for (int c = 1; c < width; c++) {
+        int next = node.next(alphabet[c - 1]);
+        if (next >= 0) {
+          ret[state * width + c] = next;
+          queue.add(next);
+        } else
+          ret[state * width + c] = state == 0 ? 0 : ret[node.failure * width + c];
+      }
+    }
+    return ret;
+  }
+
+  private static void addToken(List<Node> nodes, String token, int index) {
+    int state = 0;
+    for (int i = 0; i < token.length(); i++) {
+      char c = token.charAt(i);
+      int next = nodes.get(state).next(c);
+      if (next < 0) {
+        next = nodes.size();
+        nodes.add(new Node());
+        nodes.get(state).addChild(c, next);
+      }
+      state = next;
+    }
+    nodes.get(state).output = index;
+  }
+
+  /**
+   * Computes failure links and output links of nodes in breadth-first order.
+   */
+  private static void linkNodes(Node[] nodes) {
+    Deque<Integer> queue = new ArrayDeque<>();
+    Node root = nodes[0];
+    for (int i = 0; i < root.size; i++)
+      queue.add(root.children[i]);
+    while (!queue.isEmpty()) {
+      Node node = nodes[queue.poll()];
+      for (int i = 0; i < node.size; i++) {
+        char c = node.keys[i];
+        Node child = nodes[node.children[i]];
+        child.failure = nextState(nodes, node.failure, c);
+        Node failure = nodes[child.failure];
+        child.outputLink = failure.output >= 0 ? child.failure : failure.outputLink;
+        queue.add(node.children[i]);
+      }
+    }
+  }
+
+  private static final class Node {
+    char[] keys       = new char[0];
+    int[]  children   = new int[0];
+    int    size       = 0;
+    int    failure    = 0;
+    /**
+     * A (distinct) index of a token which ends at this node, or `-1`.
+     */
+    int    output     = -1;
+    /**
+     * The nearest node reachable by failure links, which has an output, or `-1`.
+     */
+    int    outputLink = -1;
+
+    int next(char c) {
+      int i = Arrays.binarySearch(this.keys, 0, this.size, c);
+      return i >= 0 ? this.children[i] : -1;
+    }
+
+    void addChild(char c, int child) {
+      int i = -Arrays.binarySearch(this.keys, 0, this.size, c) - 1;
+      if (this.size == this.keys.length) {
+        this.keys = Arrays.copyOf(this.keys, Math.max(2, this.size * 2));
+        this.children = Arrays.copyOf(this.children, this.keys.length);
+      }
+      System.arraycopy(this.keys, i, this.keys, i + 1, this.size - i);
+      System.arraycopy(this.children, i, this.children, i + 1, this.size - i);
+      this.keys[i] = c;
+      this.children[i] = child;
+      this.size++;
+    }
+  }
+
+  private final class Scan implements Cursors.Locator {
+    final String    text;
+    final IntList[] occurrences;
+    int next  = 0;
+    int state = 0;
+
+    Scan(String text) {
+      this.text = text;
+      this.occurrences = new IntList[lengths.length];
+      for (int i = 0; i < this.occurrences.length; i++)
+        this.occurrences[i] = new IntList();
+    }
+
+    @Override
+    public Cursors.Cursor locate(int tokenIndex, int from) {
+      int token = distinctIndices[tokenIndex];
+      int length = lengths[token];
+      if (length == 0)
+        return new Cursors.Cursor(from, 0);
+      int ret;
+      while ((ret = this.occurrences[token].firstAtOrAfter(from)) < 0 && this.next < this.text.length())
+        advance();
+      return new Cursors.Cursor(ret, length);
+    }
+
+    /**
+     * Scans the text until any token is found or the end is reached.
+     */
+    private void advance() {
+      String text = this.text;
+      int[] table = AhoCorasick.this.table;
+      int width = alphabet.length + 1;
+      int state = this.state;
+      int i = this.next;
+      boolean found = false;
+      while (!found && i < text.length()) {
+        if (state == 0 && firstChar >= 0 && (i = text.indexOf(firstChar, i)) < 0) {
+          i = text.length();
+          break;
+        }
+        char c = text.charAt(i);
+        state = table != null ?
+            table[state * width + classOf(c)] :
+            nextState(nodes, state, c);
+        for (int s = outputs[state] >= 0 ? state : outputLinks[state]; s >= 0; s = outputLinks[s]) {
+          this.occurrences[outputs[s]].add(i - lengths[outputs[s]] + 1);
+          found = true;
+        }
+        i++;
+      }
+      this.state = state;
+      this.next = i;
+    }
+  }
+
+  /**
+   * Start positions of a token in a scanned string, in ascending order.
+   */
+  private static final class IntList {
+    int[] values = new int[4];
+    int   size   = 0;
+
+    void add(int value) {
+      if (this.size == this.values.length)
+        this.values = Arrays.copyOf(this.values, this.size * 2);
+      this.values[this.size++] = value;
+    }
+
+    int firstAtOrAfter(int from) {
+      int i = Arrays.binarySearch(this.values, 0, this.size, from);
+      if (i < 0)
+        i = -i - 1;
+      return i < this.size ? this.values[i] : -1;
+    }
+  }
+}
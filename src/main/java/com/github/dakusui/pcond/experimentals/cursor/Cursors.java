@@ -8,13 +8,11 @@ import com.github.dakusui.pcond.forms.Printables;
 import com.github.dakusui.pcond.internals.InternalUtils;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.github.dakusui.pcond.forms.Printables.function;
@@ -23,150 +21,48 @@ import static com.github.dakusui.pcond.internals.InternalUtils.formatObject;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toList;
 
 public enum Cursors {
   ;
+
+  private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+  /**
+   * The maximum number of elements shown in a report for a run of skipped elements.
+   */
+  static final int MAX_SKIPPED_ELEMENTS_IN_REPORT = 100;
   
   /**
-   * Note that a predicate returned by this method is stateful and not to be re-used.
+   * Returns a predicate that checks if `tokens` are all contained in a given string in the order.
    *
-   * @param locatorFactory A function to return a cursor which points the location where a given token appears in an original string.
+   * The returned predicate holds no state by itself.
+   * The state of an evaluation, such as the current position and the tokens found so far, is held by a {@link CursoredString},
+   * which is created for each string to be tested.
+   * Thus, the predicate can be re-used and shared among threads.
+   *
+   * @param locatorFactory A function to return a locator, which finds `tokens` in a given original string.
    * @param tokens         Tokens to be found in a given string passed to the returned predicate.
    * @param <T>            The type of token to be searched for.
    * @return A predicate that checks if `tokens` are all contained in a given string
    * in the order, where they appear in the argument.
    */
   @SuppressWarnings("unchecked")
-  static <T> Predicate<String> findTokens(Function<T, Function<String, Cursor>> locatorFactory, T... tokens) {
-    AtomicBoolean result = new AtomicBoolean(true);
-    AtomicInteger lastTestedPosition = new AtomicInteger(0);
-    StringBuilder bExpectation = new StringBuilder();
-    StringBuilder bActual = new StringBuilder();
-    class CursoredString implements Evaluator.Snapshottable {
-      public int previousFailingPosition;
-      String originalString;
-      int    position;
-
-      CursoredString(String originalString) {
-        this.originalString = originalString;
-        this.position = 0;
-      }
-
-      CursoredString findNext(T token) {
-        Function<String, Cursor> locator = locatorFactory.apply(token);
-        Cursor cursor = locator.apply(originalString.substring(this.position));
-        if (cursor.position >= 0) {
-          updateOngoingExplanation(bExpectation, token, cursor, (lf, t) -> "found for:" + locatorFactory + "[" + t + "]");
-          updateOngoingExplanation(bActual, token, cursor, (lf, t) -> "found for:" + locatorFactory + "[" + t + "]");
-
-          this.position += cursor.position + cursor.length;
-        } else {
-          this.previousFailingPosition = this.position;
-        }
-        lastTestedPosition.set(this.position);
-        return this;
-      }
-
-      private void updateOngoingExplanation(StringBuilder b, T token, Cursor cursor, BiFunction<Object, T, String> locatorFactoryFormatter) {
-        b.append(this.originalString, this.position, this.position + cursor.position);
-        b.append("<");
-        b.append(formatObject(this.originalString.substring(this.position + cursor.position, this.position + cursor.position + cursor.length)));
-        b.append(":");
-        b.append(locatorFactoryFormatter.apply(locatorFactory, token));
-        b.append(">");
-      }
-
-      @Override
-      public Object snapshot() {
-        return originalString.substring(position);
-      }
-
-      @Override
-      public String toString() {
-        return "CursoredString:[" + originalString + "]";
-      }
-    }
-    CursoredString cursoredStringForSnapshotting = new CursoredString(null);
-    class CursoredStringPredicate extends PrintablePredicate<CursoredString> implements
-        Predicate<CursoredString>,
-        Evaluable.LeafPred<CursoredString>,
-        Evaluator.Explainable {
-      final T each;
-
-      CursoredStringPredicate(T each) {
-        super(new Object(), emptyList(), () -> "findTokenBy[" + locatorFactory + "[" + each + "]]", cursoredString -> {
-          cursoredStringForSnapshotting.previousFailingPosition = cursoredString.previousFailingPosition;
-          cursoredStringForSnapshotting.position = cursoredString.position;
-          cursoredStringForSnapshotting.originalString = cursoredString.originalString;
-          return cursoredString.position != cursoredString.findNext(each).position;
-        });
-        this.each = each;
-      }
-
-      @Override
-      public boolean test(CursoredString v) {
-        boolean ret = super.test(v);
-        result.set(ret && result.get());
-        return ret;
-      }
-
-      @Override
-      public String toString() {
-        return "findTokenBy[" + locatorFactoryName() + "]";
-      }
-
-      private String locatorFactoryName() {
-        return locatorFactory + "[" + each + "]";
-      }
-
-      @Override
-      public Predicate<? super CursoredString> predicate() {
-        return this;
-      }
-
-
-      @Override
-      public Object explainOutputExpectation() {
-        return formatExplanation(bExpectation, "SHOULD BE FOUND AFTER THIS POSITION");
-      }
-
-      @Override
-      public Object explainActual(Object actualValue) {
-        return formatExplanation(bActual, "BUT NOT FOUND");
-      }
-
-      private String formatExplanation(StringBuilder b, String keyword) {
-        String ret = b.toString() + format("%n") + "<" + this.locatorFactoryName() + ":" + keyword + ">";
-        b.delete(0, b.length());
-        return ret;
-      }
-    }
-    return Predicates.transform(function("findTokens" + formatObject(tokens), CursoredString::new))
+  static <T> Predicate<String> findTokens(Function<String, Locator> locatorFactory, T... tokens) {
+    return Predicates.transform(function("findTokens" + formatObject(tokens), (String v) -> new CursoredString(v, locatorFactory)))
         .check(Predicates.allOf(
             Stream.concat(
-                    Arrays.stream(tokens).map(CursoredStringPredicate::new),
-                    Stream.of(endMarkPredicateForString(lastTestedPosition, bExpectation, bActual, result, () -> cursoredStringForSnapshotting.originalString)))
+                    IntStream.range(0, tokens.length).mapToObj(i -> new CursoredStringPredicate<>(locatorFactory, i, tokens[i])),
+                    Stream.of(endMarkPredicateForString()))
                 .toArray(Predicate[]::new)));
-
   }
   
-  private static Predicate<Object> endMarkPredicateForString(AtomicInteger lastTestedPosition, StringBuilder ongoingExpectationExplanation, StringBuilder ongoingActualExplanation, AtomicBoolean result, Supplier<String> originalStringSupplier) {
-    return makeExplainable((PrintablePredicate<? super Object>) predicate("(end)", v -> result.get()), new Evaluator.Explainable() {
-
-      @Override
-      public Object explainOutputExpectation() {
-        return ongoingExpectationExplanation.toString() + originalStringSupplier.get().substring(lastTestedPosition.get());
-      }
-
-      @Override
-      public Object explainActual(Object actualValue) {
-        return ongoingActualExplanation.toString() + originalStringSupplier.get().substring(lastTestedPosition.get());
-      }
-    });
+  private static Predicate<Object> endMarkPredicateForString() {
+    return makeExplainable(
+        (PrintablePredicate<? super Object>) predicate("(end)", v -> ((CursoredString) v).result),
+        v -> CursoredString.from(v).explainFoundTokens(CursoredString.from(v).explainedForExpectation) + CursoredString.from(v).rest(),
+        v -> CursoredString.from(v).explainFoundTokens(CursoredString.from(v).explainedForActual) + CursoredString.from(v).rest());
   }
   
-  private static <T> Predicate<T> makeExplainable(PrintablePredicate<? super T> p, Evaluator.Explainable explainable) {
+  private static <T> Predicate<T> makeExplainable(PrintablePredicate<? super T> p, Function<Object, Object> expectationExplainer, Function<Object, Object> actualExplainer) {
     class ExplainablePredicate extends PrintablePredicate<T> implements
         Predicate<T>,
         Evaluable.LeafPred<T>,
@@ -183,138 +79,172 @@ public enum Cursors {
 
       @Override
       public Object explainOutputExpectation() {
-        return explainable.explainOutputExpectation();
+        return this.toString();
+      }
+
+      @Override
+      public Object explainOutputExpectation(Object input) {
+        return expectationExplainer.apply(input);
       }
 
       @Override
       public Object explainActual(Object actualValue) {
-        return explainable.explainActual(actualValue);
+        return actualExplainer.apply(actualValue);
       }
     }
 
     return new ExplainablePredicate();
   }
   
+  /**
+   * Returns a predicate that checks if `tokens` are all contained in a given string in the order.
+   *
+   * The tokens are searched for by an automaton built once for them, which scans a given string only once
+   * however many tokens there are.
+   *
+   * @param tokens Tokens to be found.
+   * @return A predicate to check if `tokens` are found in a given string in the order.
+   */
   public static Predicate<String> findSubstrings(String... tokens) {
-    return findTokens(Printables.function("substring", token -> string -> new Cursor(string.indexOf(token), token.length())), tokens);
+    AhoCorasick automaton = new AhoCorasick(tokens);
+    return findTokens(Printables.function("substring", automaton::scan), tokens);
   }
   
+  /**
+   * Returns a predicate that checks if `patterns` are all found in a given string in the order.
+   *
+   * Patterns without any meta characters are searched for by an automaton, just as {@link Cursors#findSubstrings(String...)} does.
+   * Each of the other patterns is searched for by a {@link Matcher}, which is created once for a given string
+   * and whose region is moved forward.
+   * They are not combined into one regex, such as an alternation, because `java.util.regex` still tries each alternative
+   * at each position and reports only the leftmost match of them.
+   *
+   * @param patterns Patterns to be found.
+   * @return A predicate to check if `patterns` are found in a given string in the order.
+   */
   public static Predicate<String> findRegexPatterns(Pattern... patterns) {
-    return findTokens(function("matchesRegex", token -> string -> {
-      java.util.regex.Matcher m = token.matcher(string);
-      if (m.find()) {
-        return new Cursor(m.start(), m.end() - m.start());
-      } else
-        return new Cursor(-1, 0);
+    String[] literals = Arrays.stream(patterns).map(Cursors::literalOf).toArray(String[]::new);
+    // Empty strings are given for non-literal patterns, for which the automaton is not used.
+    AhoCorasick automaton = new AhoCorasick(Arrays.stream(literals).map(l -> l != null ? l : "").toArray(String[]::new));
+    return findTokens(function("matchesRegex", (String string) -> new Locator() {
+      final Locator   literalLocator = automaton.scan(string);
+      final Matcher[] matchers       = new Matcher[patterns.length];
 
+      @Override
+      public Cursor locate(int tokenIndex, int from) {
+        if (literals[tokenIndex] != null)
+          return literalLocator.locate(tokenIndex, from);
+        if (matchers[tokenIndex] == null)
+          matchers[tokenIndex] = patterns[tokenIndex].matcher(string);
+        // With the default anchoring and opaque bounds, a region behaves as a substring starting at "from".
+        Matcher m = matchers[tokenIndex].region(from, string.length());
+        if (m.find())
+          return new Cursor(m.start(), m.end() - m.start());
+        return new Cursor(-1, 0);
+      }
     }), patterns);
   }
+
+  private static String literalOf(Pattern pattern) {
+    if (pattern.flags() == Pattern.LITERAL)
+      return pattern.pattern();
+    if (pattern.flags() == 0 && pattern.pattern().chars().noneMatch(c -> REGEX_META_CHARACTERS.indexOf(c) >= 0))
+      return pattern.pattern();
+    return null;
+  }
   
   public static Predicate<String> findRegexes(String... regexes) {
-    return findRegexPatterns(Arrays.stream(regexes).map(Pattern::compile).toArray(Pattern[]::new));
+    return findRegexPatterns(Arrays.stream(regexes).map(InternalUtils::compilePattern).toArray(Pattern[]::new));
   }
   
-  @SuppressWarnings("unchecked")
+  /**
+   * Returns a predicate that checks if elements satisfying `predicates` are all contained in a given list in the order.
+   *
+   * Each predicate is tested from the element next to the one found for the previous predicate.
+   * If a predicate is not satisfied by any of them, the next predicate is tested from the same element again.
+   *
+   * @param predicates Predicates to find elements.
+   * @param <E>        The type of the elements.
+   * @return A predicate that checks if elements are found in the order of `predicates`.
+   */
   @SafeVarargs
   public static <E> Predicate<List<E>> findElements(Predicate<? super E>... predicates) {
-    AtomicBoolean result = new AtomicBoolean(true);
-    List<Object> expectationExplanationList = new LinkedList<>();
-    List<Object> actualExplanationList = new LinkedList<>();
-    List<Object> rest = new LinkedList<>();
-    AtomicInteger previousPosition = new AtomicInteger(0);
-    Function<Predicate<? super E>, Predicate<CursoredList<E>>> predicatePredicateFunction = (Predicate<? super E> p) -> (Predicate<CursoredList<E>>) cursoredList -> {
-      AtomicInteger j = new AtomicInteger(0);
-      boolean isFound = cursoredList.currentList().stream()
-          .peek((E each) -> j.getAndIncrement())
-          .anyMatch(p);
-      if (isFound) {
-        updateExplanationsForFoundElement(
-            expectationExplanationList, actualExplanationList,
-            cursoredList.currentList().get(j.get() - 1),
-            p, (List<Object>) cursoredList.currentList().subList(0, j.get() - 1));
-        rest.clear();
-        rest.add(cursoredList.currentList().subList(j.get(), cursoredList.currentList().size()));
-        cursoredList.position += j.get();
-        previousPosition.set(cursoredList.position);
-        return true;
-      }
-      updateExplanationsForMissedPredicateIfCursorMoved(
-          expectationExplanationList, actualExplanationList,
-          cursoredList.position > previousPosition.get(),
-          p, cursoredList.currentList().subList(0, j.get()));
-      result.set(false);
-      previousPosition.set(cursoredList.position);
-      return false;
-    };
-    return Predicates.transform(function("toCursoredList", (List<E> v)-> new CursoredList<>(v)))
+    return findElements(function("toCursoredList", (List<E> v) -> new CursoredList<>(v)), predicates);
+  }
+  
+  /**
+   * Returns a predicate that checks if elements satisfying `predicates` are all contained in a given stream in the order.
+   *
+   * The stream is read forward only once and the elements in it are not retained, except ones to be shown in a report,
+   * which are bounded by {@link Cursors#MAX_SKIPPED_ELEMENTS_IN_REPORT}.
+   * Thus, a very large or a lazily produced stream can be examined.
+   * Unlike {@link Cursors#findElements(Predicate[])}, when a predicate is not satisfied, the stream is exhausted
+   * and the predicates after it are not satisfied either.
+   *
+   * @param predicates Predicates to find elements.
+   * @param <E>        The type of the elements.
+   * @return A predicate that checks if elements are found in the order of `predicates`.
+   */
+  @SafeVarargs
+  public static <E> Predicate<Stream<E>> findElementsInStream(Predicate<? super E>... predicates) {
+    return findElements(function("toCursoredStream", (Stream<E> v) -> new CursoredIterator<>(v.iterator())), predicates);
+  }
+  
+  /**
+   * Returns a predicate that checks if elements satisfying `predicates` are all returned by a given iterator in the order.
+   *
+   * @param predicates Predicates to find elements.
+   * @param <E>        The type of the elements.
+   * @return A predicate that checks if elements are found in the order of `predicates`.
+   * @see Cursors#findElementsInStream(Predicate[])
+   */
+  @SafeVarargs
+  public static <E> Predicate<Iterator<E>> findElementsInIterator(Predicate<? super E>... predicates) {
+    return findElements(function("toCursoredIterator", (Iterator<E> v) -> new CursoredIterator<>(v)), predicates);
+  }
+  
+  @SuppressWarnings("unchecked")
+  private static <T, E> Predicate<T> findElements(Function<T, CursoredElements<E>> toCursoredElements, Predicate<? super E>[] predicates) {
+    return Predicates.transform(toCursoredElements)
         .check(Predicates.allOf(Stream.concat(
                 Arrays.stream(predicates)
-                    .map((Predicate<? super E> each) -> predicate("findElementBy[" + each + "]", predicatePredicateFunction.apply(each))),
-                Stream.of(endMarkPredicateForList(result, expectationExplanationList, actualExplanationList, rest)))
+                    .map((Predicate<? super E> each) -> predicate("findElementBy[" + each + "]", (CursoredElements<E> v) -> v.findNext(each))),
+                Stream.of(endMarkPredicateForElements()))
             .toArray(Predicate[]::new)));
   }
   
-  private static <E> void updateExplanationsForFoundElement(List<Object> expectationExplanationList, List<Object> actualExplanationList, E foundElement, Predicate<? super E> matchedPredicate, List<Object> skippedElements) {
-    if (!skippedElements.isEmpty()) {
-      //      expectationExplanationList.add(skippedElements);
-      actualExplanationList.add(skippedElements);
-    }
-    actualExplanationList.add(new Explanation(foundElement, "<%s:found for:" + matchedPredicate + ">"));
-    expectationExplanationList.add(new Explanation(matchedPredicate, "<matching element for:%s>"));
+  private static Predicate<Object> endMarkPredicateForElements() {
+    return makeExplainable(
+        (PrintablePredicate<? super Object>) predicate("(end)", v -> ((CursoredElements<?>) v).explanations().result),
+        v -> renderExplanationString(CursoredElements.from(v).explanations().expectationExplanationList),
+        v -> renderExplanationString(CursoredElements.from(v).explanations().fullActualExplanationList(CursoredElements.from(v))));
   }
   
-  private static <E> void updateExplanationsForMissedPredicateIfCursorMoved(List<Object> expectationExplanationList, List<Object> actualExplanationList, boolean isCursorMoved, Predicate<? super E> missedPredicate, List<E> scannedElements) {
-    if (isCursorMoved) {
-      //expectationExplanationList.add(scannedElements);
-      actualExplanationList.add(scannedElements);
-    }
-    Explanation missedInExpectation = new Explanation(missedPredicate, "<matching element for:%s>");
-    expectationExplanationList.add(missedInExpectation);
-
-    Explanation missedInActual = new Explanation(missedPredicate, "<NOT FOUND:matching element for:%s>");
-    actualExplanationList.add(missedInActual);
+  private static String renderExplanationString(List<Object> fullExplanationList) {
+    return fullExplanationList
+        .stream()
+        .map(Object::toString)
+        .collect(joining(String.format("%n")));
   }
   
-  private static Predicate<Object> endMarkPredicateForList(AtomicBoolean result, List<Object> expectationExplanationList, List<Object> actualExplanationList, List<?> rest) {
-    return makeExplainable((PrintablePredicate<? super Object>) predicate("(end)", v -> result.get()), new Evaluator.Explainable() {
-
-      @Override
-      public Object explainOutputExpectation() {
-        return renderExplanationString(expectationExplanationList);
-      }
-
-      @Override
-      public Object explainActual(Object actualValue) {
-        return renderExplanationString(createFullExplanationList(actualExplanationList, rest));
-      }
-
-      private List<Object> createFullExplanationList(List<Object> explanationList, List<?> rest) {
-        return Stream.concat(explanationList.stream(), rest.stream()).collect(toList());
-      }
-
-      private String renderExplanationString(List<Object> fullExplanationList) {
-        return fullExplanationList
-            .stream()
-            .map(e -> {
-              if (e instanceof List) {
-                return String.format("<%s:skipped>",
-                    ((List<?>) e).stream()
-                        .map(InternalUtils::formatObject)
-                        .collect(joining(",")));
-              }
-              return e;
-            })
-            .map(Object::toString)
-            .collect(joining(String.format("%n")));
-      }
-    });
+  /**
+   * Finds tokens in a string given to a function that creates this object.
+   */
+  interface Locator {
+    /**
+     * Returns a cursor that points the first occurrence of the `tokenIndex`-th token at `from` or after it.
+     *
+     * @param tokenIndex An index of a token to be found.
+     * @param from       A position from which the token is searched for.
+     * @return A cursor. Its position is `-1`, if the token is not found.
+     */
+    Cursor locate(int tokenIndex, int from);
   }
   
   static class Cursor {
     /**
-     * The "relative" position, where the token was found, from the beginning of the string passed to a locator.
-     * By convention, it is designed to pass a substring of the original string, which starts from the position,
-     * where a token (element) searching attempt was made.
+     * The position, where the token was found, from the beginning of the original string.
+     * `-1`, if the token was not found.
      */
     final int position;
     /**
@@ -328,16 +258,268 @@ public enum Cursors {
     }
   }
   
-  static class CursoredList<EE> extends AbstractList<EE> implements Evaluator.Snapshottable, Collection<EE> {
-    int position;
-    final List<EE> originalList;
+  /**
+   * A string with a cursor, which holds the state of an evaluation of a predicate returned by {@link Cursors#findTokens(Function, Object[])}.
+   */
+  static class CursoredString implements Evaluator.Snapshottable {
+    final String                    originalString;
+    final Function<String, Locator> locatorFactory;
+    final List<FoundToken>          foundTokens             = new ArrayList<>();
+    int                             position                = 0;
+    boolean                         result                  = true;
+    /**
+     * The number of found tokens that have already been explained as expectations.
+     */
+    int                             explainedForExpectation = 0;
+    /**
+     * The number of found tokens that have already been explained as actual values.
+     */
+    int                             explainedForActual      = 0;
+    Locator                         locator;
+
+    CursoredString(String originalString, Function<String, Locator> locatorFactory) {
+      this.originalString = originalString;
+      this.locatorFactory = locatorFactory;
+    }
+
+    boolean findNext(int tokenIndex, Object token) {
+      int previousPosition = this.position;
+      Cursor cursor = locator().locate(tokenIndex, this.position);
+      if (cursor.position >= 0) {
+        this.foundTokens.add(new FoundToken(previousPosition, cursor, token));
+        this.position = cursor.position + cursor.length;
+      }
+      boolean ret = this.position != previousPosition;
+      this.result &= ret;
+      return ret;
+    }
+
+    String explainFoundTokens(int from) {
+      StringBuilder b = new StringBuilder();
+      for (FoundToken each : this.foundTokens.subList(from, this.foundTokens.size())) {
+        b.append(this.originalString, each.from, each.cursor.position);
+        b.append("<");
+        b.append(formatObject(this.originalString.substring(each.cursor.position, each.cursor.position + each.cursor.length)));
+        b.append(":");
+        b.append("found for:").append(this.locatorFactory).append("[").append(each.token).append("]");
+        b.append(">");
+      }
+      return b.toString();
+    }
+
+    String rest() {
+      return this.originalString.substring(this.position);
+    }
+
+    /**
+     * Returns a given value if it is a cursored string, otherwise an empty one, which has nothing to explain.
+     * The latter happens when the string couldn't be created, e.g., a function applied before it threw an exception.
+     */
+    static CursoredString from(Object value) {
+      return value instanceof CursoredString ? (CursoredString) value : new CursoredString("", null);
+    }
+
+    private Locator locator() {
+      if (this.locator == null)
+        this.locator = this.locatorFactory.apply(this.originalString);
+      return this.locator;
+    }
+
+    @Override
+    public Object snapshot() {
+      return originalString.substring(position);
+    }
+
+    @Override
+    public String toString() {
+      return "CursoredString:[" + originalString + "]";
+    }
+  }
+  
+  private static class FoundToken {
+    /**
+     * The position, from which the token was searched for.
+     */
+    final int    from;
+    final Cursor cursor;
+    final Object token;
+
+    FoundToken(int from, Cursor cursor, Object token) {
+      this.from = from;
+      this.cursor = cursor;
+      this.token = token;
+    }
+  }
+  
+  private static class CursoredStringPredicate<T> extends PrintablePredicate<CursoredString> implements
+      Evaluable.LeafPred<CursoredString>,
+      Evaluator.Explainable {
+    final Function<String, Locator> locatorFactory;
+    final T                         each;
+
+    CursoredStringPredicate(Function<String, Locator> locatorFactory, int index, T each) {
+      super(new Object(), emptyList(), () -> "findTokenBy[" + locatorFactory + "[" + each + "]]", cursoredString -> cursoredString.findNext(index, each));
+      this.locatorFactory = locatorFactory;
+      this.each = each;
+    }
+
+    @Override
+    public String toString() {
+      return "findTokenBy[" + locatorFactoryName() + "]";
+    }
+
+    private String locatorFactoryName() {
+      return locatorFactory + "[" + each + "]";
+    }
+
+    @Override
+    public Predicate<? super CursoredString> predicate() {
+      return this;
+    }
+
+    @Override
+    public Object explainOutputExpectation() {
+      return this.toString();
+    }
+
+    /**
+     * Explains tokens found after the previous explanation, followed by this token, which should be found after them.
+     */
+    @Override
+    public Object explainOutputExpectation(Object input) {
+      CursoredString cursoredString = CursoredString.from(input);
+      String ret = formatExplanation(cursoredString.explainFoundTokens(cursoredString.explainedForExpectation), "SHOULD BE FOUND AFTER THIS POSITION");
+      cursoredString.explainedForExpectation = cursoredString.foundTokens.size();
+      return ret;
+    }
+
+    @Override
+    public Object explainActual(Object actualValue) {
+      CursoredString cursoredString = CursoredString.from(actualValue);
+      String ret = formatExplanation(cursoredString.explainFoundTokens(cursoredString.explainedForActual), "BUT NOT FOUND");
+      cursoredString.explainedForActual = cursoredString.foundTokens.size();
+      return ret;
+    }
+
+    private String formatExplanation(String foundTokens, String keyword) {
+      return foundTokens + format("%n") + "<" + this.locatorFactoryName() + ":" + keyword + ">";
+    }
+  }
+  
+  /**
+   * Elements with a cursor, which hold the state of an evaluation of a predicate returned by {@link Cursors#findElements(Predicate[])}
+   * or its variants.
+   *
+   * Elements are read forward, and the ones skipped are kept for a report only up to {@link Cursors#MAX_SKIPPED_ELEMENTS_IN_REPORT},
+   * so that the memory this object uses depends on the number of the predicates, not on the number of the elements.
+   *
+   * @param <E> The type of the elements.
+   */
+  interface CursoredElements<E> extends Evaluator.Snapshottable {
+    /**
+     * Moves the cursor to the element next to the first one satisfying `predicate` and returns `true`.
+     * If no such element is found, returns `false`.
+     *
+     * @param predicate A predicate to find an element.
+     * @return `true` if an element is found.
+     */
+    boolean findNext(Predicate<? super E> predicate);
+
+    ElementExplanations explanations();
+
+    /**
+     * Returns elements after the last found one.
+     *
+     * @return Elements after the last found one.
+     */
+    Skipped rest();
+
+    /**
+     * Returns a given value if it is a cursored elements, otherwise an empty one, which has nothing to explain.
+     *
+     * @see CursoredString#from(Object)
+     */
+    static CursoredElements<?> from(Object value) {
+      return value instanceof CursoredElements ? (CursoredElements<?>) value : new CursoredList<>(emptyList());
+    }
+  }
+  
+  /**
+   * Explanations of the elements found (or not found) by a {@link CursoredElements}.
+   */
+  static class ElementExplanations {
+    final List<Object> expectationExplanationList = new ArrayList<>();
+    final List<Object> actualExplanationList      = new ArrayList<>();
+    boolean            result                     = true;
+    boolean            foundAny                   = false;
+
+    <E> boolean found(Predicate<? super E> predicate, E foundElement, Skipped skipped) {
+      if (!skipped.isEmpty())
+        this.actualExplanationList.add(skipped);
+      this.actualExplanationList.add(new Explanation(foundElement, "<%s:found for:" + predicate + ">"));
+      this.expectationExplanationList.add(new Explanation(predicate, "<matching element for:%s>"));
+      this.foundAny = true;
+      return true;
+    }
+
+    boolean missed(Predicate<?> predicate) {
+      this.expectationExplanationList.add(new Explanation(predicate, "<matching element for:%s>"));
+      this.actualExplanationList.add(new Explanation(predicate, "<NOT FOUND:matching element for:%s>"));
+      this.result = false;
+      return false;
+    }
+
+    List<Object> fullActualExplanationList(CursoredElements<?> cursoredElements) {
+      if (!this.foundAny)
+        return this.actualExplanationList;
+      List<Object> ret = new ArrayList<>(this.actualExplanationList);
+      ret.add(cursoredElements.rest());
+      return ret;
+    }
+  }
+  
+  static class CursoredList<EE> extends AbstractList<EE> implements CursoredElements<EE>, Collection<EE> {
+    final List<EE>            originalList;
+    final ElementExplanations explanations = new ElementExplanations();
+    int                       position;
 
     CursoredList(List<EE> originalList) {
       this.originalList = originalList;
     }
 
-    List<EE> currentList() {
-      return this.originalList.subList(position, this.originalList.size());
+    @Override
+    public boolean findNext(Predicate<? super EE> predicate) {
+      if (this.originalList instanceof RandomAccess) {
+        for (int i = this.position, size = this.originalList.size(); i < size; i++) {
+          EE each = this.originalList.get(i);
+          if (predicate.test(each))
+            return found(predicate, i, each);
+        }
+      } else {
+        ListIterator<EE> i = this.originalList.listIterator(this.position);
+        while (i.hasNext()) {
+          EE each = i.next();
+          if (predicate.test(each))
+            return found(predicate, i.previousIndex(), each);
+        }
+      }
+      return this.explanations.missed(predicate);
+    }
+
+    private boolean found(Predicate<? super EE> predicate, int foundAt, EE foundElement) {
+      Skipped skipped = Skipped.of(this.originalList.subList(this.position, foundAt));
+      this.position = foundAt + 1;
+      return this.explanations.found(predicate, foundElement, skipped);
+    }
+
+    @Override
+    public ElementExplanations explanations() {
+      return this.explanations;
+    }
+
+    @Override
+    public Skipped rest() {
+      return Skipped.of(this.originalList.subList(this.position, this.originalList.size()));
     }
 
     @Override
@@ -361,6 +543,102 @@ public enum Cursors {
     }
   }
   
+  static class CursoredIterator<EE> implements CursoredElements<EE> {
+    final Iterator<EE>        iterator;
+    final ElementExplanations explanations = new ElementExplanations();
+    /**
+     * The number of elements read by predicates so far.
+     */
+    int                position = 0;
+    /**
+     * Elements read since the last found one.
+     */
+    List<Object>       window   = new ArrayList<>();
+    boolean            truncated;
+
+    CursoredIterator(Iterator<EE> iterator) {
+      this.iterator = iterator;
+    }
+
+    @Override
+    public boolean findNext(Predicate<? super EE> predicate) {
+      while (this.iterator.hasNext()) {
+        EE each = this.iterator.next();
+        this.position++;
+        if (predicate.test(each)) {
+          Skipped skipped = new Skipped(this.window, this.truncated);
+          this.window = new ArrayList<>();
+          this.truncated = false;
+          return this.explanations.found(predicate, each, skipped);
+        }
+        read(each);
+      }
+      return this.explanations.missed(predicate);
+    }
+
+    @Override
+    public ElementExplanations explanations() {
+      return this.explanations;
+    }
+
+    /**
+     * Reads elements not read by predicates yet, but only as many as shown in a report.
+     */
+    @Override
+    public Skipped rest() {
+      while (!this.truncated && this.iterator.hasNext())
+        read(this.iterator.next());
+      return new Skipped(this.window, this.truncated);
+    }
+
+    private void read(EE element) {
+      if (this.window.size() < MAX_SKIPPED_ELEMENTS_IN_REPORT)
+        this.window.add(element);
+      else
+        this.truncated = true;
+    }
+
+    @Override
+    public Object snapshot() {
+      return this.toString();
+    }
+
+    @Override
+    public String toString() {
+      return "CursoredIterator:[" + this.position + " elements read]";
+    }
+  }
+  
+  /**
+   * Elements skipped by a cursor, which are shown in a report.
+   */
+  static class Skipped {
+    final List<?> elements;
+    final boolean truncated;
+
+    private Skipped(List<?> elements, boolean truncated) {
+      this.elements = elements;
+      this.truncated = truncated;
+    }
+
+    static Skipped of(List<?> elements) {
+      return elements.size() > MAX_SKIPPED_ELEMENTS_IN_REPORT ?
+          new Skipped(elements.subList(0, MAX_SKIPPED_ELEMENTS_IN_REPORT), true) :
+          new Skipped(elements, false);
+    }
+
+    boolean isEmpty() {
+      return this.elements.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+      return format("<%s%s:skipped>",
+          this.elements.stream().map(InternalUtils::formatObject).collect(joining(",")),
+          this.truncated ? ",..." : "");
+    }
+  }
+  
   private static class Explanation {
     final         Object value;
     private final String formatString;
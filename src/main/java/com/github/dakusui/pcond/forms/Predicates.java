@@ -10,6 +10,7 @@ import com.github.dakusui.pcond.internals.InternalChecks;
 import java.util.Collection;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static com.github.dakusui.pcond.core.refl.ReflUtils.invokeMethod;
@@ -115,6 +116,11 @@ public class Predicates {
         return ParameterizedLeafFactory.create(ParameterizedLeafFactory.MATCHES_REGEX, singletonList(regex));
     }
 
+    public static Predicate<String> matchesPattern(Pattern pattern) {
+        requireNonNull(pattern);
+        return ParameterizedLeafFactory.create(ParameterizedLeafFactory.MATCHES_PATTERN, singletonList(pattern));
+    }
+
     public static Predicate<String> containsString(String string) {
         requireNonNull(string);
         return ParameterizedLeafFactory.create(ParameterizedLeafFactory.CONTAINS_STRING, singletonList(string));
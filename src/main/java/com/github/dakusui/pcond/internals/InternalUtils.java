@@ -11,8 +11,10 @@ import com.github.dakusui.pcond.validator.Validator;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -30,12 +32,22 @@ public enum InternalUtils {
     throw new UnsupportedOperationException("Applying: '" + v + "' was failed, because this is a dummy predicate.");
   });
 
+  private static final int                  PATTERN_CACHE_SIZE = 256;
+  private static final Map<String, Pattern> PATTERN_CACHE      = new ConcurrentHashMap<>();
+
+  private static final ClassValue<Boolean> TO_STRING_OVERRIDDEN = new ClassValue<Boolean>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      return getMethod(type, "toString").getDeclaringClass() != Object.class;
+    }
+  };
+
   public static String formatObject(Object value) {
     return formatObject(value, summarizedStringLength());
   }
 
   public static String formatObject(Object value, int maxLength) {
-    return _formatObject(value, maxLength).replaceAll("[\\r\\n]", " ");
+    return _formatObject(value, maxLength).replace('\r', ' ').replace('\n', ' ');
   }
 
   private static String _formatObject(Object value, int maxLength) {
@@ -44,17 +56,18 @@ public enum InternalUtils {
     if (value instanceof Collection) {
       Collection<?> collection = (Collection<?>) value;
       if (collection.size() < 4)
-        return format("[%s]",
+        return "[" +
             collection.stream()
                 .map(InternalUtils::formatObject)
-                .collect(joining(",")));
+                .collect(joining(",")) +
+            "]";
       Iterator<?> i = collection.iterator();
-      return format("[%s,%s,%s...;%s]",
-          formatObject(i.next()),
-          formatObject(i.next()),
-          formatObject(i.next()),
-          collection.size()
-      );
+      return "[" +
+          formatObject(i.next()) + "," +
+          formatObject(i.next()) + "," +
+          formatObject(i.next()) + "...;" +
+          collection.size() +
+          "]";
     }
     if (value instanceof Object[])
       return formatObject(asList((Object[]) value));
@@ -63,7 +76,7 @@ public enum InternalUtils {
     if (value instanceof String) {
       String s = (String) value;
       s = summarizeString(s, maxLength);
-      return format("\"%s\"", s);
+      return "\"" + s + "\"";
     }
     if (value instanceof Throwable) {
       Throwable throwable = (Throwable) value;
@@ -134,7 +147,7 @@ public enum InternalUtils {
   }
 
   private static boolean isToStringOverridden(Object object) {
-    return getMethod(object.getClass(), "toString").getDeclaringClass() != Object.class;
+    return TO_STRING_OVERRIDDEN.get(object.getClass());
   }
 
   /**
@@ -273,9 +286,11 @@ public enum InternalUtils {
   }
 
   public static String indent(int level) {
-    return level == 0 ?
-        "" :
-        format("%" + (level * 2) + "s", "");
+    if (level <= 0)
+      return "";
+    char[] spaces = new char[level * 2];
+    Arrays.fill(spaces, ' ');
+    return new String(spaces);
   }
 
   public static String newLine() {
@@ -310,4 +325,22 @@ public enum InternalUtils {
   public static <T> Function<T, T> trivialIdentityFunction() {
     return Functions.identity();
   }
+
+  /**
+   * Returns a compiled pattern for a given `regex`.
+   * Patterns are cached and shared among threads.
+   * The cache holds a limited number of regexes, and it is cleared when it becomes full.
+   *
+   * @param regex A regular expression to be compiled.
+   * @return A compiled pattern.
+   * @throws java.util.regex.PatternSyntaxException `regex` is not a valid regular expression.
+   */
+  public static Pattern compilePattern(String regex) {
+    Pattern ret = PATTERN_CACHE.get(regex);
+    if (ret != null)
+      return ret;
+    if (PATTERN_CACHE.size() >= PATTERN_CACHE_SIZE)
+      PATTERN_CACHE.clear();
+    return PATTERN_CACHE.computeIfAbsent(regex, Pattern::compile);
+  }
 }
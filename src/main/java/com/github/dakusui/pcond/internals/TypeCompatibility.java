@@ -0,0 +1,85 @@
+package com.github.dakusui.pcond.internals;
+
+import java.util.function.BiPredicate;
+
+import static com.github.dakusui.pcond.internals.InternalUtils.wrapperClassOf;
+
+/**
+ * A utility class that answers whether a type is compatible with another, taking boxing and widening conversions
+ * of primitives into account.
+ *
+ * Answers are cached for each pair of types with {@link ClassValue}s, so that asking the same question for
+ * every invocation of a method or a curried function doesn't analyze boxing and widening rules again.
+ */
+public enum TypeCompatibility {
+  ;
+
+  private static final ClassValue<ClassValue<Boolean>> ASSIGNABLE_WITH_BOXING = matrix(TypeCompatibility::computeAssignableWithBoxing);
+  private static final ClassValue<ClassValue<Boolean>> VALID_VALUE_CLASSES    = matrix(TypeCompatibility::computeValidValueClass);
+
+  /**
+   * Returns `true` if a value of type `b` can be assigned to a variable of type `a`, allowing boxing, unboxing, and
+   * widening conversions between primitives and their wrappers.
+   *
+   * @param a A type to which a value is assigned.
+   * @param b A type of a value to be assigned.
+   * @return `true` if assignable.
+   */
+  public static boolean isAssignableWithBoxingFrom(Class<?> a, Class<?> b) {
+    return ASSIGNABLE_WITH_BOXING.get(a).get(b);
+  }
+
+  /**
+   * Returns `true` if a non-`null` value whose class is `valueClass` can be passed to a parameter of `paramType`.
+   * Unlike {@link TypeCompatibility#isAssignableWithBoxingFrom(Class, Class)}, a widening conversion is allowed
+   * only for a primitive `paramType`.
+   *
+   * @param paramType  The type of parameter.
+   * @param valueClass The class of a value.
+   * @return `true` if a value of `valueClass` is valid for `paramType`.
+   */
+  public static boolean isValidValueClassForType(Class<?> paramType, Class<?> valueClass) {
+    return VALID_VALUE_CLASSES.get(paramType).get(valueClass);
+  }
+
+  private static boolean computeAssignableWithBoxing(Class<?> a, Class<?> b) {
+    if (a.isAssignableFrom(b))
+      return true;
+    if (InternalChecks.isPrimitiveWrapperClassOrPrimitive(a) && InternalChecks.isPrimitiveWrapperClassOrPrimitive(b))
+      return InternalChecks.isWiderThanOrEqualTo(toWrapperIfPrimitive(a), toWrapperIfPrimitive(b));
+    return false;
+  }
+
+  private static boolean computeValidValueClass(Class<?> paramType, Class<?> valueClass) {
+    if (paramType.isPrimitive()) {
+      if (InternalChecks.isPrimitiveWrapperClassOrPrimitive(valueClass)) {
+        Class<?> wrapperClassForParamType = wrapperClassOf(paramType);
+        if (wrapperClassForParamType.equals(valueClass))
+          return true;
+        return InternalChecks.isWiderThan(wrapperClassForParamType, valueClass);
+      }
+      return false;
+    }
+    return paramType.isAssignableFrom(valueClass);
+  }
+
+  private static Class<?> toWrapperIfPrimitive(Class<?> in) {
+    if (in.isPrimitive())
+      return wrapperClassOf(in);
+    return in;
+  }
+
+  private static ClassValue<ClassValue<Boolean>> matrix(BiPredicate<Class<?>, Class<?>> relation) {
+    return new ClassValue<ClassValue<Boolean>>() {
+      @Override
+      protected ClassValue<Boolean> computeValue(Class<?> to) {
+        return new ClassValue<Boolean>() {
+          @Override
+          protected Boolean computeValue(Class<?> from) {
+            return relation.test(to, from);
+          }
+        };
+      }
+    };
+  }
+}
@@ -4,10 +4,17 @@ import com.github.dakusui.pcond.validator.exceptions.PostconditionViolationExcep
 import com.github.dakusui.pcond.validator.exceptions.PreconditionViolationException;
 import com.github.dakusui.pcond.validator.exceptions.ValidationException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
-import static com.github.dakusui.pcond.validator.ExceptionComposer.Utils.createException;
 import static com.github.dakusui.pcond.validator.Explanation.reportToString;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Objects.requireNonNull;
 
 /**
  * An interface to define how an exception is composed based on a given message,
@@ -156,6 +163,21 @@ public interface ExceptionComposer {
      * @return A composed exception.
      */
     Throwable exceptionForGeneralViolation(String message);
+
+    /**
+     * A method to compose an exception for a general violation, whose message is rendered by `messageSupplier`.
+     * This method is used when nothing but the type of the exception may be of the caller's interest, and it allows
+     * the composed exception to render its message only when it is accessed.
+     *
+     * This method by default, renders the message immediately and calls {@link Base#exceptionForGeneralViolation(String)}.
+     * If you override the method, the message is rendered eagerly unless you override this method, too.
+     *
+     * @param messageSupplier A supplier of a message attached to the composed exception.
+     * @return A composed exception.
+     */
+    default Throwable exceptionForGeneralViolation(Supplier<String> messageSupplier) {
+      return exceptionForGeneralViolation(messageSupplier.get());
+    }
   }
 
   interface ForRequire extends Base {
@@ -168,10 +190,43 @@ public interface ExceptionComposer {
 
     @SuppressWarnings("unused") // Referenced reflectively
     class Default implements ForRequire {
+      private final boolean captureStackTrace;
+
+      /**
+       * Creates an object which composes {@link PreconditionViolationException}s with their stack traces captured.
+       */
+      public Default() {
+        this(true);
+      }
+
+      /**
+       * Creates an object which composes {@link PreconditionViolationException}s.
+       * If `captureStackTrace` is `false`, their stack traces are not captured, which makes composing
+       * them much cheaper when a lot of values are rejected and nobody looks at the stack traces.
+       *
+       * @param captureStackTrace Whether stack traces of composed exceptions are captured.
+       * @see Validator.Configuration#captureStackTrace()
+       */
+      public Default(boolean captureStackTrace) {
+        this.captureStackTrace = captureStackTrace;
+      }
+
       @Override
       public Throwable exceptionForIllegalArgument(String message) {
         return new IllegalArgumentException(message);
       }
+
+      @Override
+      public Throwable exceptionForGeneralViolation(String message) {
+        return captureStackTrace ?
+            ForRequire.super.exceptionForGeneralViolation(message) :
+            new PreconditionViolationException(message, false);
+      }
+
+      @Override
+      public Throwable exceptionForGeneralViolation(Supplier<String> messageSupplier) {
+        return new PreconditionViolationException(messageSupplier, captureStackTrace);
+      }
     }
   }
 
@@ -183,6 +238,38 @@ public interface ExceptionComposer {
 
     @SuppressWarnings("unused") // Referenced reflectively
     class Default implements ForEnsure {
+      private final boolean captureStackTrace;
+
+      /**
+       * Creates an object which composes {@link PostconditionViolationException}s with their stack traces captured.
+       */
+      public Default() {
+        this(true);
+      }
+
+      /**
+       * Creates an object which composes {@link PostconditionViolationException}s.
+       * If `captureStackTrace` is `false`, their stack traces are not captured, which makes composing
+       * them much cheaper when a lot of values are rejected and nobody looks at the stack traces.
+       *
+       * @param captureStackTrace Whether stack traces of composed exceptions are captured.
+       * @see Validator.Configuration#captureStackTrace()
+       */
+      public Default(boolean captureStackTrace) {
+        this.captureStackTrace = captureStackTrace;
+      }
+
+      @Override
+      public Throwable exceptionForGeneralViolation(String message) {
+        return captureStackTrace ?
+            ForEnsure.super.exceptionForGeneralViolation(message) :
+            new PostconditionViolationException(message, false);
+      }
+
+      @Override
+      public Throwable exceptionForGeneralViolation(Supplier<String> messageSupplier) {
+        return new PostconditionViolationException(messageSupplier, captureStackTrace);
+      }
     }
   }
 
@@ -198,6 +285,38 @@ public interface ExceptionComposer {
 
     @SuppressWarnings("unused") // Referenced reflectively
     class Default implements ForValidate {
+      private final boolean captureStackTrace;
+
+      /**
+       * Creates an object which composes {@link ValidationException}s with their stack traces captured.
+       */
+      public Default() {
+        this(true);
+      }
+
+      /**
+       * Creates an object which composes {@link ValidationException}s.
+       * If `captureStackTrace` is `false`, their stack traces are not captured, which makes composing
+       * them much cheaper when a lot of values are rejected and nobody looks at the stack traces.
+       *
+       * @param captureStackTrace Whether stack traces of composed exceptions are captured.
+       * @see Validator.Configuration#captureStackTrace()
+       */
+      public Default(boolean captureStackTrace) {
+        this.captureStackTrace = captureStackTrace;
+      }
+
+      @Override
+      public Throwable exceptionForGeneralViolation(String message) {
+        return captureStackTrace ?
+            ForValidate.super.exceptionForGeneralViolation(message) :
+            new ValidationException(message, false);
+      }
+
+      @Override
+      public Throwable exceptionForGeneralViolation(Supplier<String> messageSupplier) {
+        return new ValidationException(messageSupplier, captureStackTrace);
+      }
     }
   }
 
@@ -230,39 +349,37 @@ public interface ExceptionComposer {
 
     @SuppressWarnings("unused") // Referenced reflectively
     class JUnit4 implements ForTestAssertion {
+      private final Utils.ExceptionConstructor assumptionViolatedException = new Utils.ExceptionConstructor("org.junit.AssumptionViolatedException", String.class);
+      private final Utils.ExceptionConstructor comparisonFailure           = new Utils.ExceptionConstructor("org.junit.ComparisonFailure", String.class, String.class, String.class);
+
       @SuppressWarnings("unchecked")
       @Override
       public <T extends RuntimeException> T testSkippedException(String message, ReportComposer reportComposer) {
-        throw (T) createException(
-            "org.junit.AssumptionViolatedException",
-            reportComposer.explanationFromMessage(message),
-            (c, exp) -> c.getConstructor(String.class).newInstance(exp.message()));
+        throw (T) assumptionViolatedException.create(reportComposer.explanationFromMessage(message).message());
       }
 
       @SuppressWarnings("unchecked")
       @Override
       public <T extends Error> T testFailedException(Explanation explanation, ReportComposer reportComposer) {
-        throw (T) createException(
-            "org.junit.ComparisonFailure",
-            explanation,
-            (c, exp) -> c.getConstructor(String.class, String.class, String.class).newInstance(exp.message(), reportToString(exp.expected()), reportToString(exp.actual())));
+        throw (T) comparisonFailure.create(explanation.message(), reportToString(explanation.expected()), reportToString(explanation.actual()));
       }
     }
 
     @SuppressWarnings("unused") // Referenced reflectively
     class Opentest4J implements ForTestAssertion {
+      private final Utils.ExceptionConstructor testSkippedException = new Utils.ExceptionConstructor("org.opentest4j.TestSkippedException", String.class);
+      private final Utils.ExceptionConstructor assertionFailedError = new Utils.ExceptionConstructor("org.opentest4j.AssertionFailedError", String.class, Object.class, Object.class);
+
       @SuppressWarnings("unchecked")
       @Override
       public <T extends RuntimeException> T testSkippedException(String message, ReportComposer reportComposer) {
-        throw (T) createException("org.opentest4j.TestSkippedException", reportComposer.explanationFromMessage(message), (c, exp) ->
-            c.getConstructor(String.class).newInstance(exp.message()));
+        throw (T) testSkippedException.create(reportComposer.explanationFromMessage(message).message());
       }
 
       @SuppressWarnings("unchecked")
       @Override
       public <T extends Error> T testFailedException(Explanation explanation, ReportComposer reportComposer) {
-        throw (T) createException("org.opentest4j.AssertionFailedError", explanation, (c, exp) ->
-            c.getConstructor(String.class, Object.class, Object.class).newInstance(exp.message(), reportToString(exp.expected()), reportToString(exp.actual())));
+        throw (T) assertionFailedError.create(explanation.message(), reportToString(explanation.expected()), reportToString(explanation.actual()));
       }
     }
   }
@@ -270,15 +387,51 @@ public interface ExceptionComposer {
   enum Utils {
     ;
 
+    /**
+     * Classes looked up by their names.
+     * Since `Class.forName(String)` resolves a class with the class loader of the caller, which is fixed for this
+     * class, the results are cached for each class loader that loads this library.
+     */
+    private static final Map<String, Optional<Class<?>>> CLASSES = new ConcurrentHashMap<>();
+
     @SuppressWarnings("unchecked")
     public static <T extends Throwable> T createException(String className, Explanation explanation, ReflectiveExceptionFactory<T> reflectiveExceptionFactory) {
+      return reflectiveExceptionFactory.apply((Class<T>) classForName(className), explanation);
+    }
+
+    /**
+     * Returns `true` if a class of the given name is present.
+     * The answer is looked up only once.
+     *
+     * @param className The name of a class.
+     * @return `true` if the class is present.
+     */
+    public static boolean isClassPresent(String className) {
+      return findClass(className).isPresent();
+    }
+
+    static Class<?> classForName(String className) {
+      Optional<Class<?>> ret = findClass(className);
+      if (ret.isPresent())
+        return ret.get();
       try {
-        return reflectiveExceptionFactory.apply((Class<T>) Class.forName(className), explanation);
+        // Looked up again only to report the cause.
+        return Class.forName(className);
       } catch (ClassNotFoundException e) {
         throw new RuntimeException("FAILED TO INSTANTIATE EXCEPTION: '" + className + "' (NOT FOUND)", e);
       }
     }
 
+    private static Optional<Class<?>> findClass(String className) {
+      return CLASSES.computeIfAbsent(className, n -> {
+        try {
+          return Optional.of(Class.forName(n));
+        } catch (ClassNotFoundException e) {
+          return Optional.empty();
+        }
+      });
+    }
+
     @FunctionalInterface
     public
     interface ReflectiveExceptionFactory<T extends Throwable> {
@@ -293,5 +446,52 @@ public interface ExceptionComposer {
         }
       }
     }
+
+    /**
+     * A constructor of an exception class, which is looked up by the name of the class only once, when it is used first.
+     * The constructor is called through a `MethodHandle` afterwards.
+     * Looking up the constructor lazily allows a composer to be created even when the class is not present.
+     */
+    public static final class ExceptionConstructor {
+      private final    String       className;
+      private final    Class<?>[]   parameterTypes;
+      private volatile MethodHandle constructor;
+
+      public ExceptionConstructor(String className, Class<?>... parameterTypes) {
+        this.className = requireNonNull(className);
+        this.parameterTypes = parameterTypes.clone();
+      }
+
+      /**
+       * Creates an exception by calling the constructor with the given `args`.
+       *
+       * @param args Arguments passed to the constructor.
+       * @return A created exception.
+       */
+      public Throwable create(Object... args) {
+        MethodHandle constructor = constructor();
+        try {
+          return (Throwable) constructor.invokeExact(args);
+        } catch (Throwable e) {
+          throw new RuntimeException("FAILED TO INSTANTIATE EXCEPTION: '" + className + "'", e);
+        }
+      }
+
+      private MethodHandle constructor() {
+        MethodHandle ret = this.constructor;
+        if (ret == null) {
+          Class<?> c = classForName(className);
+          try {
+            ret = this.constructor = MethodHandles.publicLookup()
+                .findConstructor(c, methodType(void.class, parameterTypes))
+                .asType(methodType(Throwable.class, parameterTypes))
+                .asSpreader(Object[].class, parameterTypes.length);
+          } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException("FAILED TO INSTANTIATE EXCEPTION: '" + c.getCanonicalName() + "'", e);
+          }
+        }
+        return ret;
+      }
+    }
   }
 }
@@ -3,6 +3,7 @@ package com.github.dakusui.pcond.validator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import static com.github.dakusui.pcond.internals.InternalUtils.newLine;
@@ -26,6 +27,12 @@ public class Explanation {
     this.actual = requireNonNull(actual);
   }
 
+  private Explanation() {
+    this.message = null;
+    this.expected = null;
+    this.actual = null;
+  }
+
   public String message() {
     return this.message;
   }
@@ -102,6 +109,19 @@ public class Explanation {
     return new Explanation(msg);
   }
 
+  /**
+   * Returns an explanation, which is composed by `explanationSupplier` when any of its methods is called for the first time.
+   * The composed explanation is memoized.
+   *
+   * Note that the values held by the explanation are rendered at that moment, not when this method is called.
+   *
+   * @param explanationSupplier A supplier that composes an explanation.
+   * @return An explanation composed on demand.
+   */
+  public static Explanation lazy(Supplier<Explanation> explanationSupplier) {
+    return new Lazy(explanationSupplier);
+  }
+
   private static String[] splitAndTrim(String expected) {
     String[] in = expected.split(newLine());
     List<String> out = new LinkedList<>();
@@ -114,4 +134,47 @@ public class Explanation {
     }
     return out.toArray(new String[0]);
   }
+
+  private static final class Lazy extends Explanation {
+    private          Supplier<Explanation> explanationSupplier;
+    private volatile Explanation           explanation;
+
+    private Lazy(Supplier<Explanation> explanationSupplier) {
+      this.explanationSupplier = requireNonNull(explanationSupplier);
+    }
+
+    @Override
+    public String message() {
+      return explanation().message();
+    }
+
+    @Override
+    public ReportComposer.Report expected() {
+      return explanation().expected();
+    }
+
+    @Override
+    public ReportComposer.Report actual() {
+      return explanation().actual();
+    }
+
+    @Override
+    public String toString() {
+      return explanation().toString();
+    }
+
+    private Explanation explanation() {
+      Explanation ret = this.explanation;
+      if (ret == null) {
+        synchronized (this) {
+          ret = this.explanation;
+          if (ret == null) {
+            ret = this.explanation = requireNonNull(this.explanationSupplier.get());
+            this.explanationSupplier = null;
+          }
+        }
+      }
+      return ret;
+    }
+  }
 }
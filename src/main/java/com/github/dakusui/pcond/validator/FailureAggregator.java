@@ -0,0 +1,298 @@
+package com.github.dakusui.pcond.validator;
+
+import com.github.dakusui.pcond.core.EvaluationEntry;
+import com.github.dakusui.pcond.core.printable.StructuralKey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Aggregates repeated failures of checks performed by a {@link Validator}, so that a flood of identical violations
+ * doesn't compose a full report for each of them.
+ *
+ * Failures are considered the same if they are failures of the same predicate, identified in the same way as
+ * {@link PredicateMetrics} does (see {@link StructuralKey}), at the same failing leaves, and for
+ * inputs of the same class.
+ * For each kind of failures, full reports are composed for the first `maxReportsPerWindow` occurrences in a time window.
+ * After that, until the window ends, an exception is created from a short message, which refers to the last full report
+ * by its id and tells how many times the failure has occurred.
+ * The full reports can be looked up through {@link FailureAggregator#snapshot()}.
+ *
+ * Counters are updated without locks.
+ * A window starts when a failure occurs after the previous one of the same kind ended, and the counts are reset
+ * without synchronization with the threads recording failures, so the number of full reports in a window is
+ * approximate under contention.
+ *
+ * The number of kinds of failures is bounded.
+ * Once it is reached, kinds whose windows have expired, that is, which have not occurred since their last windows
+ * ended, are evicted, at most once in a window.
+ * If no room is made, full reports are composed for failures of kinds not seen before.
+ *
+ * Install an instance by {@link Validator.Configuration.Builder#failureAggregator(FailureAggregator)}.
+ */
+public final class FailureAggregator {
+  private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong                nextId  = new AtomicLong(0);
+  private final AtomicLong                lastEviction;
+  private final int                       maxReportsPerWindow;
+  private final long                      windowNanos;
+  private final int                       maxEntries;
+
+  /**
+   * Creates an instance.
+   *
+   * @param maxReportsPerWindow The number of failures of a kind, for which full reports are composed in a time window.
+   * @param windowNanos         The length of a time window in nanoseconds.
+   * @param maxEntries          The maximum number of kinds of failures to be aggregated.
+   */
+  public FailureAggregator(int maxReportsPerWindow, long windowNanos, int maxEntries) {
+    if (maxReportsPerWindow <= 0)
+      throw new IllegalArgumentException("maxReportsPerWindow must be positive: " + maxReportsPerWindow);
+    if (windowNanos <= 0)
+      throw new IllegalArgumentException("windowNanos must be positive: " + windowNanos);
+    if (maxEntries <= 0)
+      throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+    this.maxReportsPerWindow = maxReportsPerWindow;
+    this.windowNanos = windowNanos;
+    this.maxEntries = maxEntries;
+    this.lastEviction = new AtomicLong(System.nanoTime());
+  }
+
+  /**
+   * Records a failure of `predicate` for `value` and returns an explanation of it.
+   * If full reports have already been composed for the failures of the same kind as many times as allowed in
+   * the current window, an explanation which only has a short message is returned.
+   * Otherwise, an explanation composed by `explanationComposer` is returned.
+   * It is composed and rendered right away, since the rendered report is kept as the last one of its kind, and
+   * the values it refers to may change later.
+   *
+   * @param predicate           A predicate that `value` didn't satisfy.
+   * @param value               A value that didn't satisfy `predicate`.
+   * @param evaluationEntries   Evaluation entries recorded while `value` was evaluated.
+   * @param messageComposer     A supplier of a message for the failure.
+   * @param explanationComposer A supplier which composes a full explanation.
+   * @return An explanation of the failure.
+   */
+  public Explanation explanationFor(
+      Predicate<?> predicate,
+      Object value,
+      List<EvaluationEntry> evaluationEntries,
+      Supplier<String> messageComposer,
+      Supplier<Explanation> explanationComposer) {
+    long now = System.nanoTime();
+    Entry entry = entryFor(new Key(PredicateMetrics.keyOf(predicate), failingLeafPath(evaluationEntries), value == null ? null : value.getClass()), predicate, now);
+    if (entry == null)
+      return Explanation.lazy(explanationComposer);
+    if (entry.record(now)) {
+      Explanation ret = explanationComposer.get();
+      entry.lastReport = ret.toString();
+      return ret;
+    }
+    return Explanation.fromMessage(format("%s%n(Report omitted: the same failure as report #%s has occurred %s times)",
+        messageComposer.get(),
+        entry.id,
+        entry.occurrences.sum()));
+  }
+
+  /**
+   * Returns snapshots of all the kinds of failures, sorted by the number of occurrences in descending order.
+   *
+   * @return Snapshots of the kinds of failures.
+   */
+  public List<Snapshot> snapshot() {
+    List<Snapshot> ret = new ArrayList<>(this.entries.size());
+    this.entries.values().forEach(each -> ret.add(new Snapshot(each.id, each.name, each.occurrences.sum(), each.omitted.sum(), each.lastReport)));
+    ret.sort(Comparator.comparingLong(Snapshot::occurrences).reversed());
+    return unmodifiableList(ret);
+  }
+
+  /**
+   * Removes all the kinds of failures.
+   */
+  public void reset() {
+    this.entries.clear();
+  }
+
+  private Entry entryFor(Key key, Predicate<?> predicate, long now) {
+    Entry ret = this.entries.get(key);
+    if (ret != null)
+      return ret;
+    if (this.entries.size() >= this.maxEntries && !evictExpiredEntries(now))
+      return null;
+    return this.entries.computeIfAbsent(key, k -> new Entry(this.nextId.incrementAndGet(), String.valueOf(predicate), this.maxReportsPerWindow, this.windowNanos));
+  }
+
+  /**
+   * Removes entries whose windows have expired and returns `true` if there is room for a new entry after that.
+   * Since it scans all the entries, it is done at most once in a window, by the thread which wins the race.
+   */
+  private boolean evictExpiredEntries(long now) {
+    long last = this.lastEviction.get();
+    if (now - last < this.windowNanos || !this.lastEviction.compareAndSet(last, now))
+      return false;
+    this.entries.values().removeIf(each -> each.isExpired(now));
+    return this.entries.size() < this.maxEntries;
+  }
+
+  /**
+   * Returns levels and names of the forms that need explanations, which are the failing leaves and the functions
+   * that threw exceptions.
+   */
+  private static String failingLeafPath(List<EvaluationEntry> evaluationEntries) {
+    StringBuilder b = new StringBuilder();
+    for (EvaluationEntry each : evaluationEntries) {
+      if (each.requiresExplanation())
+        b.append(each.level()).append(':').append(each.formName()).append('/');
+    }
+    return b.toString();
+  }
+
+  private static final class Key {
+    private final Object   predicate;
+    private final String   failingLeafPath;
+    private final Class<?> inputClass;
+    private final int      hashCode;
+
+    private Key(Object predicate, String failingLeafPath, Class<?> inputClass) {
+      this.predicate = predicate;
+      this.failingLeafPath = failingLeafPath;
+      this.inputClass = inputClass;
+      this.hashCode = Objects.hash(predicate, failingLeafPath, inputClass);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(Object anotherObject) {
+      if (this == anotherObject)
+        return true;
+      if (!(anotherObject instanceof Key))
+        return false;
+      Key another = (Key) anotherObject;
+      return this.hashCode == another.hashCode &&
+          Objects.equals(this.predicate, another.predicate) &&
+          this.failingLeafPath.equals(another.failingLeafPath) &&
+          this.inputClass == another.inputClass;
+    }
+  }
+
+  private static final class Entry {
+    private final    long        id;
+    private final    String      name;
+    private final    int         maxReportsPerWindow;
+    private final    long        windowNanos;
+    private final    AtomicLong  windowStart;
+    private final    AtomicLong  reportsInWindow = new AtomicLong(0);
+    private final    LongAdder   occurrences     = new LongAdder();
+    private final    LongAdder   omitted         = new LongAdder();
+    private volatile String      lastReport;
+
+    private Entry(long id, String name, int maxReportsPerWindow, long windowNanos) {
+      this.id = id;
+      this.name = requireNonNull(name);
+      this.maxReportsPerWindow = maxReportsPerWindow;
+      this.windowNanos = windowNanos;
+      this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Records an occurrence and returns `true` if a full report should be composed for it.
+     */
+    private boolean record(long now) {
+      this.occurrences.increment();
+      long start = this.windowStart.get();
+      if (now - start >= this.windowNanos && this.windowStart.compareAndSet(start, now))
+        this.reportsInWindow.set(0);
+      if (this.reportsInWindow.incrementAndGet() <= this.maxReportsPerWindow)
+        return true;
+      this.omitted.increment();
+      return false;
+    }
+
+    /**
+     * Returns `true` if this kind of failures has not occurred since its last window ended.
+     */
+    private boolean isExpired(long now) {
+      return now - this.windowStart.get() >= this.windowNanos;
+    }
+  }
+
+  /**
+   * An immutable snapshot of a kind of failures.
+   */
+  public static final class Snapshot {
+    private final long        id;
+    private final String      name;
+    private final long        occurrences;
+    private final long        omitted;
+    private final String      lastReport;
+
+    private Snapshot(long id, String name, long occurrences, long omitted, String lastReport) {
+      this.id = id;
+      this.name = name;
+      this.occurrences = occurrences;
+      this.omitted = omitted;
+      this.lastReport = lastReport;
+    }
+
+    /**
+     * Returns the id of this kind of failures, by which a short message refers to the report.
+     *
+     * @return The id.
+     */
+    public long id() {
+      return this.id;
+    }
+
+    /**
+     * Returns the string representation of the predicate which failed.
+     *
+     * @return The name of the predicate.
+     */
+    public String name() {
+      return this.name;
+    }
+
+    public long occurrences() {
+      return this.occurrences;
+    }
+
+    /**
+     * Returns the number of failures for which full reports were omitted.
+     *
+     * @return The number of omitted reports.
+     */
+    public long omitted() {
+      return this.omitted;
+    }
+
+    /**
+     * Returns the last full report composed for this kind of failures.
+     *
+     * @return The last full report.
+     */
+    public String lastReport() {
+      return this.lastReport;
+    }
+
+    @Override
+    public String toString() {
+      return format("#%s %s: occurrences=%s, omitted=%s", this.id, this.name, this.occurrences, this.omitted);
+    }
+  }
+}
@@ -0,0 +1,385 @@
+package com.github.dakusui.pcond.validator;
+
+import com.github.dakusui.pcond.core.EvaluableIo;
+import com.github.dakusui.pcond.core.EvaluationContext;
+import com.github.dakusui.pcond.core.EvaluationEntry;
+import com.github.dakusui.pcond.core.EvaluationListener;
+import com.github.dakusui.pcond.core.identifieable.Identifiable;
+import com.github.dakusui.pcond.core.printable.StructuralKey;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects runtime metrics of predicates checked by a {@link Validator}.
+ *
+ * For each top-level predicate, the number of checks, the number of failures, and a latency histogram are kept.
+ * Predicates are identified by {@link Identifiable#identityObject()}, so a form created again
+ * with the same arguments (e.g., `and(isNotNull(), isEmptyString())` written inline) is counted
+ * in the same entry.
+ * Forms created by `Printables.predicate(name, predicate)` and `Printables.function(name, function)` are told apart
+ * by their names and the classes of the predicates and functions they wrap (see {@link StructuralKey}).
+ * A predicate which is not {@link Identifiable} is identified by itself.
+ * The name of an entry is the string representation of the predicate which created it.
+ *
+ * Counters are {@link LongAdder}s, which don't block each other even if updated by many threads at once.
+ * A latency histogram has a bucket for each power of two nanoseconds.
+ *
+ * The number of entries is bounded.
+ * Once it is reached, checks of predicates not seen before are counted in a single entry named {@link PredicateMetrics#OVERFLOW_ENTRY_NAME}.
+ *
+ * If `leafBreakdown` is enabled, evaluations of each leaf predicate are counted in the entry of its top-level predicate as well.
+ * Note that leaves are counted only when a value is evaluated by an {@link com.github.dakusui.pcond.core.Evaluator},
+ * that is, when the value fails or the fast-pass mode is disabled.
+ *
+ * Install an instance by {@link Validator.Configuration.Builder#metrics(PredicateMetrics)} and read it through {@link PredicateMetrics#snapshot()}.
+ */
+public final class PredicateMetrics {
+  /**
+   * The name of the entry in which checks beyond the maximum number of entries are counted.
+   */
+  public static final String OVERFLOW_ENTRY_NAME = "(others)";
+
+  private static final int NUM_BUCKETS = 64;
+
+  private final ConcurrentMap<Object, Entry> entries = new ConcurrentHashMap<>();
+  private final Entry                        overflowEntry;
+  private final int                          maxEntries;
+  private final boolean                      leafBreakdown;
+
+  /**
+   * Creates an instance.
+   *
+   * @param maxEntries    The maximum number of entries for top-level predicates.
+   * @param leafBreakdown `true` if evaluations of leaf predicates should also be counted.
+   */
+  public PredicateMetrics(int maxEntries, boolean leafBreakdown) {
+    if (maxEntries <= 0)
+      throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+    this.maxEntries = maxEntries;
+    this.leafBreakdown = leafBreakdown;
+    this.overflowEntry = new Entry(OVERFLOW_ENTRY_NAME, maxEntries);
+  }
+
+  /**
+   * Returns an entry for the given top-level predicate.
+   * If it is not found, a new one is created as long as the number of entries is less than the maximum.
+   *
+   * @param predicate A top-level predicate.
+   * @return An entry for the `predicate`.
+   */
+  public Entry entryFor(Predicate<?> predicate) {
+    Object key = keyOf(predicate);
+    Entry ret = this.entries.get(key);
+    if (ret != null)
+      return ret;
+    if (this.entries.size() >= this.maxEntries)
+      return this.overflowEntry;
+    return this.entries.computeIfAbsent(key, k -> new Entry(String.valueOf(predicate), this.maxEntries));
+  }
+
+  /**
+   * Returns `true` if evaluations of leaf predicates are counted.
+   *
+   * @return `true` if evaluations of leaf predicates are counted.
+   */
+  public boolean leafBreakdown() {
+    return this.leafBreakdown;
+  }
+
+  /**
+   * Returns snapshots of all the entries, sorted by the number of checks in descending order.
+   *
+   * @return Snapshots of the entries.
+   */
+  public List<Snapshot> snapshot() {
+    List<Snapshot> ret = new ArrayList<>(this.entries.size() + 1);
+    this.entries.values().forEach(each -> ret.add(each.snapshot()));
+    if (this.overflowEntry.invocations.sum() > 0)
+      ret.add(this.overflowEntry.snapshot());
+    ret.sort(Comparator.comparingLong(Snapshot::invocations).reversed());
+    return unmodifiableList(ret);
+  }
+
+  /**
+   * Removes all the entries.
+   */
+  public void reset() {
+    this.entries.clear();
+    this.overflowEntry.reset();
+  }
+
+  /**
+   * Returns a key of a predicate, which is cached in a `PrintablePredicate`, so that it costs nothing but a field read.
+   *
+   * @see StructuralKey
+   */
+  static Object keyOf(Object object) {
+    return StructuralKey.of(object);
+  }
+
+  private static int bucketOf(long nanos) {
+    return nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+  }
+
+  /**
+   * Counters of a top-level predicate.
+   */
+  public static final class Entry {
+    private final String                           name;
+    private final int                              maxLeafEntries;
+    private final LongAdder                        invocations = new LongAdder();
+    private final LongAdder                        failures    = new LongAdder();
+    private final LongAdder                        totalNanos  = new LongAdder();
+    private final LongAccumulator                  maxNanos    = new LongAccumulator(Math::max, 0);
+    private final LongAdder[]                      buckets     = new LongAdder[NUM_BUCKETS];
+    private final ConcurrentMap<Object, LeafEntry> leaves      = new ConcurrentHashMap<>();
+
+    Entry(String name, int maxLeafEntries) {
+      this.name = requireNonNull(name);
+      this.maxLeafEntries = maxLeafEntries;
+      for (int i = 0; i < NUM_BUCKETS; i++)
+        this.buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records a check of the predicate of this entry.
+     *
+     * @param elapsedNanos Time spent for the check in nanoseconds.
+     * @param passed       `true` if the value satisfied the predicate.
+     */
+    public void record(long elapsedNanos, boolean passed) {
+      this.invocations.increment();
+      if (!passed)
+        this.failures.increment();
+      this.totalNanos.add(elapsedNanos);
+      this.maxNanos.accumulate(elapsedNanos);
+      this.buckets[bucketOf(elapsedNanos)].increment();
+    }
+
+    /**
+     * Returns a listener which counts results of leaf predicates in this entry and then
+     * notifies `evaluationListener`.
+     *
+     * @param evaluationListener A listener to be notified after counting.
+     * @return A listener.
+     */
+    public EvaluationListener evaluationListener(EvaluationListener evaluationListener) {
+      requireNonNull(evaluationListener);
+      return new EvaluationListener() {
+        @Override
+        public <T> void enter(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+          evaluationListener.enter(evaluationContext, type, evaluableIo);
+        }
+
+        @Override
+        public <T> void leave(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+          evaluationListener.leave(evaluationContext, type, evaluableIo);
+        }
+
+        @Override
+        public <T> void leafResult(EvaluationContext<T> evaluationContext, EvaluableIo<T, ?, ?> evaluableIo) {
+          recordLeaf(evaluableIo);
+          evaluationListener.leafResult(evaluationContext, evaluableIo);
+        }
+      };
+    }
+
+    private void recordLeaf(EvaluableIo<?, ?, ?> evaluableIo) {
+      Object key = keyOf(evaluableIo.evaluable());
+      LeafEntry leafEntry = this.leaves.get(key);
+      if (leafEntry == null) {
+        if (this.leaves.size() >= this.maxLeafEntries)
+          return;
+        leafEntry = this.leaves.computeIfAbsent(key, k -> new LeafEntry(String.valueOf(evaluableIo.evaluable())));
+      }
+      leafEntry.record(evaluableIo);
+    }
+
+    private void reset() {
+      this.invocations.reset();
+      this.failures.reset();
+      this.totalNanos.reset();
+      this.maxNanos.reset();
+      for (LongAdder each : this.buckets)
+        each.reset();
+      this.leaves.clear();
+    }
+
+    private Snapshot snapshot() {
+      long[] buckets = new long[NUM_BUCKETS];
+      for (int i = 0; i < NUM_BUCKETS; i++)
+        buckets[i] = this.buckets[i].sum();
+      Map<String, LeafSnapshot> leaves = new LinkedHashMap<>();
+      this.leaves.values().forEach(each -> leaves.merge(each.name, each.snapshot(), LeafSnapshot::merge));
+      return new Snapshot(
+          this.name,
+          this.invocations.sum(),
+          this.failures.sum(),
+          this.totalNanos.sum(),
+          this.maxNanos.get(),
+          buckets,
+          unmodifiableMap(leaves));
+    }
+  }
+
+  private static final class LeafEntry {
+    private final String    name;
+    private final LongAdder passed     = new LongAdder();
+    private final LongAdder failed     = new LongAdder();
+    private final LongAdder exceptions = new LongAdder();
+
+    private LeafEntry(String name) {
+      this.name = name;
+    }
+
+    private void record(EvaluableIo<?, ?, ?> evaluableIo) {
+      if (!evaluableIo.output().isValueReturned())
+        this.exceptions.increment();
+      else if (Objects.equals(true, evaluableIo.output().returnedValue()))
+        this.passed.increment();
+      else
+        this.failed.increment();
+    }
+
+    private LeafSnapshot snapshot() {
+      return new LeafSnapshot(this.passed.sum(), this.failed.sum(), this.exceptions.sum());
+    }
+  }
+
+  /**
+   * An immutable snapshot of an entry for a top-level predicate.
+   */
+  public static final class Snapshot {
+    private final String                    name;
+    private final long                      invocations;
+    private final long                      failures;
+    private final long                      totalNanos;
+    private final long                      maxNanos;
+    private final long[]                    buckets;
+    private final Map<String, LeafSnapshot> leaves;
+
+    private Snapshot(String name, long invocations, long failures, long totalNanos, long maxNanos, long[] buckets, Map<String, LeafSnapshot> leaves) {
+      this.name = name;
+      this.invocations = invocations;
+      this.failures = failures;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+      this.buckets = buckets;
+      this.leaves = leaves;
+    }
+
+    public String name() {
+      return this.name;
+    }
+
+    public long invocations() {
+      return this.invocations;
+    }
+
+    public long failures() {
+      return this.failures;
+    }
+
+    public double failureRate() {
+      return this.invocations == 0 ? 0 : (double) this.failures / this.invocations;
+    }
+
+    public long totalNanos() {
+      return this.totalNanos;
+    }
+
+    public long maxNanos() {
+      return this.maxNanos;
+    }
+
+    /**
+     * Returns the number of checks which took `2^i` nanoseconds or longer and shorter than `2^(i+1)` nanoseconds.
+     *
+     * @param i The index of a bucket.
+     * @return The number of checks in the bucket.
+     */
+    public long bucket(int i) {
+      return this.buckets[i];
+    }
+
+    /**
+     * Returns an upper bound of the latency at the given percentile, which is accurate up to a factor of two.
+     *
+     * @param percentile A percentile between 0 and 100.
+     * @return An upper bound of the latency in nanoseconds.
+     */
+    public long percentileNanos(double percentile) {
+      long threshold = (long) Math.ceil(this.invocations * percentile / 100);
+      long count = 0;
+      for (int i = 0; i < NUM_BUCKETS; i++) {
+        count += this.buckets[i];
+        if (count >= threshold && count > 0)
+          return Math.min(i == 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1, this.maxNanos);
+      }
+      return this.maxNanos;
+    }
+
+    /**
+     * Returns counts of leaf predicates keyed by their names.
+     * This is empty unless `leafBreakdown` is enabled.
+     *
+     * @return Counts of leaf predicates.
+     */
+    public Map<String, LeafSnapshot> leaves() {
+      return this.leaves;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s: invocations=%s, failures=%s, mean=%s[nsec], p99<=%s[nsec], max=%s[nsec]",
+          this.name, this.invocations, this.failures,
+          this.invocations == 0 ? 0 : this.totalNanos / this.invocations,
+          percentileNanos(99), this.maxNanos);
+    }
+  }
+
+  /**
+   * An immutable snapshot of counts of a leaf predicate.
+   */
+  public static final class LeafSnapshot {
+    private final long passed;
+    private final long failed;
+    private final long exceptions;
+
+    private LeafSnapshot(long passed, long failed, long exceptions) {
+      this.passed = passed;
+      this.failed = failed;
+      this.exceptions = exceptions;
+    }
+
+    public long passed() {
+      return this.passed;
+    }
+
+    public long failed() {
+      return this.failed;
+    }
+
+    public long exceptions() {
+      return this.exceptions;
+    }
+
+    private LeafSnapshot merge(LeafSnapshot another) {
+      return new LeafSnapshot(this.passed + another.passed, this.failed + another.failed, this.exceptions + another.exceptions);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("passed=%s, failed=%s, exceptions=%s", this.passed, this.failed, this.exceptions);
+    }
+  }
+}
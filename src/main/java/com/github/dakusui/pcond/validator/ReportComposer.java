@@ -6,9 +6,6 @@ import com.github.dakusui.pcond.fluent.ValueHolder;
 import com.github.dakusui.pcond.internals.InternalUtils;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static com.github.dakusui.pcond.internals.InternalUtils.*;
@@ -106,6 +103,7 @@ public interface ReportComposer {
   
   enum Utils {
     ;
+    private static final String LINE_SEPARATOR = format("%n");
     
     /**
      * Note that an exception thrown during an evaluation is normally caught by the framework.
@@ -115,23 +113,20 @@ public interface ReportComposer {
      * @return An explanation object.
      */
     public static Explanation composeExplanation(ReportComposer reportComposer, String message, List<EvaluationEntry> evaluationHistory) {
-      List<Object> detailsForExpectation = new LinkedList<>();
-      List<ReportComposer.FormattedEntry> summaryDataForExpectations = squashTrivialEntries(reportComposer, evaluationHistory)
-          .stream()
-          .peek((EvaluationEntry each) -> addToDetailsListIfExplanationIsRequired(reportComposer, detailsForExpectation, each, each::detailOutputExpectation))
-          .map(reportComposer::createFormattedEntryForExpectation)
-          .collect(toList());
-      String textSummaryForExpectations = composeSummaryForExpectations(minimizeIndentation(summaryDataForExpectations));
-      List<Object> detailsForActual = new LinkedList<>();
-      List<ReportComposer.FormattedEntry> summaryForActual = squashTrivialEntries(reportComposer, evaluationHistory)
-          .stream()
-          .peek((EvaluationEntry each) -> addToDetailsListIfExplanationIsRequired(reportComposer, detailsForActual, each, each::detailOutputActualValue))
-          .map(reportComposer::createFormattedEntryForActualValue)
-          .collect(toList());
-      String textSummaryForActualResult = composeSummaryForActualResults(minimizeIndentation(summaryForActual));
+      List<EvaluationEntry> squashedEntries = squashTrivialEntries(reportComposer, evaluationHistory);
+      List<Object> detailsForExpectation = new ArrayList<>();
+      List<ReportComposer.FormattedEntry> summaryDataForExpectations = new ArrayList<>(squashedEntries.size());
+      List<Object> detailsForActual = new ArrayList<>();
+      List<ReportComposer.FormattedEntry> summaryDataForActual = new ArrayList<>(squashedEntries.size());
+      for (EvaluationEntry each : squashedEntries) {
+        addToDetailsListIfExplanationIsRequired(reportComposer, detailsForExpectation, each, each::detailOutputExpectation);
+        summaryDataForExpectations.add(reportComposer.createFormattedEntryForExpectation(each));
+        addToDetailsListIfExplanationIsRequired(reportComposer, detailsForActual, each, each::detailOutputActualValue);
+        summaryDataForActual.add(reportComposer.createFormattedEntryForActualValue(each));
+      }
       return new Explanation(message,
-          composeReport(textSummaryForExpectations, detailsForExpectation),
-          composeReport(textSummaryForActualResult, detailsForActual));
+          composeReport(composeSummary(summaryDataForExpectations), detailsForExpectation),
+          composeReport(composeSummary(summaryDataForActual), detailsForActual));
     }
     
     public static ReportComposer.FormattedEntry createFormattedEntryForExpectation(ReportComposer reportComposer, EvaluationEntry entry) {
@@ -152,62 +147,53 @@ public interface ReportComposer {
           reportComposer.requiresExplanation(entry));
     }
     
-    private static List<FormattedEntry> minimizeIndentation(List<FormattedEntry> summaryForActual) {
-      String minIndent = summaryForActual.stream()
-          .map(e -> e.indent)
-          .min(Comparator.comparingInt(String::length))
-          .orElse("");
-      return summaryForActual.stream()
-          .map(e -> new ReportComposer.FormattedEntry(e.input, e.formName(), e.indent().replaceFirst(minIndent, ""), e.output, e.requiresExplanation()))
-          .collect(toList());
-    }
-    
+    /**
+     * Squashes consecutive entries that can be squashed into one.
+     * Entries whose input is a {@link ValueHolder} are removed.
+     */
     private static List<EvaluationEntry> squashTrivialEntries(ReportComposer reportComposer, List<EvaluationEntry> evaluationHistory) {
       if (evaluationHistory.size() > 1) {
-        List<EvaluationEntry> ret = new LinkedList<>();
-        List<EvaluationEntry> entriesToSquash = new LinkedList<>();
-        AtomicReference<EvaluationEntry> cur = new AtomicReference<>();
-        evaluationHistory.stream()
-            .filter(each -> !each.ignored() || DebuggingUtils.reportIgnoredEntries())
-            .filter(each -> {
-              if (cur.get() != null)
-                return true;
-              else {
-                cur.set(each);
-                return false;
-              }
-            })
-            .forEach(each -> {
-              if (entriesToSquash.isEmpty()) {
-                if (cur.get().isSquashable(each) && !suppressSquashing()) {
-                  entriesToSquash.add(cur.get());
-                } else {
-                  ret.add(cur.get());
-                }
+        List<EvaluationEntry> squashed = new ArrayList<>();
+        List<EvaluationEntry> entriesToSquash = new ArrayList<>();
+        EvaluationEntry cur = null;
+        for (EvaluationEntry each : evaluationHistory) {
+          if (each.ignored() && !DebuggingUtils.reportIgnoredEntries())
+            continue;
+          if (cur != null) {
+            if (entriesToSquash.isEmpty()) {
+              if (cur.isSquashable(each) && !suppressSquashing()) {
+                entriesToSquash.add(cur);
               } else {
-                entriesToSquash.add(cur.get());
-                ret.add(squashEntries(reportComposer, entriesToSquash));
-                entriesToSquash.clear();
+                squashed.add(cur);
               }
-              cur.set(each);
-            });
-        finishLeftOverEntries(reportComposer, ret, entriesToSquash, cur);
-        return ret.stream()
-            .filter(e -> !(e.inputActualValue() instanceof ValueHolder))
-            .collect(toList());
+            } else {
+              entriesToSquash.add(cur);
+              squashed.add(squashEntries(reportComposer, entriesToSquash));
+              entriesToSquash.clear();
+            }
+          }
+          cur = each;
+        }
+        finishLeftOverEntries(reportComposer, squashed, entriesToSquash, cur);
+        List<EvaluationEntry> ret = new ArrayList<>(squashed.size());
+        for (EvaluationEntry each : squashed) {
+          if (!(each.inputActualValue() instanceof ValueHolder))
+            ret.add(each);
+        }
+        return ret;
       } else {
         return new ArrayList<>(evaluationHistory);
       }
     }
     
-    private static void finishLeftOverEntries(ReportComposer reportComposer, List<EvaluationEntry> out, List<EvaluationEntry> leftOverEntriesToSquash, AtomicReference<EvaluationEntry> leftOver) {
-      if (!leftOverEntriesToSquash.isEmpty() && leftOverEntriesToSquash.get(leftOverEntriesToSquash.size() - 1).isSquashable(leftOver.get()) && !suppressSquashing()) {
-        leftOverEntriesToSquash.add(leftOver.get());
+    private static void finishLeftOverEntries(ReportComposer reportComposer, List<EvaluationEntry> out, List<EvaluationEntry> leftOverEntriesToSquash, EvaluationEntry leftOver) {
+      if (!leftOverEntriesToSquash.isEmpty() && leftOverEntriesToSquash.get(leftOverEntriesToSquash.size() - 1).isSquashable(leftOver) && !suppressSquashing()) {
+        leftOverEntriesToSquash.add(leftOver);
         out.add(squashEntries(reportComposer, leftOverEntriesToSquash));
       } else {
         if (!leftOverEntriesToSquash.isEmpty())
           out.add(squashEntries(reportComposer, leftOverEntriesToSquash));
-        out.add(leftOver.get());
+        out.add(leftOver);
       }
     }
     
@@ -256,91 +242,76 @@ public interface ReportComposer {
       return ReportComposer.Report.create(summary, stringFormDetails);
     }
     
-    private static String composeSummaryForActualResults(List<ReportComposer.FormattedEntry> formattedEntries) {
-      return composeSummary(formattedEntries);
-    }
-    
-    private static String composeSummaryForExpectations(List<ReportComposer.FormattedEntry> formattedEntries) {
-      return composeSummaryForActualResults(formattedEntries);
-    }
-    
+    /**
+     * Renders formatted entries into a table in one pass after measuring its columns.
+     *
+     * The common indentation of the entries is removed, and an input is hidden when it is the same as the last shown one.
+     * Trailing whitespaces of each line are removed.
+     */
     private static String composeSummary(List<ReportComposer.FormattedEntry> formattedEntries) {
-      AtomicInteger mismatchExplanationCount = new AtomicInteger(0);
-      boolean mismatchExplanationFound = formattedEntries
-          .stream()
-          .anyMatch(ReportComposer.FormattedEntry::requiresExplanation);
-      return evaluatorEntriesToString(
-          hideInputValuesWhenRepeated(formattedEntries),
-          columnLengths -> formattedEntryToString(
-              columnLengths[0],
-              columnLengths[1],
-              columnLengths[2],
-              mismatchExplanationCount,
-              mismatchExplanationFound));
-    }
-    
-    private static Function<ReportComposer.FormattedEntry, String> formattedEntryToString(
-        int inputColumnWidth,
-        int formNameColumnLength,
-        int outputColumnLength,
-        AtomicInteger i,
-        boolean mismatchExplanationFound) {
-      return (ReportComposer.FormattedEntry formattedEntry) ->
-          (mismatchExplanationFound ?
-              format("%-4s", formattedEntry.requiresExplanation ?
-                  "[" + i.getAndIncrement() + "]" : "") :
-              "") +
-              format("%-" + max(2, inputColumnWidth) + "s" +
-                      "%-" + (formNameColumnLength + 2) + "s" +
-                      "%-" + max(2, outputColumnLength) + "s",
-                  formattedEntry.input().orElse(""),
-                  formattedEntry.input()
-                      .map(v -> "->")
-                      .orElse("  ") + formatObject(InternalUtils.toNonStringObject(formattedEntry.indent() + formattedEntry.formName()), formNameColumnLength - 2),
-                  formattedEntry
-                      .output()
-                      .map(v -> "->" + v).orElse(""));
-    }
-    
-    private static String evaluatorEntriesToString(List<ReportComposer.FormattedEntry> formattedEntries, Function<int[], Function<ReportComposer.FormattedEntry, String>> formatterFactory) {
+      int numEntries = formattedEntries.size();
+      String minIndent = null;
+      boolean mismatchExplanationFound = false;
+      for (ReportComposer.FormattedEntry each : formattedEntries) {
+        if (minIndent == null || each.indent.length() < minIndent.length())
+          minIndent = each.indent;
+        mismatchExplanationFound |= each.requiresExplanation();
+      }
+      String[] inputs = new String[numEntries];
+      String[] indentedFormNames = new String[numEntries];
       int maxInputLength = 0, maxIndentAndFormNameLength = 0, maxOutputLength = 0;
-      for (ReportComposer.FormattedEntry eachEntry : formattedEntries) {
-        int inputLength = eachEntry.input().map(String::length).orElse(0);
-        if (inputLength > maxInputLength)
-          maxInputLength = inputLength;
-        int inputAndFormNameLength = eachEntry.indent().length() + eachEntry.formName().length();
-        if (inputAndFormNameLength > maxIndentAndFormNameLength)
-          maxIndentAndFormNameLength = inputAndFormNameLength;
-        int outputLength = eachEntry.output().map(String::length).orElse(0);
-        if (outputLength > maxOutputLength)
-          maxOutputLength = outputLength;
+      Optional<String> previousInput = null;
+      for (int i = 0; i < numEntries; i++) {
+        ReportComposer.FormattedEntry each = formattedEntries.get(i);
+        Optional<String> input = each.input();
+        if (!input.equals(previousInput)) {
+          previousInput = input;
+          inputs[i] = input.orElse(null);
+        } else {
+          inputs[i] = "";
+        }
+        indentedFormNames[i] = removeFirst(each.indent(), minIndent) + each.formName();
+        maxInputLength = max(maxInputLength, inputs[i] == null ? 0 : inputs[i].length());
+        maxIndentAndFormNameLength = max(maxIndentAndFormNameLength, indentedFormNames[i].length());
+        maxOutputLength = max(maxOutputLength, each.output == null ? 0 : each.output.length());
       }
       int formNameColumnLength = (formNameColumnLength = max(
           DebuggingUtils.showEvaluableDetail() ? 80 : 12,
           min(summarizedStringLength(), maxIndentAndFormNameLength))) + formNameColumnLength % 2;
-      Function<ReportComposer.FormattedEntry, String> formatter = formatterFactory.apply(
-          new int[] { maxInputLength, formNameColumnLength, maxOutputLength });
-      return formattedEntries
-          .stream()
-          .map(formatter)
-          .map(s -> ("+" + s).trim().substring(1))
-          .collect(joining(format("%n")));
+      int inputColumnLength = max(2, maxInputLength);
+      int outputColumnLength = max(2, maxOutputLength);
+      StringBuilder b = new StringBuilder();
+      int mismatchExplanationCount = 0;
+      for (int i = 0; i < numEntries; i++) {
+        ReportComposer.FormattedEntry each = formattedEntries.get(i);
+        if (i > 0)
+          b.append(LINE_SEPARATOR);
+        int lineStart = b.length();
+        if (mismatchExplanationFound)
+          appendPadded(b, each.requiresExplanation() ? "[" + mismatchExplanationCount++ + "]" : "", 4);
+        appendPadded(b, inputs[i] != null ? inputs[i] : "", inputColumnLength);
+        appendPadded(b,
+            (inputs[i] != null ? "->" : "  ") + formatObject(InternalUtils.toNonStringObject(indentedFormNames[i]), formNameColumnLength - 2),
+            formNameColumnLength + 2);
+        appendPadded(b, each.output != null ? "->" + each.output : "", outputColumnLength);
+        int end = b.length();
+        while (end > lineStart && b.charAt(end - 1) <= ' ')
+          end--;
+        b.setLength(end);
+      }
+      return b.toString();
     }
     
-    private static List<ReportComposer.FormattedEntry> hideInputValuesWhenRepeated(List<ReportComposer.FormattedEntry> formattedEntries) {
-      AtomicReference<Object> previousInput = new AtomicReference<>();
-      return formattedEntries.stream()
-          .map(each -> {
-            if (!Objects.equals(previousInput.get(), each.input())) {
-              previousInput.set(each.input());
-              return each;
-            } else {
-              return new ReportComposer.FormattedEntry("", each.formName(), each.indent(), each.output().orElse(null), each.requiresExplanation());
-            }
-          })
-          .collect(toList());
+    private static String removeFirst(String indent, String toBeRemoved) {
+      if (indent.startsWith(toBeRemoved) && toBeRemoved.trim().isEmpty())
+        return indent.substring(toBeRemoved.length());
+      return indent.replaceFirst(toBeRemoved, "");
     }
     
-    
+    private static void appendPadded(StringBuilder b, String s, int width) {
+      b.append(s);
+      for (int i = s.length(); i < width; i++)
+        b.append(' ');
+    }
   }
 }
@@ -1,18 +1,24 @@
 package com.github.dakusui.pcond.validator;
 
 import com.github.dakusui.pcond.core.*;
+import com.github.dakusui.pcond.core.printable.PrintablePredicate;
 import com.github.dakusui.pcond.forms.Predicates;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
 
 import static com.github.dakusui.pcond.internals.InternalUtils.toEvaluableIfNecessary;
 import static com.github.dakusui.pcond.validator.Validator.Configuration.Utils.*;
@@ -25,9 +31,32 @@ import static java.util.Collections.emptyList;
 public interface Validator {
   /**
    * A constant field that holds the default provider instance.
+   *
+   * This field is kept only for compatibility and now delegates to {@link Validator#instance()}.
+   * That is, {@code INSTANCE.get()} returns the validator currently in effect, {@code INSTANCE.set(v)} overrides it
+   * for the current thread, and {@code INSTANCE.remove()} removes the override.
+   *
+   * @deprecated Use {@link Validator#instance()}, {@link Validator#reconfigure(Consumer)}, or
+   * {@link Validator#reconfigureThreadLocally(Consumer)} instead.
    */
-  ThreadLocal<Validator> INSTANCE = ThreadLocal.withInitial(() -> create(loadPcondProperties()));
+  @Deprecated
+  ThreadLocal<Validator> INSTANCE = new ThreadLocal<Validator>() {
+    @Override
+    public Validator get() {
+      return instance();
+    }
+
+    @Override
+    public void set(Validator value) {
+      InstanceHolder.THREAD_LOCAL.set(Objects.requireNonNull(value));
+      InstanceHolder.threadLocalOverridesEnabled = true;
+    }
 
+    @Override
+    public void remove() {
+      resetThreadLocalConfiguration();
+    }
+  };
 
   /**
    * Returns a configuration object that determines behaviors of this object.
@@ -98,7 +127,11 @@ public interface Validator {
    * @return The `value`, if `cond` is satisfied.
    */
   default <T> T require(T value, Predicate<? super T> cond) {
-    return require(value, cond, msg -> configuration().exceptionComposer().forRequire().exceptionForGeneralViolation(msg));
+    return checkValueAndThrowIfFails(
+        value,
+        cond,
+        this.configuration().messageComposer()::composeMessageForPrecondition,
+        ExceptionFactory.lazy(messageSupplier -> configuration().exceptionComposer().forRequire().exceptionForGeneralViolation(messageSupplier)));
   }
 
   /**
@@ -136,7 +169,7 @@ public interface Validator {
    * @return The value itself.
    */
   default <T> T validate(T value, Predicate<? super T> cond, ExceptionComposer.ForValidate forValidate) {
-    return validate(value, cond, forValidate::exceptionForGeneralViolation);
+    return validate_2(value, cond, ExceptionFactory.lazy(forValidate::exceptionForGeneralViolation));
   }
 
   /**
@@ -258,7 +291,11 @@ public interface Validator {
    * @return The value.
    */
   default <T> T ensure(T value, Predicate<? super T> cond) {
-    return ensure(value, cond, msg -> configuration().exceptionComposer().forEnsure().exceptionForGeneralViolation(msg));
+    return checkValueAndThrowIfFails(
+        value,
+        cond,
+        configuration().messageComposer()::composeMessageForPostcondition,
+        ExceptionFactory.lazy(messageSupplier -> configuration().exceptionComposer().forEnsure().exceptionForGeneralViolation(messageSupplier)));
   }
 
   /**
@@ -390,47 +427,153 @@ public interface Validator {
    * @param exceptionComposerFunction A function that creates an exception from a failure report created inside this method.
    * @return The `evaluationContext` itself.
    */
-  @SuppressWarnings("unchecked")
   default <T> T checkValueAndThrowIfFails(
       T value,
       Predicate<? super T> cond,
       BiFunction<T, Predicate<? super T>, String> messageComposerFunction,
       ExceptionFactory<Throwable> exceptionComposerFunction) {
-    ValueHolder<T> valueHolder = ValueHolder.forValue(value);
-    Evaluable<T> evaluable = toEvaluableIfNecessary(cond);
-    EvaluableIo<T, Evaluable<T>, Boolean> evaluableIo = new EvaluableIo<>(valueHolder, EvaluationContext.resolveEvaluationEntryType(evaluable), evaluable);
-    EvaluationContext<T> evaluationContext = new EvaluationContext<>();
+    PredicateMetrics metrics = this.configuration().metrics().orElse(null);
+    if (metrics == null)
+      return checkValueAndThrowIfFails(value, cond, messageComposerFunction, exceptionComposerFunction, this.configuration().evaluationListener());
+    PredicateMetrics.Entry entry = metrics.entryFor(cond);
+    EvaluationListener evaluationListener = metrics.leafBreakdown() ?
+        entry.evaluationListener(this.configuration().evaluationListener()) :
+        this.configuration().evaluationListener();
+    boolean passed = false;
+    long before = System.nanoTime();
+    try {
+      T ret = checkValueAndThrowIfFails(value, cond, messageComposerFunction, exceptionComposerFunction, evaluationListener);
+      passed = true;
+      return ret;
+    } finally {
+      entry.record(System.nanoTime() - before, passed);
+    }
+  }
+
+  /**
+   * Does the same as {@link Validator#checkValueAndThrowIfFails(Object, Predicate, BiFunction, ExceptionFactory)}
+   * without recording metrics.
+   * The `evaluationListener` is notified when the `value` is evaluated by an {@link Evaluator}.
+   *
+   * @param <T>                       The type of the `evaluationContext`.
+   * @param value                     A value to be checked.
+   * @param cond                      A predicate that checks the `evaluationContext`.
+   * @param messageComposerFunction   A function that composes an error message from the `evaluationContext` and the predicate `cond`.
+   * @param exceptionComposerFunction A function that creates an exception from a failure report created inside this method.
+   * @param evaluationListener        A listener notified of each step of an evaluation.
+   * @return The `evaluationContext` itself.
+   */
+  @SuppressWarnings("unchecked")
+  default <T> T checkValueAndThrowIfFails(
+      T value,
+      Predicate<? super T> cond,
+      BiFunction<T, Predicate<? super T>, String> messageComposerFunction,
+      ExceptionFactory<Throwable> exceptionComposerFunction,
+      EvaluationListener evaluationListener) {
     if (this.configuration().useEvaluator() && cond instanceof Evaluable) {
+      if (this.configuration().fastPass() && passesWithoutEvaluator(value, cond))
+        return value;
+      Evaluable<T> evaluable = (Evaluable<T>) cond;
+      EvaluableIo<T, Evaluable<T>, Boolean> evaluableIo = new EvaluableIo<>(ValueHolder.forValue(value), EvaluationContext.resolveEvaluationEntryType(evaluable), evaluable);
+      EvaluationContext<T> evaluationContext = new EvaluationContext<>(evaluationListener, configuration().captureStackTrace());
       Evaluator evaluator = Evaluator.create();
       ((Evaluable<T>) cond).accept(evaluableIo, evaluationContext, evaluator);
       if (evaluableIo.output().isValueReturned() && Objects.equals(true, evaluableIo.output().value()))
         return value;
       List<EvaluationEntry> entries = evaluationContext.resultEntries();
-      throw exceptionComposerFunction.create(configuration()
-          .reportComposer()
-          .composeExplanation(
-              messageComposerFunction.apply(value, cond),
-              entries
-          ));
+      ReportComposer reportComposer = configuration().reportComposer();
+      // The explanation is composed only when it is accessed, which an exception with a lazily rendered message may never do.
+      Supplier<Explanation> explanationComposer = () -> reportComposer.composeExplanation(messageComposerFunction.apply(value, cond), entries);
+      FailureAggregator failureAggregator = configuration().failureAggregator().orElse(null);
+      throw exceptionComposerFunction.create(failureAggregator == null ?
+          Explanation.lazy(explanationComposer) :
+          failureAggregator.explanationFor(cond, value, entries, () -> messageComposerFunction.apply(value, cond), explanationComposer));
     } else {
-      if (!cond.test(valueHolder.returnedValue()))
-        throw exceptionComposerFunction.create(configuration()
-            .reportComposer()
-            .composeExplanation(
-                messageComposerFunction.apply(value, cond),
-                emptyList()
-            ));
+      if (!cond.test(value)) {
+        ReportComposer reportComposer = configuration().reportComposer();
+        Supplier<Explanation> explanationComposer = () -> reportComposer.composeExplanation(messageComposerFunction.apply(value, cond), emptyList());
+        FailureAggregator failureAggregator = configuration().failureAggregator().orElse(null);
+        throw exceptionComposerFunction.create(failureAggregator == null ?
+            Explanation.lazy(explanationComposer) :
+            failureAggregator.explanationFor(cond, value, emptyList(), () -> messageComposerFunction.apply(value, cond), explanationComposer));
+      }
       return value;
     }
   }
 
+  /**
+   * Tests the `value` with the `cond` without any bookkeeping for a report.
+   * If a `PrintablePredicate` is given, its compiled form is used.
+   *
+   * This method returns `false` if the test cannot be replayed by an {@link Evaluator} afterwards,
+   * that is, the `value` is a stream or an iterator, which can be consumed only once,
+   * or the `cond` is not replayable.
+   * If the `cond` throws an exception, this method also returns `false` so that the caller
+   * can evaluate the `value` again with an {@link Evaluator}, which records the exception.
+   * So does it if the `cond` cannot be compiled, which is remembered by the `cond` and not attempted again.
+   *
+   * @param value A value to be tested.
+   * @param cond  A predicate with which the `value` is tested.
+   * @param <T>   The type of the `value`.
+   * @return `true` if the `value` satisfies `cond`.
+   * @see Evaluable#isReplayable()
+   */
+  static <T> boolean passesWithoutEvaluator(T value, Predicate<? super T> cond) {
+    if (value instanceof BaseStream || value instanceof Iterator)
+      return false;
+    Predicate<? super T> plan;
+    boolean replayable;
+    // A leaf is tested as it is, since compiling it gives nothing but allocations.
+    if (cond instanceof PrintablePredicate && !(cond instanceof Evaluable.LeafPred)) {
+      CompiledPredicate<? super T> compiled = ((PrintablePredicate<? super T>) cond).compiled();
+      plan = compiled;
+      replayable = compiled.isReplayable();
+    } else {
+      plan = cond;
+      replayable = toEvaluableIfNecessary(cond).isReplayable();
+    }
+    if (!replayable)
+      return false;
+    try {
+      return plan.test(value);
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the validator instance currently in effect.
+   *
+   * Unless the configuration is overridden for the current thread by {@link Validator#reconfigureThreadLocally(Consumer)},
+   * the instance shared among all the threads in the process is returned.
+   *
+   * @return The validator instance currently in effect.
+   */
   static Validator instance() {
-    return INSTANCE.get();
+    if (InstanceHolder.threadLocalOverridesEnabled) {
+      Validator ret = InstanceHolder.THREAD_LOCAL.get();
+      if (ret != null)
+        return ret;
+    }
+    return InstanceHolder.SHARED.get();
   }
 
+  /**
+   * Replaces the shared validator instance with a new one, whose configuration is
+   * a copy of the current one modified by the `configurator`.
+   *
+   * Note that the `configurator` may be called more than once when another thread reconfigures
+   * the instance at the same time.
+   *
+   * @param configurator A consumer that modifies a builder of the new configuration.
+   */
   static void reconfigure(Consumer<Configuration.Builder> configurator) {
-    Configuration.Builder b = instance().configuration().parentBuilder();
-    reconfigure(configurator, b);
+    Objects.requireNonNull(configurator);
+    InstanceHolder.SHARED.updateAndGet(current -> {
+      Configuration.Builder b = current.configuration().parentBuilder();
+      configurator.accept(b);
+      return new Impl(b.build());
+    });
   }
 
   static void reconfigure(Consumer<Configuration.Builder> configurator, Properties properties) {
@@ -440,7 +583,32 @@ public interface Validator {
 
   static void reconfigure(Consumer<Configuration.Builder> configurator, Configuration.Builder b) {
     Objects.requireNonNull(configurator).accept(b);
-    INSTANCE.set(new Impl(b.build()));
+    InstanceHolder.SHARED.set(new Impl(b.build()));
+  }
+
+  /**
+   * Overrides the configuration only for the current thread.
+   * The new configuration is a copy of the one currently in effect modified by the `configurator`.
+   *
+   * This is intended for tests which need a configuration different from the one of the process.
+   * Once this method is called, {@link Validator#instance()} starts looking up the override for the
+   * calling thread, which makes it slightly slower.
+   *
+   * @param configurator A consumer that modifies a builder of the new configuration.
+   * @see Validator#resetThreadLocalConfiguration()
+   */
+  static void reconfigureThreadLocally(Consumer<Configuration.Builder> configurator) {
+    Configuration.Builder b = instance().configuration().parentBuilder();
+    Objects.requireNonNull(configurator).accept(b);
+    InstanceHolder.THREAD_LOCAL.set(new Impl(b.build()));
+    InstanceHolder.threadLocalOverridesEnabled = true;
+  }
+
+  /**
+   * Removes the override set by {@link Validator#reconfigureThreadLocally(Consumer)} for the current thread.
+   */
+  static void resetThreadLocalConfiguration() {
+    InstanceHolder.THREAD_LOCAL.remove();
   }
 
   static void resetToDefault() {
@@ -457,6 +625,19 @@ public interface Validator {
       return createException(this, explanation);
     }
 
+    /**
+     * Returns an exception factory, which passes a supplier of the message to `exceptionFactory` instead of the message itself.
+     * The message is rendered from an {@link Explanation} only when the supplier is called, so that a failure
+     * whose message is never looked at doesn't pay for composing it.
+     *
+     * @param exceptionFactory A function that creates an exception from a supplier of its message.
+     * @param <E>              The type of the exception.
+     * @return An exception factory that renders the message on demand.
+     */
+    static <E extends Throwable> ExceptionFactory<E> lazy(Function<Supplier<String>, E> exceptionFactory) {
+      return explanation -> exceptionFactory.apply(explanation::toString);
+    }
+
     static RuntimeException createException(ExceptionFactory<?> exceptionFactory, Explanation explanation) {
       Throwable t = exceptionFactory.apply(explanation);
       if (t instanceof Error)
@@ -497,6 +678,71 @@ public interface Validator {
 
     boolean useEvaluator();
 
+    /**
+     * Returns `true` if a value should first be tested by a given predicate directly,
+     * without recording anything for a report.
+     * Only when the test fails (or throws an exception), the value is evaluated again
+     * by an {@link Evaluator} to compose a report.
+     * A predicate or a value that cannot be evaluated twice is always evaluated by an
+     * {@link Evaluator} from the beginning.
+     *
+     * This setting is effective only when {@link Configuration#useEvaluator()} returns `true`.
+     * The mode is disabled by default, since a predicate with side effects is tested twice when a value fails.
+     *
+     * @return `true` if the fast-pass mode is enabled.
+     * @see Evaluable#isReplayable()
+     */
+    default boolean fastPass() {
+      return false;
+    }
+
+    /**
+     * Returns `true` if stack traces should be captured for violations.
+     * If `false`, the default exception composers for `require`, `ensure`, and `validate` create the `pcond` violation
+     * exceptions without stack traces, and a report doesn't show stack traces of exceptions thrown during an evaluation.
+     *
+     * This is intended for input validation, where a lot of values are rejected and nobody looks at the stack traces.
+     *
+     * @return `true` if stack traces are captured.
+     * @see ExceptionComposer.ForValidate.Default#Default(boolean)
+     */
+    default boolean captureStackTrace() {
+      return true;
+    }
+
+    /**
+     * Returns a listener notified of each step of evaluations performed by an {@link Evaluator}.
+     * The listener is fixed when this configuration is built.
+     *
+     * @return An evaluation listener.
+     * @see EvaluationListener
+     */
+    default EvaluationListener evaluationListener() {
+      return EvaluationListener.NOOP;
+    }
+
+    /**
+     * Returns metrics in which checks performed by a validator are recorded.
+     * If empty, nothing is recorded.
+     *
+     * @return Metrics to record checks.
+     * @see PredicateMetrics
+     */
+    default Optional<PredicateMetrics> metrics() {
+      return Optional.empty();
+    }
+
+    /**
+     * Returns an aggregator of repeated failures.
+     * If empty, a full report is composed for every failure.
+     *
+     * @return An aggregator of failures.
+     * @see FailureAggregator
+     */
+    default Optional<FailureAggregator> failureAggregator() {
+      return Optional.empty();
+    }
+
     /**
      * Returns a message composer, which is responsible for composing an appropriate message for
      * a context.
@@ -538,6 +784,25 @@ public interface Validator {
         }
       }
 
+      /**
+       * Instantiates a class with a constructor that takes a `boolean` for `captureStackTrace`, if it has one.
+       * Otherwise, a constructor without parameters is used.
+       */
+      @SuppressWarnings("unchecked")
+      static <E> E instantiate(Class<E> baseClass, String className, boolean captureStackTrace) {
+        try {
+          Class<?> klass = Class.forName(className);
+          try {
+            return (E) klass.getConstructor(boolean.class).newInstance(captureStackTrace);
+          } catch (NoSuchMethodException e) {
+            return instantiate(baseClass, className);
+          }
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                 ClassNotFoundException e) {
+          throw new RuntimeException(e);
+        }
+      }
+
       public static Properties loadPcondProperties() {
         try {
           Properties ret = new Properties();
@@ -563,10 +828,15 @@ public interface Validator {
 
     class Builder implements Cloneable {
       boolean useEvaluator;
+      boolean fastPass;
+      boolean captureStackTrace = true;
       int     summarizedStringLength;
 
 
-      MessageComposer messageComposer;
+      EvaluationListener evaluationListener;
+      PredicateMetrics   metrics;
+      FailureAggregator  failureAggregator;
+      MessageComposer    messageComposer;
       ReportComposer  reportComposer;
       private ExceptionComposer.ForRequire       exceptionComposerForRequire;
       private ExceptionComposer.ForEnsure        exceptionComposerForEnsure;
@@ -583,11 +853,69 @@ public interface Validator {
         return this;
       }
 
+      public Builder fastPass(boolean fastPass) {
+        this.fastPass = fastPass;
+        return this;
+      }
+
+      /**
+       * Sets whether stack traces are captured for violations (default: `true`).
+       * On {@link Builder#build()}, the default exception composers for `require`, `ensure`, and `validate`
+       * are created again with this flag.
+       * Other exception composers set to this builder are not affected by this setting, though, when a configuration
+       * is created from properties, the flag is given to the ones which have a constructor that takes a `boolean`.
+       *
+       * @param captureStackTrace `false` not to capture stack traces.
+       * @return This object.
+       * @see Configuration#captureStackTrace()
+       */
+      public Builder captureStackTrace(boolean captureStackTrace) {
+        this.captureStackTrace = captureStackTrace;
+        return this;
+      }
+
       public Builder summarizedStringLength(int summarizedStringLength) {
         this.summarizedStringLength = summarizedStringLength;
         return this;
       }
 
+      /**
+       * Sets a listener notified of each step of evaluations.
+       * If `null` is given (default), a listener which prints debug logs is used when
+       * `com.github.dakusui.pcond.debug` is `true` on {@link Builder#build()}, otherwise {@link EvaluationListener#NOOP}.
+       *
+       * @param evaluationListener A listener.
+       * @return This object.
+       */
+      public Builder evaluationListener(EvaluationListener evaluationListener) {
+        this.evaluationListener = evaluationListener;
+        return this;
+      }
+
+      /**
+       * Sets metrics in which checks are recorded.
+       * If `null` is given (default), nothing is recorded.
+       *
+       * @param metrics Metrics to record checks.
+       * @return This object.
+       */
+      public Builder metrics(PredicateMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+      }
+
+      /**
+       * Sets an aggregator of repeated failures.
+       * If `null` is given (default), a full report is composed for every failure.
+       *
+       * @param failureAggregator An aggregator of failures.
+       * @return This object.
+       */
+      public Builder failureAggregator(FailureAggregator failureAggregator) {
+        this.failureAggregator = failureAggregator;
+        return this;
+      }
+
       public Builder exceptionComposerForRequire(ExceptionComposer.ForRequire exceptionComposerForRequire) {
         this.exceptionComposerForRequire = exceptionComposerForRequire;
         return this;
@@ -629,16 +957,22 @@ public interface Validator {
       }
 
       public Configuration build() {
-        if (!isClassPresent("org.junit.ComparisonFailure"))
+        if (!ExceptionComposer.Utils.isClassPresent("org.junit.ComparisonFailure"))
           this.useOpentest4J();
         return new Configuration() {
           private final Debugging debugging = new Debugging() {
           };
 
+          private final EvaluationListener evaluationListener = resolveEvaluationListener(Builder.this.evaluationListener);
+
+          private final Optional<PredicateMetrics> metrics = Optional.ofNullable(Builder.this.metrics);
+
+          private final Optional<FailureAggregator> failureAggregator = Optional.ofNullable(Builder.this.failureAggregator);
+
           private final ExceptionComposer exceptionComposer = new ExceptionComposer.Impl(
-              exceptionComposerForRequire,
-              exceptionComposerForEnsure,
-              defaultExceptionComposerForValidate,
+              resolveExceptionComposerForRequire(exceptionComposerForRequire, Builder.this.captureStackTrace),
+              resolveExceptionComposerForEnsure(exceptionComposerForEnsure, Builder.this.captureStackTrace),
+              resolveExceptionComposerForValidate(defaultExceptionComposerForValidate, Builder.this.captureStackTrace),
               exceptionComposerForAssert,
               exceptionComposerForTestFailures
           );
@@ -653,6 +987,31 @@ public interface Validator {
             return Builder.this.useEvaluator;
           }
 
+          @Override
+          public boolean fastPass() {
+            return Builder.this.fastPass;
+          }
+
+          @Override
+          public boolean captureStackTrace() {
+            return Builder.this.captureStackTrace;
+          }
+
+          @Override
+          public EvaluationListener evaluationListener() {
+            return this.evaluationListener;
+          }
+
+          @Override
+          public Optional<PredicateMetrics> metrics() {
+            return this.metrics;
+          }
+
+          @Override
+          public Optional<FailureAggregator> failureAggregator() {
+            return this.failureAggregator;
+          }
+
           /**
            * Returns an exception composer, which is responsible for creating an exception
            * object of an appropriate type for a context.
@@ -688,13 +1047,30 @@ public interface Validator {
         };
       }
 
-      private static boolean isClassPresent(String s) {
-        try {
-          Class.forName(s);
-          return true;
-        } catch (ClassNotFoundException e) {
-          return false;
-        }
+      private static EvaluationListener resolveEvaluationListener(EvaluationListener evaluationListener) {
+        if (evaluationListener != null)
+          return evaluationListener;
+        if (Boolean.parseBoolean(System.getProperty("com.github.dakusui.pcond.debug")))
+          return new EvaluationListener.DebugPrinting();
+        return EvaluationListener.NOOP;
+      }
+
+      private static ExceptionComposer.ForRequire resolveExceptionComposerForRequire(ExceptionComposer.ForRequire exceptionComposer, boolean captureStackTrace) {
+        return exceptionComposer != null && exceptionComposer.getClass() == ExceptionComposer.ForRequire.Default.class ?
+            new ExceptionComposer.ForRequire.Default(captureStackTrace) :
+            exceptionComposer;
+      }
+
+      private static ExceptionComposer.ForEnsure resolveExceptionComposerForEnsure(ExceptionComposer.ForEnsure exceptionComposer, boolean captureStackTrace) {
+        return exceptionComposer != null && exceptionComposer.getClass() == ExceptionComposer.ForEnsure.Default.class ?
+            new ExceptionComposer.ForEnsure.Default(captureStackTrace) :
+            exceptionComposer;
+      }
+
+      private static ExceptionComposer.ForValidate resolveExceptionComposerForValidate(ExceptionComposer.ForValidate exceptionComposer, boolean captureStackTrace) {
+        return exceptionComposer != null && exceptionComposer.getClass() == ExceptionComposer.ForValidate.Default.class ?
+            new ExceptionComposer.ForValidate.Default(captureStackTrace) :
+            exceptionComposer;
       }
 
       @Override
@@ -707,12 +1083,16 @@ public interface Validator {
       }
 
       static Builder fromProperties(Properties properties) {
+        boolean captureStackTrace = Boolean.parseBoolean(properties.getProperty("captureStackTrace", "true"));
         return new Builder()
             .useEvaluator(Boolean.parseBoolean(properties.getProperty("useEvaluator", "true")))
+            .fastPass(Boolean.parseBoolean(properties.getProperty("fastPass", "false")))
+            .captureStackTrace(captureStackTrace)
             .summarizedStringLength(Integer.parseInt(properties.getProperty("summarizedStringLength", "40")))
-            .exceptionComposerForRequire(instantiate(ExceptionComposer.ForRequire.class, properties.getProperty("exceptionComposerForRequire", "com.github.dakusui.pcond.validator.ExceptionComposer$ForRequire$Default")))
-            .exceptionComposerForEnsure(instantiate(ExceptionComposer.ForEnsure.class, properties.getProperty("exceptionComposerForEnsure", "com.github.dakusui.pcond.validator.ExceptionComposer$ForEnsure$Default")))
-            .defaultExceptionComposerForValidate(instantiate(ExceptionComposer.ForValidate.class, properties.getProperty("defaultExceptionComposerForValidate", "com.github.dakusui.pcond.validator.ExceptionComposer$ForValidate$Default")))
+            .evaluationListener(properties.containsKey("evaluationListener") ? instantiate(EvaluationListener.class, properties.getProperty("evaluationListener")) : null)
+            .exceptionComposerForRequire(instantiate(ExceptionComposer.ForRequire.class, properties.getProperty("exceptionComposerForRequire", "com.github.dakusui.pcond.validator.ExceptionComposer$ForRequire$Default"), captureStackTrace))
+            .exceptionComposerForEnsure(instantiate(ExceptionComposer.ForEnsure.class, properties.getProperty("exceptionComposerForEnsure", "com.github.dakusui.pcond.validator.ExceptionComposer$ForEnsure$Default"), captureStackTrace))
+            .defaultExceptionComposerForValidate(instantiate(ExceptionComposer.ForValidate.class, properties.getProperty("defaultExceptionComposerForValidate", "com.github.dakusui.pcond.validator.ExceptionComposer$ForValidate$Default"), captureStackTrace))
             .exceptionComposerForAssert(instantiate(ExceptionComposer.ForAssertion.class, properties.getProperty("exceptionComposerForAssert", "com.github.dakusui.pcond.validator.ExceptionComposer$ForAssertion$Default")))
             .exceptionComposerForAssertThat(instantiate(ExceptionComposer.ForTestAssertion.class, properties.getProperty("exceptionComposerForTestFailures", "com.github.dakusui.pcond.validator.ExceptionComposer$ForTestAssertion$JUnit4")))
             .messageComposer(instantiate(MessageComposer.class, properties.getProperty("messageComposer", "com.github.dakusui.pcond.validator.MessageComposer$Default")))
@@ -721,6 +1101,17 @@ public interface Validator {
     }
   }
 
+  /**
+   * Holds the validator instance shared among all the threads in the process, which is created on
+   * the first access.
+   */
+  enum InstanceHolder {
+    ;
+    private static final AtomicReference<Validator> SHARED                      = new AtomicReference<>(create(loadPcondProperties()));
+    private static final ThreadLocal<Validator>     THREAD_LOCAL                = new ThreadLocal<>();
+    private static volatile boolean                 threadLocalOverridesEnabled = false;
+  }
+
   class Impl implements Validator {
 
     private final Configuration configuration;
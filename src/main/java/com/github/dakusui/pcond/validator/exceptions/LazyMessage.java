@@ -0,0 +1,38 @@
+package com.github.dakusui.pcond.validator.exceptions;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A message of an exception, which is rendered on the first access and memoized.
+ *
+ * The message is rendered before the owning exception is serialized, since the supplier
+ * is not serializable in general.
+ */
+final class LazyMessage implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private transient Supplier<String> messageSupplier;
+  private           String           message;
+
+  LazyMessage(Supplier<String> messageSupplier) {
+    this.messageSupplier = requireNonNull(messageSupplier);
+  }
+
+  synchronized String get() {
+    if (this.messageSupplier != null) {
+      this.message = this.messageSupplier.get();
+      this.messageSupplier = null;
+    }
+    return this.message;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    get();
+    out.defaultWriteObject();
+  }
+}
@@ -1,10 +1,57 @@
 package com.github.dakusui.pcond.validator.exceptions;
 
+import java.util.function.Supplier;
+
 /**
  * An exception intended to be used, when a post-condition is not satisfied.
  */
 public class PostconditionViolationException extends RuntimeException {
+  private final LazyMessage lazyMessage;
+
   public PostconditionViolationException(String message) {
     super(message);
+    this.lazyMessage = null;
+  }
+
+  /**
+   * Creates an exception whose message is rendered by `messageSupplier` when it is accessed for the first time.
+   *
+   * @param messageSupplier A supplier of the message of this exception.
+   */
+  public PostconditionViolationException(Supplier<String> messageSupplier) {
+    super();
+    this.lazyMessage = new LazyMessage(messageSupplier);
+  }
+
+  /**
+   * Creates an exception whose stack trace is not captured if `writableStackTrace` is `false`.
+   * Filling in a stack trace is the most expensive part of creating an exception,
+   * which is wasted if nobody prints it.
+   *
+   * @param message            The message of this exception.
+   * @param writableStackTrace Whether the stack trace should be captured.
+   */
+  public PostconditionViolationException(String message, boolean writableStackTrace) {
+    super(message, null, true, writableStackTrace);
+    this.lazyMessage = null;
+  }
+
+  /**
+   * Creates an exception whose message is rendered lazily and whose stack trace is not captured if `writableStackTrace` is `false`.
+   *
+   * @param messageSupplier    A supplier of the message of this exception.
+   * @param writableStackTrace Whether the stack trace should be captured.
+   * @see PostconditionViolationException#PostconditionViolationException(String, boolean)
+   */
+  public PostconditionViolationException(Supplier<String> messageSupplier, boolean writableStackTrace) {
+    super(null, null, true, writableStackTrace);
+    this.lazyMessage = new LazyMessage(messageSupplier);
+  }
+
+  @Override
+  public String getMessage() {
+    return this.lazyMessage != null ?
+        this.lazyMessage.get() :
+        super.getMessage();
   }
 }
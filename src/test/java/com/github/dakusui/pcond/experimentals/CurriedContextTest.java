@@ -0,0 +1,181 @@
+package com.github.dakusui.pcond.experimentals;
+
+import com.github.dakusui.pcond.experimentals.currying.context.CurriedContext;
+import com.github.dakusui.pcond.experimentals.currying.context.CurriedContextUtils;
+import com.github.dakusui.shared.IllegalValueException;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.github.dakusui.pcond.experimentals.currying.CurriedFunctions.nest;
+import static com.github.dakusui.pcond.experimentals.currying.CurriedFunctions.toCurriedContextPredicate;
+import static com.github.dakusui.pcond.forms.Predicates.noneMatch;
+import static com.github.dakusui.pcond.forms.Predicates.transform;
+import static com.github.dakusui.shared.ExperimentalsUtils.stringEndsWith;
+import static com.github.dakusui.shared.TestUtils.validate;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+public class CurriedContextTest extends TestBase {
+  @Test
+  public void givenContextsAppendedToSameParent_whenValuesRequested_thenEachHasOwnValues() {
+    CurriedContext parent = CurriedContext.from("a").append("b");
+    CurriedContext c1 = parent.append("c1");
+    CurriedContext c2 = parent.append("c2");
+
+    assertEquals(asList("a", "b", "c1"), c1.values());
+    assertEquals(asList("a", "b", "c2"), c2.values());
+    assertEquals(asList("a", "b"), parent.values());
+    assertEquals(3, c1.size());
+    assertEquals("b", c2.valueAt(1));
+    assertEquals("c2", c2.valueAt(2));
+  }
+
+  @Test
+  public void givenContext_whenValuesRequestedTwice_thenSameListIsReturned() {
+    CurriedContext context = CurriedContext.from("a").append("b");
+
+    assertSame(context.values(), context.values());
+  }
+
+  @Test
+  public void givenParentWhoseValuesAreComposed_whenChildValuesRequested_thenParentValuesAreReused() {
+    CurriedContext parent = CurriedContext.from(null).append("b");
+    List<Object> parentValues = parent.values();
+
+    assertEquals(asList(null, "b", "c", "d"), parent.append("c").append("d").values());
+    assertSame(parentValues, parent.values());
+  }
+
+  @Test
+  public void givenCustomParent_whenAppended_thenParentValuesAreIncluded() {
+    CurriedContext parent = () -> asList("x", "y");
+
+    CurriedContext context = parent.append("z");
+
+    assertEquals(asList("x", "y", "z"), context.values());
+    assertEquals(3, context.size());
+  }
+
+  @Test
+  public void givenNestedContexts_whenValueAt_thenValuesOfAncestorsAreRead() {
+    CurriedContext parent = () -> asList("x", "y");
+    CurriedContext composed = parent.append("z");
+    composed.values();
+    CurriedContext context = composed.append("w").append("v");
+
+    assertEquals(asList("x", "y", "z", "w", "v"), IntStream.range(0, context.size()).mapToObj(context::valueAt).collect(Collectors.toList()));
+    assertEquals("y", parent.append("z").append("w").valueAt(1));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void givenContext_whenValueAtOutOfRange_thenExceptionThrown() {
+    CurriedContext.from("a").append("b").valueAt(2);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void givenContext_whenValuesModified_thenExceptionThrown() {
+    CurriedContext.from("a").append("b").values().add("c");
+  }
+
+  @Test
+  public void givenContext_whenToString_thenVariablesPrinted() {
+    assertEquals("variables:[a, b]", CurriedContext.from("a").append("b").toString());
+    assertEquals("variables:[a]", CurriedContext.from("a").toString());
+    assertEquals("variables:[a, b]", String.format("%s", CurriedContext.from("a").append("b")));
+  }
+
+  @Test
+  public void givenNestedStreams_whenCollected_thenAllCombinationsInOrder() {
+    List<List<Object>> combinations = CurriedContextUtils.nest(
+            CurriedContextUtils.nest(Stream.of("a", "b"), asList(1, 2)),
+            singletonList("x"))
+        .map(CurriedContext::values)
+        .collect(Collectors.toList());
+
+    assertEquals(asList(
+        asList("a", 1, "x"),
+        asList("a", 2, "x"),
+        asList("b", 1, "x"),
+        asList("b", 2, "x")), combinations);
+  }
+
+  @Test
+  public void givenSizedStreams_whenNested_thenExactSizeIsKnown() {
+    Spliterator<CurriedContext> spliterator = CurriedContextUtils.nest(
+            CurriedContextUtils.nest(Stream.of("a", "b", "c"), asList(1, 2)),
+            asList("x", "y", "z", "w"))
+        .spliterator();
+
+    assertEquals(24, spliterator.getExactSizeIfKnown());
+    assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+  }
+
+  @Test
+  public void givenShortOuterStream_whenSplit_thenInnerElementsAreSplit() {
+    Spliterator<CurriedContext> spliterator = CurriedContextUtils.nest(Stream.of("a"), asList(1, 2, 3, 4)).spliterator();
+
+    Spliterator<CurriedContext> prefix = spliterator.trySplit();
+
+    assertNotNull(prefix);
+    assertEquals(2, prefix.getExactSizeIfKnown());
+    assertEquals(2, spliterator.getExactSizeIfKnown());
+    List<Object> values = new ArrayList<>();
+    prefix.forEachRemaining(c -> values.add(c.valueAt(1)));
+    spliterator.forEachRemaining(c -> values.add(c.valueAt(1)));
+    assertEquals(asList(1, 2, 3, 4), values);
+  }
+
+  @Test
+  public void givenParallelStream_whenNestedAndCollected_thenSameAsSequential() {
+    List<Integer> outer = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+    List<Integer> inner = IntStream.range(0, 30).boxed().collect(Collectors.toList());
+
+    assertEquals(
+        CurriedContextUtils.nest(outer.stream(), inner).map(CurriedContext::values).collect(Collectors.toList()),
+        CurriedContextUtils.nest(outer.parallelStream(), inner).map(CurriedContext::values).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void givenEmptyInner_whenNested_thenEmpty() {
+    assertEquals(0, CurriedContextUtils.nest(Stream.of("a", "b"), emptyList()).count());
+  }
+
+  @Test
+  public void givenNestedStream_whenClosed_thenOriginalStreamIsClosed() {
+    AtomicBoolean closed = new AtomicBoolean(false);
+
+    CurriedContextUtils.nest(Stream.of("a").onClose(() -> closed.set(true)), singletonList("x")).close();
+
+    assertTrue(closed.get());
+  }
+
+  @Test
+  public void givenParallelNestedStream_whenValidated_thenSameReportAsSequential() {
+    Predicate<Stream<?>> predicate = transform(nest(asList("1", "2", "o"))).check(noneMatch(toCurriedContextPredicate(stringEndsWith(), 0, 1)));
+
+    assertEquals(
+        messageOfFailure(Stream.of("hello", "world", "HI"), predicate),
+        messageOfFailure(Stream.of("hello", "world", "HI").parallel(), predicate));
+  }
+
+  private static String messageOfFailure(Stream<?> value, Predicate<Stream<?>> predicate) {
+    try {
+      validate(value, predicate);
+    } catch (IllegalValueException e) {
+      // Removes identity hash codes of streams and the paddings, whose widths depend on them.
+      return e.getMessage().replaceAll("@[0-9a-f]+ *", "@").replaceAll(" +", " ");
+    }
+    throw new AssertionError("Validation should have failed.");
+  }
+}
@@ -0,0 +1,73 @@
+package com.github.dakusui.pcond.experimentals.cursor;
+
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class AhoCorasickTest extends TestBase {
+  @Test
+  public void givenOverlappingTokens_whenLocated_thenSameAsIndexOf() {
+    assertSameAsIndexOf("abababcab", "ab", "bab", "abc", "b", "cab", "ab", "x", "");
+  }
+
+  @Test
+  public void givenNonAsciiTokens_whenLocated_thenSameAsIndexOf() {
+    assertSameAsIndexOf("ガリア全体は三つに分かれ、ガリア人が住む", "ガリア", "三つ", "人", "ア", "全体は三", "住むX");
+  }
+
+  @Test
+  public void givenTokensSharingFirstCharacter_whenLocated_thenSameAsIndexOf() {
+    assertSameAsIndexOf("request-1 request-12 request-123 request", "request-12", "request-1", "request-123", "request", "r", "request-1234");
+  }
+
+  @Test
+  public void givenRandomTokens_whenLocated_thenSameAsIndexOf() {
+    Random random = new Random(1);
+    for (int i = 0; i < 200; i++) {
+      String text = randomString(random, "abc", random.nextInt(200));
+      String[] tokens = new String[1 + random.nextInt(10)];
+      for (int j = 0; j < tokens.length; j++)
+        tokens[j] = randomString(random, "abc", random.nextInt(5));
+      assertSameAsIndexOf(text, tokens);
+    }
+  }
+
+  /**
+   * Too many states and characters for a transition table.
+   */
+  @Test
+  public void givenManyTokensWithLargeAlphabet_whenLocated_thenSameAsIndexOf() {
+    Random random = new Random(1);
+    String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789αβγδεζηθικλμνξοπρστυφχψω";
+    String[] tokens = new String[2000];
+    for (int i = 0; i < tokens.length; i++)
+      tokens[i] = randomString(random, alphabet, 1 + random.nextInt(30));
+    StringBuilder b = new StringBuilder();
+    for (int i = 0; i < 200; i++)
+      b.append(randomString(random, alphabet, 20)).append(tokens[random.nextInt(tokens.length)]);
+    assertSameAsIndexOf(b.toString(), tokens);
+  }
+
+  private static void assertSameAsIndexOf(String text, String... tokens) {
+    AhoCorasick automaton = new AhoCorasick(tokens);
+    Cursors.Locator locator = automaton.scan(text);
+    for (int from = 0; from <= text.length(); from += 1 + from / 8) {
+      for (int i = 0; i < tokens.length; i++) {
+        Cursors.Cursor cursor = locator.locate(i, from);
+        String message = "text=<" + text + ">, token=<" + tokens[i] + ">, from=<" + from + ">";
+        assertEquals(message, text.indexOf(tokens[i], from), cursor.position);
+        assertEquals(message, tokens[i].length(), cursor.length);
+      }
+    }
+  }
+
+  private static String randomString(Random random, String alphabet, int length) {
+    StringBuilder b = new StringBuilder();
+    for (int i = 0; i < length; i++)
+      b.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    return b.toString();
+  }
+}
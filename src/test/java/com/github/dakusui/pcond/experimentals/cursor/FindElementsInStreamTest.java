@@ -0,0 +1,83 @@
+package com.github.dakusui.pcond.experimentals.cursor;
+
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.github.dakusui.pcond.forms.Predicates.isEqualTo;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+/**
+ * A stream or an iterator is read forward only once, and elements in it are not retained except ones shown in a report.
+ */
+public class FindElementsInStreamTest extends TestBase {
+  @Test
+  public void givenElementsInOrder_whenTested_thenTrue() {
+    assertTrue(Cursors.findElementsInStream(isEqualTo("b"), isEqualTo("d")).test(Stream.of("a", "b", "c", "d")));
+  }
+
+  @Test
+  public void givenElementsNotInOrder_whenTested_thenFalse() {
+    assertFalse(Cursors.findElementsInStream(isEqualTo("d"), isEqualTo("b")).test(Stream.of("a", "b", "c", "d")));
+  }
+
+  @Test
+  public void givenInfiniteStream_whenAllFound_thenTrueWithoutReadingFurther() {
+    AtomicInteger read = new AtomicInteger(0);
+    Stream<Integer> stream = Stream.iterate(0, i -> i + 1).peek(i -> read.incrementAndGet());
+
+    assertTrue(Cursors.findElementsInStream(isEqualTo(10), isEqualTo(1_000)).test(stream));
+    assertEquals(1_001, read.get());
+  }
+
+  @Test
+  public void givenRandomLists_whenTested_thenSameResultAsList() {
+    Random random = new Random(1);
+    for (int i = 0; i < 1_000; i++) {
+      List<Integer> list = IntStream.range(0, 20).mapToObj(j -> random.nextInt(5)).collect(toList());
+      Predicate<Integer>[] predicates = predicates(random.nextInt(4), random);
+      assertEquals(
+          "list:" + list,
+          Cursors.findElements(predicates).test(list),
+          Cursors.findElementsInStream(predicates).test(list.stream()));
+    }
+  }
+
+  @Test
+  public void givenManySkippedElements_whenRest_thenWindowIsBounded() {
+    Cursors.CursoredIterator<Integer> cursoredIterator = new Cursors.CursoredIterator<>(IntStream.range(0, 10_000).boxed().iterator());
+
+    assertTrue(cursoredIterator.findNext(isEqualTo(5_000)));
+    assertFalse(cursoredIterator.findNext(isEqualTo(-1)));
+
+    assertEquals(Cursors.MAX_SKIPPED_ELEMENTS_IN_REPORT, cursoredIterator.window.size());
+    assertTrue(cursoredIterator.rest().toString().startsWith("<5001,5002,"));
+    assertTrue(cursoredIterator.rest().toString().endsWith(",...:skipped>"));
+  }
+
+  @Test
+  public void givenIterator_whenNotFound_thenReportIsComposed() {
+    Iterator<String> iterator = Stream.of("a", "b", "c").iterator();
+    try {
+      Validator.instance().requireArgument(iterator, Cursors.findElementsInIterator(isEqualTo("b"), isEqualTo("x")));
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("toCursoredIterator"));
+      return;
+    }
+    fail();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Predicate<Integer>[] predicates(int numPredicates, Random random) {
+    return IntStream.range(0, numPredicates).mapToObj(i -> isEqualTo(random.nextInt(5))).toArray(Predicate[]::new);
+  }
+}
@@ -0,0 +1,54 @@
+package com.github.dakusui.pcond.experimentals.cursor;
+
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A pattern is searched for in the rest of a string, as if the rest were a separate string.
+ */
+public class FindRegexPatternsTest extends TestBase {
+  @Test
+  public void givenLiteralPatterns_whenFoundInOrder_thenTrue() {
+    assertTrue(Cursors.findRegexes("abc", "def", "abc").test("abc def abc"));
+  }
+
+  @Test
+  public void givenLiteralPatterns_whenNotFoundInOrder_thenFalse() {
+    assertFalse(Cursors.findRegexes("def", "abc", "def").test("abc def abc"));
+  }
+
+  @Test
+  public void givenAnchor_whenRestStartsWithPattern_thenTrue() {
+    assertTrue(Cursors.findRegexes("abc", "^ def").test("abc def"));
+  }
+
+  @Test
+  public void givenAnchor_whenRestDoesNotStartWithPattern_thenFalse() {
+    assertFalse(Cursors.findRegexes("abc", "^def").test("abc def"));
+  }
+
+  @Test
+  public void givenLookbehind_whenItLooksBeforeRest_thenFalse() {
+    assertFalse(Cursors.findRegexes("x", "(?<=x)a").test("xa"));
+  }
+
+  @Test
+  public void givenCaseInsensitivePattern_whenFound_thenTrue() {
+    assertTrue(Cursors.findRegexPatterns(Pattern.compile("ABC", Pattern.CASE_INSENSITIVE), Pattern.compile("def")).test("abc def"));
+  }
+
+  @Test
+  public void givenLiteralFlag_whenMetaCharactersAppearAsTheyAre_thenTrue() {
+    assertTrue(Cursors.findRegexPatterns(Pattern.compile("a.c", Pattern.LITERAL), Pattern.compile("a.c")).test("a.c abc"));
+  }
+
+  @Test
+  public void givenLiteralFlag_whenMetaCharactersDoNotAppearAsTheyAre_thenFalse() {
+    assertFalse(Cursors.findRegexPatterns(Pattern.compile("a.c", Pattern.LITERAL)).test("abc"));
+  }
+}
@@ -0,0 +1,80 @@
+package com.github.dakusui.pcond.experimentals.cursor;
+
+import com.github.dakusui.pcond.forms.Predicates;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+/**
+ * A predicate returned by {@link Cursors} holds no state by itself, and it can be re-used and shared among threads.
+ */
+public class ReusableCursorsTest extends TestBase {
+  private static final String TEXT = "Gallia est omnis divisa in partes tres, quarum unum incolunt Belgae, aliam Acquitanii";
+
+  @Test
+  public void givenSubstringsPredicate_whenReused_thenReportIsSameAsFresh() {
+    Supplier<Predicate<String>> predicate = () -> Cursors.findSubstrings("Gallia", "Belgium", "quarum", "Acquitanii");
+    Predicate<String> reused = predicate.get();
+    assertTrue(reused.test("Gallia Belgium quarum Acquitanii"));
+    String message = messageOfFailure(TEXT, predicate.get());
+
+    assertEquals(message, messageOfFailure(TEXT, reused));
+    assertEquals(message, messageOfFailure(TEXT, reused));
+  }
+
+  @Test
+  public void givenRegexesPredicate_whenReused_thenReportIsSameAsFresh() {
+    Supplier<Predicate<String>> predicate = () -> Cursors.findRegexes("Gall.a", "Belgium", "quar.m");
+    Predicate<String> reused = predicate.get();
+    String message = messageOfFailure(TEXT, predicate.get());
+
+    assertEquals(message, messageOfFailure(TEXT, reused));
+    assertEquals(message, messageOfFailure(TEXT, reused));
+  }
+
+  @Test
+  public void givenElementsPredicate_whenReused_thenReportIsSameAsFresh() {
+    Supplier<Predicate<List<String>>> predicate = () -> Cursors.findElements(Predicates.isEqualTo("b"), Predicates.isEqualTo("x"), Predicates.isEqualTo("d"));
+    Predicate<List<String>> reused = predicate.get();
+    List<String> value = asList("a", "b", "c", "d");
+    String message = messageOfFailure(value, predicate.get());
+
+    assertEquals(message, messageOfFailure(value, reused));
+    assertEquals(message, messageOfFailure(value, reused));
+  }
+
+  @Test
+  public void givenSubstringsPredicate_whenSharedAmongThreads_thenResultsAreConsistent() throws Exception {
+    Predicate<String> shared = Cursors.findSubstrings("Gallia", "quarum", "Belgae");
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new CopyOnWriteArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        String value = i % 2 == 0 ? TEXT : "Belgae quarum Gallia";
+        boolean expected = i % 2 == 0;
+        results.add(executorService.submit(() -> shared.test(value) == expected));
+      }
+      for (Future<Boolean> each : results)
+        assertTrue(each.get());
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  private static <T> String messageOfFailure(T value, Predicate<? super T> predicate) {
+    try {
+      Validator.instance().requireArgument(value, predicate);
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    throw new AssertionError("Validation should have failed.");
+  }
+}
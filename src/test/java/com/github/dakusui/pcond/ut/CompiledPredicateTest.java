@@ -0,0 +1,137 @@
+package com.github.dakusui.pcond.ut;
+
+import com.github.dakusui.pcond.core.CompiledPredicate;
+import com.github.dakusui.pcond.core.Evaluable;
+import com.github.dakusui.pcond.core.EvaluableIo;
+import com.github.dakusui.pcond.core.EvaluationContext;
+import com.github.dakusui.pcond.core.Evaluator;
+import com.github.dakusui.pcond.core.printable.PrintablePredicate;
+import com.github.dakusui.pcond.forms.Printables;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Functions.*;
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.*;
+
+public class CompiledPredicateTest extends TestBase {
+  @Test
+  public void givenLeaf_whenTested_thenSameAsOriginal() {
+    assertSameResults(isNotNull(), "hello", null);
+  }
+
+  @Test
+  public void givenConjunctions_whenTested_thenSameAsOriginal() {
+    assertSameResults(and(isNotNull(), startsWith("h"), endsWith("o")), "hello", "hell", "", "o");
+    assertSameResults(allOf(isNotNull(), startsWith("h"), endsWith("o")), "hello", "hell", "", "o");
+  }
+
+  @Test
+  public void givenDisjunctions_whenTested_thenSameAsOriginal() {
+    assertSameResults(or(isEqualTo("a"), startsWith("h"), endsWith("o")), "hello", "a", "", "o", "x");
+    assertSameResults(anyOf(isEqualTo("a"), startsWith("h"), endsWith("o")), "hello", "a", "", "o", "x");
+  }
+
+  @Test
+  public void givenNestedJunctionsAndNegation_whenTested_thenSameAsOriginal() {
+    assertSameResults(
+        and(or(isEqualTo("a"), not(startsWith("h"))), anyOf(allOf(endsWith("o"), not(isEmptyString())), isEqualTo("x"))),
+        "hello", "a", "", "o", "x", "bo");
+  }
+
+  @Test
+  public void givenTransformations_whenTested_thenSameAsOriginal() {
+    assertSameResults(
+        allOf(
+            transform(length()).check(gt(2)),
+            transform(length().andThen(stringify())).check(transform(length()).check(isEqualTo(1))),
+            isNotNull()),
+        "hello", "a", "", "abcdefghij");
+  }
+
+  @Test
+  public void givenStreamPredicates_whenTested_thenSameAsOriginal() {
+    Predicate<List<String>> p = and(
+        transform(stream(String.class)).check(allMatch(isNotNull())),
+        transform(stream(String.class)).check(anyMatch(startsWith("h"))),
+        transform(stream(String.class)).check(noneMatch(isEmptyString())));
+    assertSameResults(p, asList("hello", "world"), asList("world", ""), asList("hello", null), asList("a", "b"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void givenThrowingLeaf_whenTested_thenExceptionIsThrown() {
+    CompiledPredicate.compile(evaluable(and(isNotNull(), Printables.predicate("throwing", v -> {
+      throw new IllegalStateException();
+    })))).test("hello");
+  }
+
+  @Test
+  public void givenPrintablePredicate_whenCompiledTwice_thenCachedOneIsReturned() {
+    PrintablePredicate<String> p = (PrintablePredicate<String>) and(isNotNull(), startsWith("h"));
+    assertSame(p.compiled(), p.compiled());
+  }
+
+  @Test
+  public void givenPredicateWithUnknownNode_whenCompiledTwice_thenPlaceholderIsCachedAfterOneAttempt() {
+    PredicateWithUnknownNode p = new PredicateWithUnknownNode();
+    CompiledPredicate<String> compiled = p.compiled();
+
+    assertSame(compiled, p.compiled());
+    assertFalse(compiled.isReplayable());
+    assertEquals(1, p.compilationAttempts);
+  }
+
+  @Test
+  public void givenPredicateWithUnknownNode_whenTestedWithoutEvaluatorRepeatedly_thenFallsBackWithoutRecompilation() {
+    PredicateWithUnknownNode p = new PredicateWithUnknownNode();
+
+    assertFalse(Validator.passesWithoutEvaluator("hello", p));
+    assertFalse(Validator.passesWithoutEvaluator("hello", p));
+    assertEquals(1, p.compilationAttempts);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void givenPredicateWithUnknownNode_whenPlaceholderIsTested_thenUnsupportedOperationExceptionIsThrown() {
+    new PredicateWithUnknownNode().compiled().test("hello");
+  }
+
+  @SafeVarargs
+  private static <T> void assertSameResults(Predicate<T> p, T... values) {
+    CompiledPredicate<T> compiled = CompiledPredicate.compile(evaluable(p));
+    for (T each : values)
+      assertEquals("value:" + each, p.test(each), compiled.test(each));
+  }
+
+  /**
+   * A negation whose target is neither a predicate nor a node known to {@link CompiledPredicate}.
+   */
+  private static class PredicateWithUnknownNode extends PrintablePredicate<String> implements Evaluable.Negation<String> {
+    int compilationAttempts = 0;
+
+    PredicateWithUnknownNode() {
+      super(new Object(), emptyList(), () -> "predicateWithUnknownNode", v -> true);
+    }
+
+    @Override
+    public Evaluable<String> target() {
+      compilationAttempts++;
+      return new Evaluable<String>() {
+        @Override
+        public <O> void accept(EvaluableIo<String, Evaluable<String>, O> evaluableIo, EvaluationContext<String> evaluationContext, Evaluator evaluator) {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Evaluable<T> evaluable(Predicate<T> p) {
+    return (Evaluable<T>) p;
+  }
+}
@@ -83,6 +83,45 @@ public class CurryingTest extends TestBase {
     }
   }
 
+  @Test
+  public void givenCurriedFunction$whenApplyAll$thenSameResultAsAppliedOneByOne() {
+    assertEquals("1+2=3", Utils.example().applyAll(1, 2));
+    assertEquals("2+3=5", Utils.example().applyAll((short) 2, 3));
+  }
+
+  @Test
+  public void givenOngoingCurriedFunction$whenApplyAllRest$thenExpectedResultReturned() {
+    CurriedFunction<Object, Object> curried = Utils.example().applyNext(1);
+    assertEquals("1+2=3", curried.applyAll(2));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void givenCurriedFunction$whenApplyAllMoreThanExpected$thenNoSuchElementIsThrown() {
+    Utils.example().applyAll(1, 2, 3);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void givenCurriedFunction$whenApplyAllLessThanExpected$thenIllegalStateIsThrown() {
+    Utils.example().applyAll(1);
+  }
+
+  @Test
+  public void givenCurriedFunction$whenApplyAllWithInvalidArg$thenSameMessageAsAppliedOneByOne() {
+    String expected = messageOfIllegalArgument(() -> Utils.example().applyNext(1).applyLast("InvalidArgString"));
+    String actual = messageOfIllegalArgument(() -> Utils.example().applyAll(1, "InvalidArgString"));
+
+    assertEquals(expected, actual);
+  }
+
+  @Test(expected = IntentionalException.class)
+  public void givenExceptionThrowingFunction$whenApplyAll$thenThrown() throws Throwable {
+    try {
+      Utils.exceptionThrowingMethod().applyAll("Hello", "World");
+    } catch (InternalException e) {
+      throw e.getCause();
+    }
+  }
+
   @Test
   public void test3() {
     CurriedFunction<Object, Object> curried = Utils.example();
@@ -187,6 +226,15 @@ public class CurryingTest extends TestBase {
     }
   }
 
+  private static String messageOfIllegalArgument(Runnable runnable) {
+    try {
+      runnable.run();
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    throw new AssertionError("IllegalArgumentException should have been thrown.");
+  }
+
   public static class Utils {
     public static CurriedFunction<Object, Object> example() {
       return curry(TestMethodHolder.class, "example", int.class, int.class);
@@ -0,0 +1,90 @@
+package com.github.dakusui.pcond.ut;
+
+import com.github.dakusui.pcond.core.*;
+import com.github.dakusui.pcond.core.printable.PrintablePredicate;
+import com.github.dakusui.pcond.forms.Printables;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.*;
+
+public class EvaluationEntryTest extends TestBase {
+  @Test
+  public void whenEvaluated_thenFormNamesAreNotComputedUntilRequested() {
+    AtomicInteger counter = new AtomicInteger(0);
+    Predicate<String> leaf = Printables.predicate(() -> "counting[" + counter.incrementAndGet() + "]", v -> false);
+
+    List<EvaluationEntry> entries = evaluate(and(isNotNull(), leaf), "hello");
+    assertEquals(0, counter.get());
+
+    entries.forEach(EvaluationEntry::formName);
+    entries.forEach(EvaluationEntry::detailOutputExpectation);
+    assertEquals(2, counter.get());
+  }
+
+  @Test
+  public void whenFormNameIsRequestedTwice_thenComputedOnlyOnce() {
+    AtomicInteger counter = new AtomicInteger(0);
+    Predicate<String> leaf = Printables.predicate(() -> "counting[" + counter.incrementAndGet() + "]", v -> false);
+
+    List<EvaluationEntry> entries = evaluate(and(isNotNull(), leaf), "hello");
+    EvaluationEntry entry = entries.get(entries.size() - 1);
+
+    assertEquals(entry.formName(), entry.formName());
+    assertEquals(1, counter.get());
+  }
+
+  @Test
+  public void givenStatefulExplainable_whenStateChangesAfterEvaluation_thenActualValueAtEvaluationIsReported() {
+    StringBuilder value = new StringBuilder("hello");
+    List<EvaluationEntry> entries = evaluate(new StatefulExplainable(), value);
+    value.append(", world");
+
+    Object detailOutputActualValue = entries.get(entries.size() - 1).detailOutputActualValue();
+    assertTrue(detailOutputActualValue.toString().contains("Input: 'hello'"));
+    assertFalse(detailOutputActualValue.toString().contains("world"));
+  }
+
+  /**
+   * An explainable leaf, whose explanations are not deferrable since it doesn't override `isExplanationDeferrable()`.
+   */
+  private static class StatefulExplainable extends PrintablePredicate<StringBuilder> implements Evaluable.LeafPred<StringBuilder>, Evaluator.Explainable {
+    StatefulExplainable() {
+      super(new Object(), emptyList(), () -> "stateful", v -> {
+        throw new IllegalStateException("intentional");
+      });
+    }
+
+    @Override
+    public Predicate<? super StringBuilder> predicate() {
+      return this.predicate;
+    }
+
+    @Override
+    public Object explainOutputExpectation() {
+      return this.toString();
+    }
+
+    @Override
+    public Object explainActual(Object actualValue) {
+      return actualValue.toString();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<EvaluationEntry> evaluate(Predicate<T> predicate, T value) {
+    Evaluable<T> evaluable = (Evaluable<T>) predicate;
+    EvaluationContext<T> evaluationContext = new EvaluationContext<>();
+    evaluable.accept(
+        new EvaluableIo<>(ValueHolder.forValue(value), EvaluationContext.resolveEvaluationEntryType(evaluable), evaluable),
+        evaluationContext,
+        Evaluator.create());
+    return evaluationContext.resultEntries();
+  }
+}
@@ -0,0 +1,92 @@
+package com.github.dakusui.pcond.ut;
+
+import com.github.dakusui.pcond.core.*;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+
+import static com.github.dakusui.pcond.forms.Functions.length;
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class EvaluationListenerTest extends TestBase {
+  @Test
+  public void whenValueIsValidatedByEvaluator_thenListenerIsNotified() {
+    List<String> events = new LinkedList<>();
+    Validator validator = createValidator(new EvaluationListener() {
+      @Override
+      public <T> void enter(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+        events.add("enter:" + type);
+      }
+
+      @Override
+      public <T> void leave(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+        events.add("leave:" + type);
+      }
+
+      @Override
+      public <T> void leafResult(EvaluationContext<T> evaluationContext, EvaluableIo<T, ?, ?> evaluableIo) {
+        events.add("leaf:" + evaluableIo.output().returnedValue());
+      }
+    });
+
+    assertEquals("hello", validator.requireArgument("hello", and(isNotNull(), not(isEmptyString()))));
+    assertEquals(
+        asList(
+            "enter:AND",
+            "enter:LEAF", "leave:LEAF", "leaf:true",
+            "enter:NOT", "enter:LEAF", "leave:LEAF", "leaf:false", "leave:NOT",
+            "leave:AND"),
+        events);
+  }
+
+  @Test
+  public void whenTransformationIsEvaluated_thenEnterAndLeaveAreBalanced() {
+    int[] depth = new int[1];
+    int[] maxDepth = new int[1];
+    Validator validator = createValidator(new EvaluationListener() {
+      @Override
+      public <T> void enter(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+        maxDepth[0] = Math.max(maxDepth[0], ++depth[0]);
+      }
+
+      @Override
+      public <T> void leave(EvaluationContext<T> evaluationContext, EvaluationEntry.Type type, EvaluableIo<T, ?, ?> evaluableIo) {
+        depth[0]--;
+      }
+    });
+
+    try {
+      validator.requireArgument("hello", transform(length()).check(gt(10)));
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals(0, depth[0]);
+      assertTrue(maxDepth[0] > 1);
+    }
+  }
+
+  @Test
+  public void givenDebugPrinting_whenEvaluated_thenStepsArePrinted() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    createValidator(new EvaluationListener.DebugPrinting(new PrintStream(out))).requireArgument("hello", isNotNull());
+
+    assertTrue(out.toString().startsWith("ENTER:LEAF:isNotNull("));
+    assertTrue(out.toString().contains("LEAVE:LEAF:isNotNull("));
+  }
+
+  private static Validator createValidator(EvaluationListener evaluationListener) {
+    Properties properties = new Properties();
+    properties.setProperty("fastPass", "false");
+    return new Validator.Impl(Validator.configurationFromProperties(properties)
+        .parentBuilder()
+        .evaluationListener(evaluationListener)
+        .build());
+  }
+}
@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.util.function.Predicate;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
 import static junit.framework.TestCase.*;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -284,6 +285,19 @@ public class InternalUtilsTest {
     }
   }
 
+  public static class CompilePatternTest extends TestBase {
+    @Test
+    public void givenSameRegex_whenCompiledTwice_thenSamePatternIsReturned() {
+      assertSame(InternalUtils.compilePattern("hello.+"), InternalUtils.compilePattern("hello.+"));
+    }
+
+    @Test
+    public void givenManyRegexes_whenCompiled_thenEachMatchesItsOwnRegex() {
+      for (int i = 0; i < 1000; i++)
+        assertTrue(InternalUtils.compilePattern("a{" + i + "}").matcher(String.join("", nCopies(i, "a"))).matches());
+    }
+  }
+
   public static class GetMethodTest {
     @Test(expected = InternalException.class)
     public void testGetMethod() {
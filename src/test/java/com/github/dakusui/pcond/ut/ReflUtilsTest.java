@@ -1,17 +1,25 @@
 package com.github.dakusui.pcond.ut;
 
 import com.github.dakusui.pcond.core.refl.ReflUtils;
+import com.github.dakusui.pcond.internals.InternalException;
+import com.github.dakusui.pcond.internals.MethodAmbiguous;
+import com.github.dakusui.pcond.internals.MethodInvocationException;
+import com.github.dakusui.pcond.internals.MethodNotFound;
 import com.github.dakusui.shared.utils.ut.TestBase;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import static org.junit.Assert.assertEquals;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
 
 public class ReflUtilsTest extends TestBase {
   @Test
@@ -36,6 +44,101 @@ public class ReflUtilsTest extends TestBase {
 
   }
 
+  @Test
+  public void givenSameArgumentClasses_whenFindMethodTwice_thenSameMethodIsReturned() throws NoSuchMethodException {
+    Method method = ReflUtils.findMethod(String.class, "substring", new Object[] { 1, 3 });
+
+    assertEquals(String.class.getMethod("substring", int.class, int.class), method);
+    assertSame(method, ReflUtils.findMethod(String.class, "substring", new Object[] { 2, 4 }));
+  }
+
+  @Test
+  public void givenDifferentArgumentClasses_whenFindMethod_thenResolvedForEach() throws NoSuchMethodException {
+    assertEquals(TestClass3.class.getMethod("overloaded", String.class), ReflUtils.findMethod(TestClass3.class, "overloaded", new Object[] { "hello" }));
+    assertEquals(TestClass3.class.getMethod("overloaded", Integer.class), ReflUtils.findMethod(TestClass3.class, "overloaded", new Object[] { 123 }));
+  }
+
+  @Test
+  public void givenNullArgument_whenFindMethod_thenDistinguishedFromNonNull() {
+    assertTrue(exceptionThrownBy(() -> ReflUtils.findMethod(TestClass3.class, "overloaded", new Object[] { null })) instanceof MethodAmbiguous);
+    assertEquals(String.class, ReflUtils.findMethod(TestClass3.class, "overloaded", new Object[] { "hello" }).getParameterTypes()[0]);
+  }
+
+  @Test
+  public void givenMethodNotFound_whenFindMethodTwice_thenEachExceptionHasItsArguments() {
+    RuntimeException first = exceptionThrownBy(() -> ReflUtils.findMethod(TestClass3.class, "overloaded", new Object[] { 1.5 }));
+    RuntimeException second = exceptionThrownBy(() -> ReflUtils.findMethod(TestClass3.class, "overloaded", new Object[] { 2.5 }));
+
+    assertTrue(first instanceof MethodNotFound);
+    assertThat(first.getMessage(), containsString("overloaded[1.5]"));
+    assertThat(second.getMessage(), containsString("overloaded[2.5]"));
+  }
+
+  @Test
+  public void givenMoreSignaturesThanCacheSize_whenFindMethod_thenStillResolved() throws NoSuchMethodException {
+    Method expected = TestClass3.class.getMethod("any", Object.class);
+    for (int i = 0; i < 1_000; i++) {
+      Object arg = i % 2 == 0 ? new Object[i % 7] : new int[i % 5][];
+      assertEquals(expected, ReflUtils.findMethod(TestClass3.class, "any", new Object[] { arg }));
+      assertTrue(exceptionThrownBy(() -> ReflUtils.findMethod(TestClass3.class, "missing" + arg.hashCode(), new Object[] { arg })) instanceof MethodNotFound);
+    }
+  }
+
+  @Test
+  public void givenThrowingMethod_whenInvokeMethod_thenWrappedWithThrownException() throws NoSuchMethodException {
+    Method method = TestClass3.class.getMethod("fail", String.class);
+    RuntimeException e = exceptionThrownBy(() -> ReflUtils.invokeMethod(method, new TestClass3(), new Object[] { "intentional" }));
+
+    assertTrue(e instanceof MethodInvocationException);
+    assertTrue(e.getCause() instanceof IllegalStateException);
+    assertEquals("intentional", e.getCause().getMessage());
+  }
+
+  @Test
+  public void givenArgumentToBeWidened_whenInvokeMethod_thenInvoked() throws NoSuchMethodException {
+    assertEquals(4L, (long) ReflUtils.invokeMethod(TestClass3.class.getMethod("twice", long.class), new TestClass3(), new Object[] { 2 }));
+    assertEquals(6L, (long) ReflUtils.invokeMethod(TestClass3.class.getMethod("twice", long.class), new TestClass3(), new Object[] { 3L }));
+  }
+
+  @Test
+  public void givenVoidMethod_whenInvokeMethod_thenNullReturned() throws NoSuchMethodException {
+    assertNull(ReflUtils.invokeMethod(TestClass3.class.getMethod("doNothing"), new TestClass3(), new Object[0]));
+  }
+
+  @Test
+  public void givenPublicMethodInPrivateClass_whenInvokeMethod_thenInvokedWithoutChangingAccessibleFlag() throws NoSuchMethodException {
+    Method method = PrivateClass.class.getMethod("get");
+
+    assertEquals("hello", ReflUtils.invokeMethod(method, new PrivateClass(), new Object[0]));
+    assertFalse(method.isAccessible());
+  }
+
+  @Test
+  public void givenMethodOfJdkInternalClass_whenFindMethodAndInvokeMethod_thenInvoked() {
+    Object target = Collections.unmodifiableList(Arrays.asList("a", "b"));
+    Method method = ReflUtils.findMethod(target.getClass(), "size", new Object[0]);
+
+    assertEquals("size", method.getName());
+    assertEquals(2, (int) ReflUtils.invokeMethod(method, target, new Object[0]));
+  }
+
+  @Test
+  public void givenThrowingStaticMethod_whenInvokeStaticMethod_thenWrappedWithThrownException() throws NoSuchMethodException {
+    Method method = TestClass3.class.getMethod("failStatically", String.class);
+    RuntimeException e = exceptionThrownBy(() -> ReflUtils.invokeStaticMethod(method, new Object[] { "intentional" }));
+
+    assertTrue(e instanceof InternalException);
+    assertTrue(e.getCause() instanceof IllegalStateException);
+  }
+
+  private static RuntimeException exceptionThrownBy(Runnable runnable) {
+    try {
+      runnable.run();
+    } catch (RuntimeException e) {
+      return e;
+    }
+    throw new AssertionError("An exception should have been thrown.");
+  }
 
   public static class TestClass1 {
     public void testHello() {
@@ -52,4 +155,40 @@ public class ReflUtilsTest extends TestBase {
     public void testWorld2() {
     }
   }
+
+  public static class TestClass3 {
+    public String overloaded(String s) {
+      return s;
+    }
+
+    public Integer overloaded(Integer i) {
+      return i;
+    }
+
+    public Object any(Object o) {
+      return o;
+    }
+
+    public long twice(long v) {
+      return v * 2;
+    }
+
+    public void doNothing() {
+    }
+
+    public String fail(String message) {
+      throw new IllegalStateException(message);
+    }
+
+    public static String failStatically(String message) {
+      throw new IllegalStateException(message);
+    }
+  }
+
+  private static class PrivateClass implements Supplier<String> {
+    @Override
+    public String get() {
+      return "hello";
+    }
+  }
 }
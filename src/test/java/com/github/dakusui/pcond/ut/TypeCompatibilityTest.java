@@ -0,0 +1,60 @@
+package com.github.dakusui.pcond.ut;
+
+import com.github.dakusui.pcond.internals.TypeCompatibility;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.io.Serializable;
+
+import static com.github.dakusui.pcond.internals.TypeCompatibility.isAssignableWithBoxingFrom;
+import static com.github.dakusui.pcond.internals.TypeCompatibility.isValidValueClassForType;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TypeCompatibilityTest extends TestBase {
+  @Test
+  public void givenSubclass_whenIsAssignableWithBoxingFrom_thenTrue() {
+    assertTrue(isAssignableWithBoxingFrom(Serializable.class, String.class));
+    assertTrue(isAssignableWithBoxingFrom(Object.class, Integer.class));
+  }
+
+  @Test
+  public void givenUnrelatedClasses_whenIsAssignableWithBoxingFrom_thenFalse() {
+    assertFalse(isAssignableWithBoxingFrom(String.class, Object.class));
+    assertFalse(isAssignableWithBoxingFrom(Integer.class, String.class));
+  }
+
+  @Test
+  public void givenPrimitivesAndWrappers_whenIsAssignableWithBoxingFrom_thenWideningIsAllowed() {
+    assertTrue(isAssignableWithBoxingFrom(int.class, Integer.class));
+    assertTrue(isAssignableWithBoxingFrom(Integer.class, int.class));
+    assertTrue(isAssignableWithBoxingFrom(long.class, Integer.class));
+    assertTrue(isAssignableWithBoxingFrom(Long.class, int.class));
+    assertFalse(isAssignableWithBoxingFrom(int.class, Long.class));
+    assertFalse(isAssignableWithBoxingFrom(boolean.class, Integer.class));
+  }
+
+  @Test
+  public void givenPrimitiveParameter_whenIsValidValueClassForType_thenWideningIsAllowed() {
+    assertTrue(isValidValueClassForType(int.class, Integer.class));
+    assertTrue(isValidValueClassForType(int.class, Short.class));
+    assertTrue(isValidValueClassForType(double.class, Float.class));
+    assertFalse(isValidValueClassForType(int.class, Long.class));
+    assertFalse(isValidValueClassForType(int.class, String.class));
+  }
+
+  @Test
+  public void givenWrapperParameter_whenIsValidValueClassForType_thenWideningIsNotAllowed() {
+    assertTrue(isValidValueClassForType(Long.class, Long.class));
+    assertFalse(isValidValueClassForType(Long.class, Integer.class));
+    assertTrue(isValidValueClassForType(Number.class, Integer.class));
+  }
+
+  @Test
+  public void givenSameQuestionTwice_whenAsked_thenSameAnswer() {
+    for (int i = 0; i < 2; i++) {
+      assertTrue(TypeCompatibility.isValidValueClassForType(CharSequence.class, String.class));
+      assertFalse(TypeCompatibility.isValidValueClassForType(String.class, CharSequence.class));
+    }
+  }
+}
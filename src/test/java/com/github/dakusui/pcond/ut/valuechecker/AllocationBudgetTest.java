@@ -0,0 +1,104 @@
+package com.github.dakusui.pcond.ut.valuechecker;
+
+import com.github.dakusui.pcond.forms.Printables;
+import com.github.dakusui.pcond.validator.PredicateMetrics;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static java.lang.String.format;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that passing values go through a validator without allocating more than a small, fixed number of bytes per call.
+ * Allocated bytes are measured by `com.sun.management.ThreadMXBean#getThreadAllocatedBytes` after warming up,
+ * so that the JIT compiler has a chance to eliminate allocations which don't escape.
+ *
+ * Budgets are deliberately generous to absorb differences between JVMs.
+ * A failure of this test means a change added allocations proportional to the number of calls on the passing path.
+ */
+public class AllocationBudgetTest extends TestBase {
+  private static final int NUM_WARMUP_CALLS   = 200_000;
+  private static final int NUM_MEASURED_CALLS = 100_000;
+
+  private static final Predicate<String> ALL_OF = allOf(isNotNull(), not(isEmptyString()), containsString(" "));
+
+  private static final Predicate<String> ALL_OF_WITH_PRINTABLE = allOf(isNotNull(), Printables.predicate("hasSpace", s -> s.indexOf(' ') >= 0));
+
+  private static com.sun.management.ThreadMXBean threadMXBean;
+
+  private final Validator validator = createValidator();
+
+  @BeforeClass
+  public static void checkAllocationMeasurementIsSupported() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+    threadMXBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  public void requireNonNull() {
+    assertAllocationPerCallIsWithin(128, () -> validator.requireNonNull("John Doe"));
+  }
+
+  @Test
+  public void requireArgumentWithIsNotNull() {
+    assertAllocationPerCallIsWithin(128, () -> validator.requireArgument("John Doe", isNotNull()));
+  }
+
+  /**
+   * Unlike `isNotNull()`, `gt(10)` creates a new predicate on every call, which is included in the budget.
+   */
+  @Test
+  public void requireArgumentWithGt() {
+    assertAllocationPerCallIsWithin(640, () -> validator.requireArgument(100, gt(10)));
+  }
+
+  @Test
+  public void requireArgumentWithAllOf() {
+    assertAllocationPerCallIsWithin(256, () -> validator.requireArgument("John Doe", ALL_OF));
+  }
+
+  /**
+   * The key of an entry of metrics is cached in the predicate, so recording a check doesn't allocate.
+   */
+  @Test
+  public void requireArgumentWithMetrics() {
+    Validator validator = new Validator.Impl(Validator.configurationFromProperties(fastPassProperties())
+        .parentBuilder()
+        .metrics(new PredicateMetrics(10, false))
+        .build());
+    assertAllocationPerCallIsWithin(256, () -> validator.requireArgument("John Doe", ALL_OF_WITH_PRINTABLE));
+  }
+
+  private static void assertAllocationPerCallIsWithin(long budgetInBytes, Runnable call) {
+    for (int i = 0; i < NUM_WARMUP_CALLS; i++)
+      call.run();
+    long threadId = Thread.currentThread().getId();
+    long before = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < NUM_MEASURED_CALLS; i++)
+      call.run();
+    long allocatedPerCall = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / NUM_MEASURED_CALLS;
+    assertTrue(
+        format("Allocated %s bytes per call, which exceeds the budget: %s bytes", allocatedPerCall, budgetInBytes),
+        allocatedPerCall <= budgetInBytes);
+  }
+
+  private static Validator createValidator() {
+    return new Validator.Impl(Validator.configurationFromProperties(fastPassProperties()));
+  }
+
+  private static Properties fastPassProperties() {
+    Properties properties = new Properties();
+    properties.setProperty("fastPass", "true");
+    return properties;
+  }
+}
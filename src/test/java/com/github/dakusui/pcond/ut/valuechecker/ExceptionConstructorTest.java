@@ -0,0 +1,53 @@
+package com.github.dakusui.pcond.ut.valuechecker;
+
+import com.github.dakusui.pcond.validator.ExceptionComposer;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.ComparisonFailure;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class ExceptionConstructorTest extends TestBase {
+  @Test
+  public void givenComparisonFailure_whenCreateTwice_thenCreatedWithArguments() {
+    ExceptionComposer.Utils.ExceptionConstructor constructor = new ExceptionComposer.Utils.ExceptionConstructor("org.junit.ComparisonFailure", String.class, String.class, String.class);
+    for (int i = 0; i < 2; i++) {
+      ComparisonFailure e = (ComparisonFailure) constructor.create("message" + i, "expected", "actual");
+      assertThat(e.getMessage(), startsWith("message" + i));
+      assertEquals("expected", e.getExpected());
+      assertEquals("actual", e.getActual());
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void givenAbsentClass_whenCreate_thenRuntimeExceptionCausedByClassNotFound() {
+    try {
+      new ExceptionComposer.Utils.ExceptionConstructor("com.example.NotPresentException", String.class).create("message");
+    } catch (RuntimeException e) {
+      assertThat(e.getMessage(), allOf(containsString("com.example.NotPresentException"), containsString("(NOT FOUND)")));
+      assertThat(e.getCause(), instanceOf(ClassNotFoundException.class));
+      throw e;
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void givenUndefinedConstructor_whenCreate_thenRuntimeException() {
+    try {
+      new ExceptionComposer.Utils.ExceptionConstructor("org.junit.ComparisonFailure", String.class).create("message");
+    } catch (RuntimeException e) {
+      assertThat(e.getMessage(), containsString("FAILED TO INSTANTIATE EXCEPTION"));
+      assertThat(e.getCause(), instanceOf(ReflectiveOperationException.class));
+      throw e;
+    }
+  }
+
+  @Test
+  public void whenIsClassPresent_thenPresenceIsAnswered() {
+    for (int i = 0; i < 2; i++) {
+      assertTrue(ExceptionComposer.Utils.isClassPresent("org.junit.ComparisonFailure"));
+      assertFalse(ExceptionComposer.Utils.isClassPresent("com.example.NotPresentException"));
+    }
+  }
+}
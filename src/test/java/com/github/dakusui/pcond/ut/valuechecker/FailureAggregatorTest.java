@@ -0,0 +1,154 @@
+package com.github.dakusui.pcond.ut.valuechecker;
+
+import com.github.dakusui.pcond.forms.Printables;
+import com.github.dakusui.pcond.validator.FailureAggregator;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Functions.stringify;
+import static com.github.dakusui.pcond.forms.Predicates.and;
+import static com.github.dakusui.pcond.forms.Predicates.isEmptyString;
+import static com.github.dakusui.pcond.forms.Predicates.isNotNull;
+import static com.github.dakusui.pcond.forms.Predicates.isNull;
+import static com.github.dakusui.pcond.forms.Predicates.transform;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class FailureAggregatorTest extends TestBase {
+  private static final long ONE_HOUR = TimeUnit.HOURS.toNanos(1);
+
+  @Test
+  public void givenRepeatedFailures_whenMoreThanMaxReportsInWindow_thenReportsAreOmitted() {
+    FailureAggregator aggregator = new FailureAggregator(2, ONE_HOUR, 10);
+    Validator validator = createValidator(aggregator);
+    List<String> messages = new ArrayList<>();
+
+    for (int i = 0; i < 5; i++)
+      messages.add(messageOfRequireArgument(validator, "hello", and(isNotNull(), isEmptyString())));
+
+    assertEquals(messages.get(0), messages.get(1));
+    assertThat(messages.get(0), allOf(containsString("Mismatch"), not(containsString("Report omitted"))));
+    for (int i = 2; i < 5; i++)
+      assertThat(messages.get(i), allOf(
+          containsString("Report omitted: the same failure as report #1 has occurred " + (i + 1) + " times"),
+          not(containsString("Mismatch"))));
+    FailureAggregator.Snapshot snapshot = aggregator.snapshot().get(0);
+    assertEquals(1, aggregator.snapshot().size());
+    assertEquals(1, snapshot.id());
+    assertEquals(5, snapshot.occurrences());
+    assertEquals(3, snapshot.omitted());
+    assertEquals(messages.get(0), snapshot.lastReport().trim());
+  }
+
+  @Test
+  public void givenFailuresForInputsOfDifferentClasses_whenAggregated_thenCountedSeparately() {
+    FailureAggregator aggregator = new FailureAggregator(1, ONE_HOUR, 10);
+    Validator validator = createValidator(aggregator);
+    Predicate<Object> cond = transform(stringify()).check(isEmptyString());
+
+    assertThat(messageOfRequireArgument(validator, "hello", cond), not(containsString("Report omitted")));
+    assertThat(messageOfRequireArgument(validator, 123, cond), not(containsString("Report omitted")));
+    assertThat(messageOfRequireArgument(validator, "world", cond), containsString("Report omitted"));
+    assertEquals(2, aggregator.snapshot().size());
+  }
+
+  @Test
+  public void givenValueModifiedAfterFailure_whenSnapshot_thenLastReportShowsValueAtFailure() {
+    FailureAggregator aggregator = new FailureAggregator(1, ONE_HOUR, 10);
+    Validator validator = createValidator(aggregator);
+    StringBuilder value = new StringBuilder("hello");
+
+    String message = messageOfRequireArgument(validator, value, transform(stringify()).check(isEmptyString()));
+    value.append(", world");
+
+    assertThat(aggregator.snapshot().get(0).lastReport(), allOf(containsString("hello"), not(containsString("world"))));
+    assertEquals(message, aggregator.snapshot().get(0).lastReport().trim());
+  }
+
+  @Test
+  public void givenShortWindow_whenRepeatedFailures_thenFullReportsAreComposed() {
+    FailureAggregator aggregator = new FailureAggregator(1, 1, 10);
+    Validator validator = createValidator(aggregator);
+
+    for (int i = 0; i < 3; i++)
+      assertThat(messageOfRequireArgument(validator, "hello", isEmptyString()), not(containsString("Report omitted")));
+  }
+
+  @Test
+  public void whenMaxEntriesIsReached_thenFullReportsAreComposedForOthers() {
+    FailureAggregator aggregator = new FailureAggregator(1, ONE_HOUR, 1);
+    Validator validator = createValidator(aggregator);
+
+    messageOfRequireArgument(validator, "hello", isEmptyString());
+    for (int i = 0; i < 2; i++)
+      assertThat(messageOfRequireArgument(validator, "hello", isNull()), not(containsString("Report omitted")));
+    assertEquals(1, aggregator.snapshot().size());
+  }
+
+  @Test
+  public void givenExpiredEntry_whenMaxEntriesIsReached_thenEvictedForNewKind() throws InterruptedException {
+    long window = TimeUnit.MILLISECONDS.toNanos(50);
+    FailureAggregator aggregator = new FailureAggregator(1, window, 1);
+    Validator validator = createValidator(aggregator);
+
+    messageOfRequireArgument(validator, "hello", isEmptyString());
+    TimeUnit.NANOSECONDS.sleep(window * 2);
+    messageOfRequireArgument(validator, "hello", isNull());
+
+    assertEquals(1, aggregator.snapshot().size());
+    assertEquals("isNull", aggregator.snapshot().get(0).name());
+    assertThat(messageOfRequireArgument(validator, "hello", isNull()), containsString("Report omitted"));
+  }
+
+  @Test
+  public void givenDifferentPrintablePredicates_whenAggregated_thenCountedSeparately() {
+    FailureAggregator aggregator = new FailureAggregator(1, ONE_HOUR, 10);
+    Validator validator = createValidator(aggregator);
+
+    messageOfRequireArgument(validator, "hello", Printables.predicate("isEmpty", String::isEmpty));
+    assertThat(
+        messageOfRequireArgument(validator, "hello", Printables.predicate("isBlank", (String s) -> s.trim().isEmpty())),
+        not(containsString("Report omitted")));
+    assertEquals(2, aggregator.snapshot().size());
+  }
+
+  @Test
+  public void whenReset_thenSnapshotIsEmpty() {
+    FailureAggregator aggregator = new FailureAggregator(1, ONE_HOUR, 10);
+    messageOfRequireArgument(createValidator(aggregator), "hello", isEmptyString());
+    aggregator.reset();
+
+    assertEquals(0, aggregator.snapshot().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenNonPositiveMaxReportsPerWindow_whenCreated_thenIllegalArgument() {
+    new FailureAggregator(0, ONE_HOUR, 10);
+  }
+
+  private static <T> String messageOfRequireArgument(Validator validator, T value, Predicate<? super T> cond) {
+    try {
+      validator.requireArgument(value, cond);
+    } catch (IllegalArgumentException e) {
+      return e.getMessage().trim();
+    }
+    fail();
+    throw new AssertionError();
+  }
+
+  private static Validator createValidator(FailureAggregator aggregator) {
+    return new Validator.Impl(Validator.configurationFromProperties(new Properties())
+        .parentBuilder()
+        .failureAggregator(aggregator)
+        .build());
+  }
+}
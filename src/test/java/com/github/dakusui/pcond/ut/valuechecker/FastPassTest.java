@@ -0,0 +1,97 @@
+package com.github.dakusui.pcond.ut.valuechecker;
+
+import com.github.dakusui.pcond.experimentals.cursor.Cursors;
+import com.github.dakusui.pcond.forms.Printables;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.github.dakusui.pcond.forms.Functions.length;
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static com.github.dakusui.pcond.ut.valuechecker.DefaultValidatorTest.newProperties;
+import static com.github.dakusui.pcond.ut.valuechecker.DefaultValidatorTest.useEvaluator;
+import static org.junit.Assert.*;
+
+public class FastPassTest extends TestBase {
+  @Test
+  public void givenPassingValue_whenFastPassEnabled_thenPredicateIsTestedOnlyOnce() {
+    AtomicInteger counter = new AtomicInteger(0);
+    String value = createValidator(true)
+        .requireArgument("Hello", and(isNotNull(), countingPredicate(counter), transform(length()).check(gt(1))));
+
+    assertEquals("Hello", value);
+    assertEquals(1, counter.get());
+  }
+
+  @Test
+  public void givenFailingValue_whenFastPassEnabled_thenReportIsSameAsWithoutFastPass() {
+    AtomicInteger counter = new AtomicInteger(0);
+    Predicate<String> cond = and(isNotNull(), countingPredicate(counter), transform(length()).check(gt(10)));
+
+    String withFastPass = messageOfFailure(createValidator(true), "Hello", cond);
+    assertEquals(2, counter.get());
+    String withoutFastPass = messageOfFailure(createValidator(false), "Hello", cond);
+
+    assertEquals(withoutFastPass, withFastPass);
+  }
+
+  @Test
+  public void givenThrowingPredicate_whenFastPassEnabled_thenReportIsSameAsWithoutFastPass() {
+    Predicate<String> cond = and(isNotNull(), Printables.predicate("throwing", v -> {
+      throw new IllegalStateException("intentional");
+    }));
+
+    assertEquals(
+        messageOfFailure(createValidator(false), "Hello", cond),
+        messageOfFailure(createValidator(true), "Hello", cond));
+  }
+
+  @Test
+  public void givenNonReplayablePredicate_whenFastPassEnabled_thenReportIsSameAsWithoutFastPass() {
+    String withFastPass = messageOfFailure(createValidator(true), "Hello, world", Cursors.findSubstrings("Hello", "everyone"));
+    String withoutFastPass = messageOfFailure(createValidator(false), "Hello, world", Cursors.findSubstrings("Hello", "everyone"));
+
+    assertEquals(withoutFastPass, withFastPass);
+  }
+
+  @Test
+  public void givenStream_whenFastPassEnabled_thenStreamIsConsumedOnlyByEvaluator() {
+    Stream<String> value = Stream.of("Hello", "world");
+
+    assertSame(value, createValidator(true).requireArgument(value, allMatch(isNotNull())));
+  }
+
+  @Test
+  public void givenNoFastPassProperty_whenConfigured_thenFastPassIsDisabled() {
+    assertFalse(Validator.configurationFromProperties(useEvaluator(newProperties(), true)).fastPass());
+    assertFalse(new Validator.Configuration.Builder().build().fastPass());
+  }
+
+  private static Validator createValidator(boolean fastPass) {
+    Properties properties = useEvaluator(newProperties(), true);
+    properties.setProperty("fastPass", Objects.toString(fastPass));
+    return new Validator.Impl(Validator.configurationFromProperties(properties));
+  }
+
+  private static Predicate<String> countingPredicate(AtomicInteger counter) {
+    return Printables.predicate("counting", v -> {
+      counter.incrementAndGet();
+      return true;
+    });
+  }
+
+  private static <T> String messageOfFailure(Validator validator, T value, Predicate<? super T> cond) {
+    try {
+      validator.requireArgument(value, cond);
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    throw new AssertionError("Validation should have failed.");
+  }
+}
@@ -0,0 +1,123 @@
+package com.github.dakusui.pcond.ut.valuechecker;
+
+import com.github.dakusui.pcond.core.EvaluationEntry;
+import com.github.dakusui.pcond.validator.Explanation;
+import com.github.dakusui.pcond.validator.ReportComposer;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.pcond.validator.exceptions.PostconditionViolationException;
+import com.github.dakusui.pcond.validator.exceptions.PreconditionViolationException;
+import com.github.dakusui.pcond.validator.exceptions.ValidationException;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Functions.length;
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static org.junit.Assert.*;
+
+public class LazyMessageTest extends TestBase {
+  private static final Predicate<String> COND = allOf(isNotNull(), transform(length()).check(gt(10)));
+
+  @Test
+  public void givenFailingValue_whenRequire_thenExplanationIsNotComposedUntilMessageIsAccessed() {
+    AtomicInteger counter = new AtomicInteger(0);
+    Validator validator = createValidator(counter);
+    try {
+      validator.require("Hello", COND);
+      fail();
+    } catch (PreconditionViolationException e) {
+      assertEquals(0, counter.get());
+      String message = e.getMessage();
+      assertEquals(1, counter.get());
+      assertSame(message, e.getMessage());
+      assertEquals(1, counter.get());
+    }
+  }
+
+  @Test
+  public void givenFailingValue_whenRequire_thenSameMessageAsEagerlyRendered() {
+    Validator validator = createValidator(new AtomicInteger(0));
+    String eager = null;
+    try {
+      validator.require("Hello", COND, PreconditionViolationException::new);
+      fail();
+    } catch (PreconditionViolationException e) {
+      eager = e.getMessage();
+    }
+    try {
+      validator.require("Hello", COND);
+      fail();
+    } catch (PreconditionViolationException e) {
+      assertEquals(eager, e.getMessage());
+      assertTrue(e.toString().startsWith(PreconditionViolationException.class.getName() + ": "));
+    }
+  }
+
+  @Test(expected = PostconditionViolationException.class)
+  public void givenFailingValue_whenEnsure_thenPostconditionViolationExceptionWithMessage() {
+    try {
+      createValidator(new AtomicInteger(0)).ensure("Hello", COND);
+    } catch (PostconditionViolationException e) {
+      assertTrue(e.getMessage().contains("Hello"));
+      throw e;
+    }
+  }
+
+  @Test(expected = ValidationException.class)
+  public void givenFailingValue_whenValidate_thenValidationExceptionWithMessage() {
+    Validator validator = createValidator(new AtomicInteger(0));
+    try {
+      validator.validate("Hello", COND, validator.configuration().exceptionComposer().defaultForValidate());
+    } catch (ValidationException e) {
+      assertTrue(e.getMessage().contains("Hello"));
+      throw e;
+    }
+  }
+
+  @Test
+  public void givenLazyException_whenSerialized_thenMessageIsRendered() throws Exception {
+    ValidationException original = new ValidationException(() -> "rendered");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(original);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertEquals("rendered", ((ValidationException) in.readObject()).getMessage());
+    }
+  }
+
+  @Test
+  public void givenLazyExplanation_whenAccessedTwice_thenComposedOnce() {
+    AtomicInteger counter = new AtomicInteger(0);
+    Explanation explanation = Explanation.lazy(() -> {
+      counter.incrementAndGet();
+      return Explanation.fromMessage("message");
+    });
+    assertEquals(0, counter.get());
+    assertEquals("message", explanation.message());
+    assertEquals(explanation.expected(), explanation.expected());
+    assertEquals(1, counter.get());
+  }
+
+  private static Validator createValidator(AtomicInteger counter) {
+    Validator.Configuration configuration = Validator.configurationFromProperties(new Properties());
+    return new Validator.Impl(configuration.parentBuilder()
+        .reportComposer(countingReportComposer(configuration.reportComposer(), counter))
+        .build());
+  }
+
+  private static ReportComposer countingReportComposer(ReportComposer reportComposer, AtomicInteger counter) {
+    return new ReportComposer() {
+      @Override
+      public Explanation composeExplanation(String message, List<EvaluationEntry> evaluationEntries) {
+        counter.incrementAndGet();
+        return reportComposer.composeExplanation(message, evaluationEntries);
+      }
+    };
+  }
+}
@@ -0,0 +1,130 @@
+package com.github.dakusui.pcond.ut.valuechecker;
+
+import com.github.dakusui.pcond.forms.Printables;
+import com.github.dakusui.pcond.validator.PredicateMetrics;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static org.junit.Assert.*;
+
+public class PredicateMetricsTest extends TestBase {
+  @Test
+  public void whenChecked_thenInvocationsAndFailuresAreCounted() {
+    PredicateMetrics metrics = new PredicateMetrics(10, false);
+    Validator validator = createValidator(metrics, true);
+
+    for (int i = 0; i < 3; i++)
+      validator.requireArgument("hello", and(isNotNull(), not(isEmptyString())));
+    requireArgumentAndIgnoreFailure(validator, "", and(isNotNull(), not(isEmptyString())));
+
+    List<PredicateMetrics.Snapshot> snapshot = metrics.snapshot();
+    assertEquals(1, snapshot.size());
+    assertEquals("(isNotNull&&!isEmpty)", snapshot.get(0).name());
+    assertEquals(4, snapshot.get(0).invocations());
+    assertEquals(1, snapshot.get(0).failures());
+    assertEquals(0.25, snapshot.get(0).failureRate(), 0.0);
+    assertEquals(snapshot.get(0).maxNanos(), snapshot.get(0).percentileNanos(100));
+  }
+
+  @Test
+  public void whenMaxEntriesIsReached_thenOthersAreCountedInOverflowEntry() {
+    PredicateMetrics metrics = new PredicateMetrics(1, false);
+    Validator validator = createValidator(metrics, true);
+
+    validator.requireArgument("hello", isNotNull());
+    validator.requireArgument("hello", not(isEmptyString()));
+    validator.requireArgument("hello", containsString("l"));
+
+    List<PredicateMetrics.Snapshot> snapshot = metrics.snapshot();
+    assertEquals(2, snapshot.size());
+    assertEquals(PredicateMetrics.OVERFLOW_ENTRY_NAME, snapshot.get(0).name());
+    assertEquals(2, snapshot.get(0).invocations());
+    assertEquals("isNotNull", snapshot.get(1).name());
+  }
+
+  @Test
+  public void givenLeafBreakdown_whenEvaluatedByEvaluator_thenLeavesAreCounted() {
+    PredicateMetrics metrics = new PredicateMetrics(10, true);
+    Validator validator = createValidator(metrics, false);
+    Predicate<String> cond = allOf(isNotNull(), containsString("x"));
+
+    validator.requireArgument("x", cond);
+    requireArgumentAndIgnoreFailure(validator, "hello", cond);
+
+    PredicateMetrics.Snapshot snapshot = metrics.snapshot().get(0);
+    assertEquals(2, snapshot.leaves().get("isNotNull").passed());
+    assertEquals(1, snapshot.leaves().get("containsString[x]").passed());
+    assertEquals(1, snapshot.leaves().get("containsString[x]").failed());
+  }
+
+  @Test
+  public void givenDifferentPrintablePredicates_whenChecked_thenCountedInDifferentEntries() {
+    PredicateMetrics metrics = new PredicateMetrics(10, true);
+    Validator validator = createValidator(metrics, false);
+    Predicate<String> isEmpty = Printables.predicate("isEmpty", String::isEmpty);
+    Predicate<String> isBlank = Printables.predicate("isBlank", s -> s.trim().isEmpty());
+
+    validator.requireArgument("", isEmpty);
+    validator.requireArgument(" ", isBlank);
+    requireArgumentAndIgnoreFailure(validator, "x", and(isNotNull(), isBlank));
+    requireArgumentAndIgnoreFailure(validator, "x", and(isNotNull(), isEmpty));
+
+    assertNotSame(metrics.entryFor(isEmpty), metrics.entryFor(isBlank));
+    assertNotSame(metrics.entryFor(and(isNotNull(), isEmpty)), metrics.entryFor(and(isNotNull(), isBlank)));
+    assertSame(metrics.entryFor(isEmpty), metrics.entryFor(Printables.predicate("isEmpty", isEmpty)));
+    assertEquals(4, metrics.snapshot().size());
+    metrics.snapshot().stream()
+        .filter(each -> each.name().equals("(isNotNull&&isBlank)"))
+        .forEach(each -> {
+          assertEquals(1, each.leaves().get("isBlank").failed());
+          assertNull(each.leaves().get("isEmpty"));
+        });
+  }
+
+  @Test
+  public void givenInlinePrintablePredicateCapturingValue_whenCheckedRepeatedly_thenCountedInSameEntry() {
+    PredicateMetrics metrics = new PredicateMetrics(2, false);
+    Validator validator = createValidator(metrics, true);
+
+    for (int i = 0; i < 5; i++) {
+      int min = i;
+      validator.requireArgument(10, and(isNotNull(), Printables.predicate("isGreaterThanMin", v -> v > min)));
+    }
+
+    List<PredicateMetrics.Snapshot> snapshot = metrics.snapshot();
+    assertEquals(1, snapshot.size());
+    assertEquals(5, snapshot.get(0).invocations());
+  }
+
+  @Test
+  public void whenReset_thenSnapshotIsEmpty() {
+    PredicateMetrics metrics = new PredicateMetrics(10, false);
+    createValidator(metrics, true).requireArgument("hello", isNotNull());
+    metrics.reset();
+
+    assertTrue(metrics.snapshot().isEmpty());
+  }
+
+  private static Validator createValidator(PredicateMetrics metrics, boolean fastPass) {
+    Properties properties = new Properties();
+    properties.setProperty("fastPass", Boolean.toString(fastPass));
+    return new Validator.Impl(Validator.configurationFromProperties(properties)
+        .parentBuilder()
+        .metrics(metrics)
+        .build());
+  }
+
+  private static <T> void requireArgumentAndIgnoreFailure(Validator validator, T value, Predicate<? super T> cond) {
+    try {
+      validator.requireArgument(value, cond);
+      fail();
+    } catch (IllegalArgumentException ignored) {
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package com.github.dakusui.pcond.ut.valuechecker;
+
+import com.github.dakusui.pcond.forms.Printables;
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.pcond.validator.exceptions.PostconditionViolationException;
+import com.github.dakusui.pcond.validator.exceptions.PreconditionViolationException;
+import com.github.dakusui.pcond.validator.exceptions.ValidationException;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static org.junit.Assert.*;
+
+public class StackTraceCaptureTest extends TestBase {
+  private static final Predicate<String> COND = isEmptyString();
+
+  @Test
+  public void givenDefaultConfiguration_whenValidateFails_thenStackTraceIsCaptured() {
+    Validator validator = createValidator(null);
+    assertTrue(validator.configuration().captureStackTrace());
+    try {
+      validator.validate("Hello", COND, validator.configuration().exceptionComposer().defaultForValidate());
+      fail();
+    } catch (ValidationException e) {
+      assertTrue(e.getStackTrace().length > 0);
+    }
+  }
+
+  @Test
+  public void givenCaptureStackTraceDisabled_whenValidateFails_thenStackTraceIsEmptyButMessageIsComposed() {
+    Validator validator = createValidator(false);
+    assertFalse(validator.configuration().captureStackTrace());
+    try {
+      validator.validate("Hello", COND, validator.configuration().exceptionComposer().defaultForValidate());
+      fail();
+    } catch (ValidationException e) {
+      assertEquals(0, e.getStackTrace().length);
+      assertTrue(e.getMessage().contains("Hello"));
+    }
+  }
+
+  @Test
+  public void givenCaptureStackTraceDisabled_whenRequireFails_thenStackTraceIsEmpty() {
+    try {
+      createValidator(false).require("Hello", COND);
+      fail();
+    } catch (PreconditionViolationException e) {
+      assertEquals(0, e.getStackTrace().length);
+    }
+  }
+
+  @Test
+  public void givenCaptureStackTraceDisabled_whenEnsureFails_thenStackTraceIsEmpty() {
+    try {
+      createValidator(false).ensure("Hello", COND);
+      fail();
+    } catch (PostconditionViolationException e) {
+      assertEquals(0, e.getStackTrace().length);
+    }
+  }
+
+  @Test
+  public void givenCaptureStackTraceDisabled_whenFunctionThrows_thenReportHasNoStackTraceOfIt() {
+    Validator.reconfigureThreadLocally(b -> b.captureStackTrace(false));
+    try {
+      assertFalse(messageOfFailureWithThrowingFunction().contains("InternalClass.java"));
+    } finally {
+      Validator.resetThreadLocalConfiguration();
+    }
+    assertTrue(messageOfFailureWithThrowingFunction().contains("InternalClass.java"));
+  }
+
+  @Test
+  public void givenCaptureStackTraceDisabledProgrammatically_whenRequireFails_thenStackTraceIsEmpty() {
+    Validator.reconfigureThreadLocally(b -> b.captureStackTrace(false));
+    try {
+      Validator.instance().require("Hello", COND);
+      fail();
+    } catch (PreconditionViolationException e) {
+      assertEquals(0, e.getStackTrace().length);
+    } finally {
+      Validator.resetThreadLocalConfiguration();
+    }
+  }
+
+  @Test
+  public void givenCaptureStackTraceDisabledOnBuilder_whenEnsureAndValidateFail_thenStackTracesAreEmpty() {
+    Validator validator = new Validator.Impl(Validator.configurationFromProperties(new Properties())
+        .parentBuilder()
+        .captureStackTrace(false)
+        .build());
+    try {
+      validator.ensure("Hello", COND);
+      fail();
+    } catch (PostconditionViolationException e) {
+      assertEquals(0, e.getStackTrace().length);
+    }
+    try {
+      validator.validate("Hello", COND, validator.configuration().exceptionComposer().defaultForValidate());
+      fail();
+    } catch (ValidationException e) {
+      assertEquals(0, e.getStackTrace().length);
+    }
+  }
+
+  @Test
+  public void givenValidatorWithCaptureStackTraceDisabled_whenFunctionThrows_thenReportHasNoStackTraceRegardlessOfSharedInstance() {
+    assertTrue(Validator.instance().configuration().captureStackTrace());
+    assertFalse(messageOfFailureWithThrowingFunction(createValidator(false)).contains("InternalClass.java"));
+  }
+
+  @Test
+  public void givenValidatorWithCaptureStackTraceEnabled_whenFunctionThrows_thenReportHasStackTraceRegardlessOfOverride() {
+    Validator validator = createValidator(true);
+    Validator.reconfigureThreadLocally(b -> b.captureStackTrace(false));
+    try {
+      assertTrue(messageOfFailureWithThrowingFunction(validator).contains("InternalClass.java"));
+    } finally {
+      Validator.resetThreadLocalConfiguration();
+    }
+  }
+
+  private static String messageOfFailureWithThrowingFunction() {
+    return messageOfFailureWithThrowingFunction(Validator.instance());
+  }
+
+  private static String messageOfFailureWithThrowingFunction(Validator validator) {
+    try {
+      validator.requireArgument("Hello", transform(Printables.<String, Integer>function("throwing", v -> {
+        throw new IllegalStateException("intentional");
+      })).check(isNotNull()));
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("intentional"));
+      return e.getMessage();
+    }
+    throw new AssertionError();
+  }
+
+  private static Validator createValidator(Boolean captureStackTrace) {
+    Properties properties = new Properties();
+    if (captureStackTrace != null)
+      properties.setProperty("captureStackTrace", Boolean.toString(captureStackTrace));
+    return new Validator.Impl(Validator.configurationFromProperties(properties));
+  }
+}
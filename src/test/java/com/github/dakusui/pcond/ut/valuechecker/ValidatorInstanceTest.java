@@ -0,0 +1,86 @@
+package com.github.dakusui.pcond.ut.valuechecker;
+
+import com.github.dakusui.pcond.validator.Validator;
+import com.github.dakusui.shared.utils.ut.TestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ValidatorInstanceTest extends TestBase {
+  private Validator.Configuration.Builder savedBuilder;
+
+  @Before
+  public void saveConfiguration() {
+    this.savedBuilder = Validator.instance().configuration().parentBuilder();
+  }
+
+  @After
+  public void restoreConfiguration() {
+    Validator.resetThreadLocalConfiguration();
+    Validator.reconfigure(b -> {
+    }, this.savedBuilder);
+  }
+
+  @Test
+  public void whenInstanceIsRequestedFromDifferentThreads_thenSameOneIsReturned() throws InterruptedException {
+    assertSame(Validator.instance(), instanceInAnotherThread());
+  }
+
+  @Test
+  public void whenReconfigured_thenVisibleFromOtherThreads() throws InterruptedException {
+    Validator.reconfigure(b -> b.summarizedStringLength(123));
+
+    assertEquals(123, instanceInAnotherThread().configuration().summarizedStringLength());
+  }
+
+  @Test
+  public void whenReconfiguredThreadLocally_thenInvisibleFromOtherThreads() throws InterruptedException {
+    Validator shared = Validator.instance();
+    Validator.reconfigureThreadLocally(b -> b.summarizedStringLength(456));
+
+    assertEquals(456, Validator.instance().configuration().summarizedStringLength());
+    assertSame(shared, instanceInAnotherThread());
+  }
+
+  @Test
+  public void whenThreadLocalConfigurationIsReset_thenSharedOneIsReturned() {
+    Validator shared = Validator.instance();
+    Validator.reconfigureThreadLocally(b -> b.summarizedStringLength(789));
+    Validator.resetThreadLocalConfiguration();
+
+    assertSame(shared, Validator.instance());
+  }
+
+  @SuppressWarnings("deprecation")
+  @Test
+  public void whenDeprecatedInstanceFieldIsRead_thenInstanceInEffectIsReturned() {
+    assertSame(Validator.instance(), Validator.INSTANCE.get());
+  }
+
+  @SuppressWarnings("deprecation")
+  @Test
+  public void whenDeprecatedInstanceFieldIsSetAndRemoved_thenOverriddenOnlyForCurrentThreadUntilRemoved() throws InterruptedException {
+    Validator shared = Validator.instance();
+    Validator validator = Validator.create(new Properties());
+    Validator.INSTANCE.set(validator);
+
+    assertSame(validator, Validator.instance());
+    assertSame(shared, instanceInAnotherThread());
+
+    Validator.INSTANCE.remove();
+    assertSame(shared, Validator.instance());
+  }
+
+  private static Validator instanceInAnotherThread() throws InterruptedException {
+    AtomicReference<Validator> ret = new AtomicReference<>();
+    Thread thread = new Thread(() -> ret.set(Validator.instance()));
+    thread.start();
+    thread.join();
+    return ret.get();
+  }
+}
@@ -13,6 +13,9 @@ import org.junit.runner.RunWith;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Stream;
 
 import static com.github.dakusui.pcond.forms.Predicates.isInstanceOf;
@@ -272,6 +275,29 @@ public class PredicatesTest {
     public void whenToString$thenLooksGood() {
       assertEquals("matchesRegex[hello.]", Predicates.matchesRegex("hello.").toString());
     }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void whenInvalidRegex$thenThrownOnTest() {
+      Predicate<String> p = Predicates.matchesRegex("hello(");
+      p.test("hello");
+    }
+  }
+
+  public static class MatchesPatternTest extends TestBase {
+    @Test
+    public void whenMet$thenTrue() {
+      assertTrue(Predicates.matchesPattern(Pattern.compile("hello.")).test("hello!"));
+    }
+
+    @Test
+    public void whenNotMet$thenFalse() {
+      assertFalse(Predicates.matchesPattern(Pattern.compile(".ello.")).test("hello"));
+    }
+
+    @Test
+    public void whenToString$thenLooksGood() {
+      assertEquals("matchesPattern[hello.]", Predicates.matchesPattern(Pattern.compile("hello.")).toString());
+    }
   }
 
   public static class ContainsStringTest extends TestBase {
@@ -0,0 +1,102 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.experimentals.currying.context.CurriedContext;
+import com.github.dakusui.pcond.experimentals.currying.context.CurriedContextUtils;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures accesses to values of `CurriedContext`s built by `append` and `CurriedContextUtils.nest`.
+ *
+ * `values()` copying the parent's values, which are also computed on each call
+ * <pre>
+ * appendAndReadEach                        1691[msec] (succeeded)
+ * nestFiveTimes                            3873[msec] (succeeded)
+ * </pre>
+ * A persistent context, which holds its parent and composes `values()` once
+ * <pre>
+ * appendAndReadEach                          49[msec] (succeeded)
+ * nestFiveTimes                             705[msec] (succeeded)
+ * </pre>
+ * `valueAt` walking up to the context holding the value, instead of composing `values()` of each context
+ * <pre>
+ * appendAndReadEach                          59[msec] (succeeded)
+ * nestFiveTimes                             532[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CurriedContextPerf {
+  private static final int DEPTH = 200;
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  /**
+   * Appends values one by one and reads every value of each context.
+   */
+  @Test
+  public void appendAndReadEach() {
+    CurriedContext context = CurriedContext.from(0);
+    long sum = 0;
+    for (int i = 1; i < DEPTH; i++) {
+      context = context.append(i);
+      for (int j = 0; j < context.size(); j++)
+        sum += context.<Integer>valueAt(j);
+    }
+    assertEquals(DEPTH, context.size());
+    assertEquals(IntStream.range(1, DEPTH).mapToLong(i -> (long) i * (i + 1) / 2).sum(), sum);
+  }
+
+  /**
+   * Nests a stream of ten elements five times and reads every value of each combination.
+   */
+  @Test
+  public void nestFiveTimes() {
+    List<Integer> elements = IntStream.range(0, 10).boxed().collect(toList());
+    Stream<CurriedContext> contexts = CurriedContextUtils.toCurriedContextStream(elements.stream());
+    for (int i = 0; i < 5; i++)
+      contexts = CurriedContextUtils.nest(contexts, elements);
+    assertEquals(
+        1_000_000L * 6 * 45 / 10,
+        contexts.mapToLong(c -> {
+              long ret = 0;
+              for (int j = 0; j < c.size(); j++)
+                ret += c.<Integer>valueAt(j);
+              return ret;
+            })
+            .sum());
+  }
+}
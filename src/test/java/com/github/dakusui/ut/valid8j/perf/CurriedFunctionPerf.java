@@ -0,0 +1,93 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.experimentals.currying.CurriedFunction;
+import com.github.dakusui.pcond.experimentals.currying.CurryingUtils;
+import com.github.dakusui.pcond.experimentals.currying.context.CurriedContext;
+import com.github.dakusui.pcond.forms.Functions;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.experimentals.currying.CurriedFunctions.toCurriedContextPredicate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures 1,000,000 applications of a curried function of a static method with three parameters to a context.
+ *
+ * Arguments applied one by one, each of which creates a curried function
+ * <pre>
+ * applyCurriedFunction                     4315[msec] (succeeded)
+ * testCurriedContextPredicate              2973[msec] (succeeded)
+ * </pre>
+ * Arguments applied at once
+ * <pre>
+ * applyCurriedFunction                     1727[msec] (succeeded)
+ * testCurriedContextPredicate               921[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CurriedFunctionPerf {
+  private static final int COUNT = 1_000_000;
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @Test
+  public void applyCurriedFunction() {
+    Function<CurriedContext, String> function = CurryingUtils.applyCurriedFunction(curriedJoin());
+    CurriedContext context = CurriedContext.from("a").append(1).append('c');
+    for (int i = 0; i < COUNT; i++)
+      assertEquals("a1c", function.apply(context));
+  }
+
+  @Test
+  public void testCurriedContextPredicate() {
+    Predicate<CurriedContext> predicate = toCurriedContextPredicate(Functions.curry(CurriedFunctionPerf.class, "isLonger", String.class, int.class, char.class));
+    CurriedContext context = CurriedContext.from("abc").append(1).append('c');
+    for (int i = 0; i < COUNT; i++)
+      assertTrue(predicate.test(context));
+  }
+
+  private static CurriedFunction<Object, Object> curriedJoin() {
+    return Functions.curry(CurriedFunctionPerf.class, "join", String.class, int.class, char.class);
+  }
+
+  @SuppressWarnings("unused") // Called through reflection
+  public static String join(String s, int i, char c) {
+    return s + i + c;
+  }
+
+  @SuppressWarnings("unused") // Called through reflection
+  public static boolean isLonger(String s, int i, char c) {
+    return s.length() > i;
+  }
+}
@@ -0,0 +1,127 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.core.*;
+import com.github.dakusui.pcond.forms.Printables;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Predicates.*;
+
+/**
+ * Measures the cost of evaluating deeply nested `transform(...).check(...)` forms with an {@link Evaluator},
+ * which is what happens when a value doesn't satisfy a predicate and a report needs to be composed.
+ *
+ * Entries of child contexts are written directly into the list of the top-level context, so the cost
+ * should grow linearly with the depth, not quadratically.
+ *
+ * Entries copied into parent contexts
+ * <pre>
+ * evaluateDepth001                         1205[msec] (succeeded)
+ * evaluateDepth004                         3055[msec] (succeeded)
+ * evaluateDepth016                         1308[msec] (succeeded)
+ * evaluateDepth064                          674[msec] (succeeded)
+ * evaluateDepth256                          802[msec] (succeeded)
+ * </pre>
+ * Entries written into a shared list
+ * <pre>
+ * evaluateDepth001                          651[msec] (succeeded)
+ * evaluateDepth004                         1882[msec] (succeeded)
+ * evaluateDepth016                          636[msec] (succeeded)
+ * evaluateDepth064                          215[msec] (succeeded)
+ * evaluateDepth256                           91[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DeepTransformPerf {
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @BeforeClass
+  public static void warmUp() {
+    Predicate<String> p = nestedTransforms(16);
+    for (int i = 0; i < 10_000; i++)
+      evaluate(p, "John Doe");
+  }
+
+  @Test
+  public void evaluateDepth001() {
+    evaluateRepeatedly(nestedTransforms(1), 100_000);
+  }
+
+  @Test
+  public void evaluateDepth004() {
+    evaluateRepeatedly(nestedTransforms(4), 100_000);
+  }
+
+  @Test
+  public void evaluateDepth016() {
+    evaluateRepeatedly(nestedTransforms(16), 10_000);
+  }
+
+  @Test
+  public void evaluateDepth064() {
+    evaluateRepeatedly(nestedTransforms(64), 1_000);
+  }
+
+  @Test
+  public void evaluateDepth256() {
+    evaluateRepeatedly(nestedTransforms(256), 100);
+  }
+
+  private static void evaluateRepeatedly(Predicate<String> p, int numLoop) {
+    for (int i = 0; i < numLoop; i++)
+      evaluate(p, "John Doe");
+  }
+
+  /**
+   * Returns `transform(f).check(transform(f).check(... transform(length).check(gt(100)) ...))`,
+   * which doesn't hold for any short string.
+   */
+  private static Predicate<String> nestedTransforms(int depth) {
+    Function<String, String> f = Printables.function("identity", Function.identity());
+    Predicate<String> ret = transform(Printables.function("length", String::length)).check(gt(100));
+    for (int i = 0; i < depth; i++)
+      ret = transform(f).check(ret);
+    return ret;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> int evaluate(Predicate<T> predicate, T value) {
+    Evaluable<T> evaluable = (Evaluable<T>) predicate;
+    EvaluationContext<T> evaluationContext = new EvaluationContext<>();
+    evaluable.accept(
+        new EvaluableIo<>(ValueHolder.forValue(value), EvaluationContext.resolveEvaluationEntryType(evaluable), evaluable),
+        evaluationContext,
+        Evaluator.create());
+    return evaluationContext.resultEntries().size();
+  }
+}
@@ -0,0 +1,90 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.validator.FailureAggregator;
+import com.github.dakusui.pcond.validator.Validator;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Functions.length;
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures validations of a value that repeatedly fails in the same way, with and without a {@link FailureAggregator},
+ * which composes a full report only for the first 10 failures in a minute.
+ * <pre>
+ * requireArgument                          11703[msec] (succeeded)
+ * requireArgumentWithFailureAggregator      2345[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class FailureAggregatorPerf {
+  private static final int               COUNT     = 20_000;
+  private static final String            VALUE     = "Hello, world";
+  private static final Predicate<String> PREDICATE = allOf(
+      isNotNull(),
+      transform(length()).check(allOf(gt(1), lt(10))),
+      not(containsString("world")),
+      or(startsWith("Bye"), endsWith("!")));
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @Test
+  public void requireArgument() {
+    requireArgument(createValidator(null));
+  }
+
+  @Test
+  public void requireArgumentWithFailureAggregator() {
+    requireArgument(createValidator(new FailureAggregator(10, TimeUnit.MINUTES.toNanos(1), 100)));
+  }
+
+  private static void requireArgument(Validator validator) {
+    for (int i = 0; i < COUNT; i++) {
+      try {
+        validator.requireArgument(VALUE, PREDICATE);
+        throw new AssertionError();
+      } catch (IllegalArgumentException e) {
+        assertTrue(e.getMessage().length() > 0);
+      }
+    }
+  }
+
+  private static Validator createValidator(FailureAggregator failureAggregator) {
+    return new Validator.Impl(Validator.configurationFromProperties(new Properties())
+        .parentBuilder()
+        .failureAggregator(failureAggregator)
+        .build());
+  }
+}
@@ -0,0 +1,117 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.core.*;
+import com.github.dakusui.pcond.experimentals.cursor.Cursors;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static com.github.dakusui.pcond.forms.Predicates.isEqualTo;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures `Cursors.findElements` with 10 ordered predicates over a list of 1,000,000 elements.
+ *
+ * A stream pipeline and `subList` views for each predicate, with all the skipped elements kept for a report
+ * <pre>
+ * findAllElements                          1243[msec] (succeeded)
+ * findElementsWithMissingOne                557[msec] (succeeded)
+ * findElementsWithMissingOneByEvaluator   71000[msec] (succeeded)
+ * </pre>
+ * A single forward loop for each predicate, with a bounded window of skipped elements
+ * <pre>
+ * findAllElements                           691[msec] (succeeded)
+ * findAllElementsInStream                   926[msec] (succeeded)
+ * findElementsWithMissingOne                657[msec] (succeeded)
+ * findElementsWithMissingOneByEvaluator    2595[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class FindElementsPerf {
+  private static final int                  NUM_ELEMENTS = 1_000_000;
+  private static final List<Integer>        ELEMENTS     = IntStream.range(0, NUM_ELEMENTS).boxed().collect(toList());
+  private static final Predicate<Integer>[] PREDICATES   = predicates(-1);
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @BeforeClass
+  public static void warmUp() {
+    for (int i = 0; i < 10; i++)
+      Cursors.findElements(PREDICATES).test(ELEMENTS);
+  }
+
+  @Test
+  public void findAllElements() {
+    for (int i = 0; i < 50; i++)
+      assertTrue(Cursors.findElements(PREDICATES).test(ELEMENTS));
+  }
+
+  @Test
+  public void findAllElementsInStream() {
+    for (int i = 0; i < 50; i++)
+      assertTrue(Cursors.findElementsInStream(PREDICATES).test(ELEMENTS.stream()));
+  }
+
+  @Test
+  public void findElementsWithMissingOne() {
+    for (int i = 0; i < 50; i++)
+      assertFalse(Cursors.findElements(predicates(1)).test(ELEMENTS));
+  }
+
+  /**
+   * Unlike `Predicate#test`, an {@link Evaluator} tests all the predicates even after one of them is not satisfied.
+   */
+  @Test
+  public void findElementsWithMissingOneByEvaluator() {
+    for (int i = 0; i < 50; i++)
+      evaluate(Cursors.findElements(predicates(1)), ELEMENTS);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void evaluate(Predicate<T> predicate, T value) {
+    Evaluable<T> evaluable = (Evaluable<T>) predicate;
+    evaluable.accept(
+        new EvaluableIo<>(ValueHolder.forValue(value), EvaluationContext.resolveEvaluationEntryType(evaluable), evaluable),
+        new EvaluationContext<>(),
+        Evaluator.create());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Predicate<Integer>[] predicates(int missing) {
+    return IntStream.range(0, 10)
+        .mapToObj(i -> isEqualTo(i == missing ? -1 : i * (NUM_ELEMENTS / 10) + 7))
+        .toArray(Predicate[]::new);
+  }
+}
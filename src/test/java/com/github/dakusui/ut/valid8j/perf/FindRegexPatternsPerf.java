@@ -0,0 +1,89 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.experimentals.cursor.Cursors;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures `Cursors.findRegexes` with 50 ordered regexes over a log payload of about 1MB.
+ *
+ * As with `FindSubstringsPerf`, a large part of the time is spent for composing explanations.
+ *
+ * A `Matcher` on a copy of the rest of the string for each pattern
+ * <pre>
+ * findLiteralRegexes                       3695[msec] (succeeded)
+ * findRegexesWithMetaCharacters            3868[msec] (succeeded)
+ * </pre>
+ * Literal patterns by an automaton, and the others by a `Matcher` with a region
+ * <pre>
+ * findLiteralRegexes                       2593[msec] (succeeded)
+ * findRegexesWithMetaCharacters            1922[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class FindRegexPatternsPerf {
+  private static final int      NUM_LINES = 20_000;
+  private static final String   PAYLOAD   = payload();
+  private static final String[] LITERALS  = IntStream.range(0, 50).mapToObj(i -> "request-" + (i * (NUM_LINES / 50) + 7) + " ").toArray(String[]::new);
+  private static final String[] REGEXES   = IntStream.range(0, 50).mapToObj(i -> "request-" + (i * (NUM_LINES / 50) + 7) + "\\b").toArray(String[]::new);
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @BeforeClass
+  public static void warmUp() {
+    for (int i = 0; i < 20; i++) {
+      Cursors.findRegexes(LITERALS).test(PAYLOAD);
+      Cursors.findRegexes(REGEXES).test(PAYLOAD);
+    }
+  }
+
+  @Test
+  public void findLiteralRegexes() {
+    for (int i = 0; i < 100; i++)
+      assertTrue(Cursors.findRegexes(LITERALS).test(PAYLOAD));
+  }
+
+  @Test
+  public void findRegexesWithMetaCharacters() {
+    for (int i = 0; i < 100; i++)
+      assertTrue(Cursors.findRegexes(REGEXES).test(PAYLOAD));
+  }
+
+  private static String payload() {
+    StringBuilder b = new StringBuilder();
+    for (int i = 0; i < NUM_LINES; i++)
+      b.append("2024-01-01T00:00:00.000 INFO  [main] c.e.Service - handled request-").append(i).append(" in ").append(i % 97).append("ms\n");
+    return b.toString();
+  }
+}
@@ -0,0 +1,115 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.core.*;
+import com.github.dakusui.pcond.experimentals.cursor.Cursors;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures `Cursors.findSubstrings` with 50 ordered tokens over a log payload of about 1MB.
+ *
+ * A predicate returned by `findSubstrings` is created for each test, because it is not to be re-used.
+ *
+ * Most of the time of `findAllTokens` is spent for composing explanations of found tokens, not for finding them.
+ *
+ * `String#indexOf` on a copy of the rest of the string for each token
+ * <pre>
+ * findAllTokens                            3662[msec] (succeeded)
+ * findTokensWithMissingOne                  481[msec] (succeeded)
+ * findTokensWithMissingOneByEvaluator      6485[msec] (succeeded)
+ * </pre>
+ * An Aho-Corasick automaton, which scans the string at most once
+ * <pre>
+ * findAllTokens                            1791[msec] (succeeded)
+ * findTokensWithMissingOne                  747[msec] (succeeded)
+ * findTokensWithMissingOneByEvaluator      4687[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class FindSubstringsPerf {
+  private static final int      NUM_LINES = 20_000;
+  private static final String   PAYLOAD   = payload();
+  private static final String[] TOKENS    = IntStream.range(0, 50).mapToObj(i -> "request-" + (i * (NUM_LINES / 50) + 7) + " ").toArray(String[]::new);
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @BeforeClass
+  public static void warmUp() {
+    for (int i = 0; i < 20; i++)
+      Cursors.findSubstrings(TOKENS).test(PAYLOAD);
+  }
+
+  @Test
+  public void findAllTokens() {
+    for (int i = 0; i < 100; i++)
+      assertTrue(Cursors.findSubstrings(TOKENS).test(PAYLOAD));
+  }
+
+  @Test
+  public void findTokensWithMissingOne() {
+    String[] tokens = TOKENS.clone();
+    tokens[1] = "request-missing";
+    for (int i = 0; i < 100; i++)
+      assertFalse(Cursors.findSubstrings(tokens).test(PAYLOAD));
+  }
+
+  /**
+   * Unlike `Predicate#test`, an {@link Evaluator} tests all the tokens even after one of them is not found.
+   */
+  @Test
+  public void findTokensWithMissingOneByEvaluator() {
+    String[] tokens = TOKENS.clone();
+    tokens[1] = "request-missing";
+    for (int i = 0; i < 100; i++)
+      evaluate(Cursors.findSubstrings(tokens), PAYLOAD);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void evaluate(Predicate<T> predicate, T value) {
+    Evaluable<T> evaluable = (Evaluable<T>) predicate;
+    evaluable.accept(
+        new EvaluableIo<>(ValueHolder.forValue(value), EvaluationContext.resolveEvaluationEntryType(evaluable), evaluable),
+        new EvaluationContext<>(),
+        Evaluator.create());
+  }
+
+  private static String payload() {
+    StringBuilder b = new StringBuilder();
+    for (int i = 0; i < NUM_LINES; i++)
+      b.append("2024-01-01T00:00:00.000 INFO  [main] c.e.Service - handled request-").append(i).append(" in ").append(i % 97).append("ms\n");
+    return b.toString();
+  }
+}
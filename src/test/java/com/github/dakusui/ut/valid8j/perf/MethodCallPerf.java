@@ -0,0 +1,130 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.experimentals.currying.multi.MultiFunction;
+import com.github.dakusui.pcond.forms.Functions;
+import com.github.dakusui.pcond.forms.Predicates;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Functions.classMethod;
+import static com.github.dakusui.pcond.forms.Functions.parameter;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures 1,000,000 invocations of methods through `Functions.call`, `Functions.multifunction`, and `Predicates.callp`.
+ * Except for `multifunction`, they find a method by its name and arguments each time they are applied.
+ *
+ * `Class#getMethods()` and method selectors for each invocation
+ * <pre>
+ * callInstanceMethod                       4494[msec] (succeeded)
+ * callOverloadedInstanceMethod             5314[msec] (succeeded)
+ * callStaticMethod                         3045[msec] (succeeded)
+ * callpInstanceMethod                      3268[msec] (succeeded)
+ * </pre>
+ * Methods selected for a name and argument classes cached for each class
+ * <pre>
+ * callInstanceMethod                        937[msec] (succeeded)
+ * callOverloadedInstanceMethod              608[msec] (succeeded)
+ * callStaticMethod                          458[msec] (succeeded)
+ * callpInstanceMethod                       355[msec] (succeeded)
+ * </pre>
+ * `Method#invoke` with accessibility toggled for each invocation (the same tree as above, measured again)
+ * <pre>
+ * callInstanceMethod                       1692[msec] (succeeded)
+ * callOverloadedInstanceMethod             1784[msec] (succeeded)
+ * callStaticMethod                         1866[msec] (succeeded)
+ * callStaticMethodAsMultiFunction          1244[msec] (succeeded)
+ * callpInstanceMethod                       644[msec] (succeeded)
+ * </pre>
+ * Functional interfaces generated by `LambdaMetafactory` for selected methods
+ * <pre>
+ * callInstanceMethod                       1249[msec] (succeeded)
+ * callOverloadedInstanceMethod             1283[msec] (succeeded)
+ * callStaticMethod                          606[msec] (succeeded)
+ * callStaticMethodAsMultiFunction           813[msec] (succeeded)
+ * callpInstanceMethod                       397[msec] (succeeded)
+ * </pre>
+ * The numbers vary by a factor of two between runs on the machine where they were taken.
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MethodCallPerf {
+  private static final int COUNT = 1_000_000;
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @BeforeClass
+  public static void warmUp() {
+    Function<String, String> substring = Functions.call("substring", 1, 3);
+    for (int i = 0; i < COUNT / 10; i++)
+      substring.apply("Hello");
+  }
+
+  @Test
+  public void callInstanceMethod() {
+    Function<String, String> substring = Functions.call("substring", 1, 3);
+    for (int i = 0; i < COUNT; i++)
+      assertEquals("el", substring.apply("Hello"));
+  }
+
+  @Test
+  public void callOverloadedInstanceMethod() {
+    Function<String, Integer> indexOf = Functions.call("indexOf", "l");
+    for (int i = 0; i < COUNT; i++)
+      assertEquals(2, (int) indexOf.apply("Hello"));
+  }
+
+  @Test
+  public void callStaticMethod() {
+    Function<Integer, String> toHexString = Functions.call(classMethod(Integer.class, "toHexString", parameter()));
+    for (int i = 0; i < COUNT; i++)
+      assertEquals("ff", toHexString.apply(255));
+  }
+
+  @Test
+  public void callStaticMethodAsMultiFunction() {
+    MultiFunction<String> toString = Functions.multifunction(Integer.class, "toString", int.class, int.class);
+    List<Object> args = asList(255, 16);
+    for (int i = 0; i < COUNT; i++)
+      assertEquals("ff", toString.apply(args));
+  }
+
+  @Test
+  public void callpInstanceMethod() {
+    Predicate<String> startsWith = Predicates.callp("startsWith", "He");
+    for (int i = 0; i < COUNT; i++)
+      assertTrue(startsWith.test("Hello"));
+  }
+}
@@ -0,0 +1,109 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.core.*;
+import com.github.dakusui.pcond.validator.Explanation;
+import com.github.dakusui.pcond.validator.ReportComposer;
+import com.github.dakusui.pcond.validator.Validator;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.github.dakusui.pcond.forms.Functions.length;
+import static com.github.dakusui.pcond.forms.Functions.stringify;
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures composing reports for a value that doesn't satisfy a predicate with about 20 forms.
+ *
+ * `composeReport` composes reports from evaluation entries recorded in advance, and `requireArgument` evaluates
+ * the predicate and composes a report for each validation.
+ *
+ * Entries squashed twice, once for expectations and once for actual values, and rendered with `String.format`
+ * <pre>
+ * composeReport                           51281[msec] (succeeded)
+ * requireArgument                         69266[msec] (succeeded)
+ * </pre>
+ * Entries squashed once and rendered into a `StringBuilder`
+ * <pre>
+ * composeReport                           14588[msec] (succeeded)
+ * requireArgument                         36122[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ReportComposerPerf {
+  private static final int               COUNT     = 100_000;
+  private static final String            VALUE     = "Hello, world\nThis is a multi-line value";
+  private static final Predicate<String> PREDICATE = allOf(
+      isNotNull(),
+      transform(length()).check(allOf(gt(1), lt(10))),
+      transform(stringify().andThen(length())).check(isEqualTo(3)),
+      not(containsString("world")),
+      or(startsWith("Bye"), endsWith("!")),
+      anyOf(isEmptyString(), transform(length()).check(isEqualTo(5))));
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @Test
+  public void composeReport() {
+    List<EvaluationEntry> entries = evaluate(PREDICATE, VALUE);
+    ReportComposer reportComposer = new ReportComposer.Default();
+    for (int i = 0; i < COUNT; i++) {
+      Explanation explanation = reportComposer.composeExplanation("message", entries);
+      assertTrue(explanation.expected().summary().length() > 0);
+    }
+  }
+
+  @Test
+  public void requireArgument() {
+    Validator validator = Validator.instance();
+    for (int i = 0; i < COUNT; i++) {
+      try {
+        validator.requireArgument(VALUE, PREDICATE);
+        throw new AssertionError();
+      } catch (IllegalArgumentException e) {
+        assertTrue(e.getMessage().length() > 0);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<EvaluationEntry> evaluate(Predicate<T> predicate, T value) {
+    Evaluable<T> evaluable = (Evaluable<T>) predicate;
+    EvaluationContext<T> evaluationContext = new EvaluationContext<>();
+    evaluable.accept(
+        new EvaluableIo<>(ValueHolder.forValue(value), EvaluationContext.resolveEvaluationEntryType(evaluable), evaluable),
+        evaluationContext,
+        Evaluator.create());
+    return evaluationContext.resultEntries();
+  }
+}
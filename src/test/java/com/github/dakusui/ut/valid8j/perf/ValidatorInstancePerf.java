@@ -0,0 +1,114 @@
+package com.github.dakusui.ut.valid8j.perf;
+
+import com.github.dakusui.pcond.validator.Validator;
+import org.junit.*;
+import org.junit.rules.Stopwatch;
+import org.junit.runner.Description;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.github.dakusui.pcond.forms.Predicates.*;
+import static com.github.dakusui.pcond.validator.Validator.Configuration.Utils.loadPcondProperties;
+
+/**
+ * Compares the startup and the throughput of obtaining a validator in a thread-per-task model.
+ * `threadLocal*` simulates the former model, where every new thread creates its own validator
+ * from system properties and `pcond.properties`, `shared*` the current one, where all the threads share one.
+ *
+ * `*Startup` measures only obtaining a validator in each thread, and `*Throughput` obtaining it and then
+ * validating a value {@link ValidatorInstancePerf#numValidationsPerThread()} times in each thread.
+ *
+ * Virtual threads are not available on Java 8, which this library targets, so a new platform
+ * thread is started for each task instead.
+ *
+ * 10,000 threads
+ * <pre>
+ * sharedInstanceStartup                     717[msec] (succeeded)
+ * sharedInstanceThroughput                 4148[msec] (succeeded)
+ * threadLocalInstanceStartup               1382[msec] (succeeded)
+ * threadLocalInstanceThroughput            4236[msec] (succeeded)
+ * </pre>
+ */
+@SuppressWarnings("NewClassNamingConvention")
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ValidatorInstancePerf {
+  private static final ThreadLocal<Validator> THREAD_LOCAL_INSTANCE = ThreadLocal.withInitial(() -> Validator.create(loadPcondProperties()));
+
+  @Rule
+  public Stopwatch stopwatch = new Stopwatch() {
+    @Override
+    protected void succeeded(long nanos, Description description) {
+      formatResult(nanos, description, "succeeded");
+    }
+
+    @Override
+    protected void failed(long nanos, Throwable e, Description description) {
+      formatResult(nanos, description, "failed");
+    }
+
+    @Override
+    protected void skipped(long nanos, AssumptionViolatedException e, Description description) {
+      formatResult(nanos, description, "skipped");
+    }
+
+    private void formatResult(long nanos, Description description, String label) {
+      System.out.printf("%-40s %10s (%s)%n", description.getMethodName(), formatNanos(nanos), label);
+    }
+
+    private String formatNanos(long nanos) {
+      return String.format("%s[msec]", nanos / 1_000_000);
+    }
+  };
+
+  @BeforeClass
+  public static void warmUp() throws InterruptedException {
+    runInNewThreads(Validator::instance, numValidationsPerThread());
+    runInNewThreads(THREAD_LOCAL_INSTANCE::get, numValidationsPerThread());
+  }
+
+  @Test
+  public void sharedInstanceStartup() throws InterruptedException {
+    runInNewThreads(Validator::instance, 0);
+  }
+
+  @Test
+  public void sharedInstanceThroughput() throws InterruptedException {
+    runInNewThreads(Validator::instance, numValidationsPerThread());
+  }
+
+  @Test
+  public void threadLocalInstanceStartup() throws InterruptedException {
+    runInNewThreads(THREAD_LOCAL_INSTANCE::get, 0);
+  }
+
+  @Test
+  public void threadLocalInstanceThroughput() throws InterruptedException {
+    runInNewThreads(THREAD_LOCAL_INSTANCE::get, numValidationsPerThread());
+  }
+
+  private static void runInNewThreads(Supplier<Validator> validatorSupplier, int numValidations) throws InterruptedException {
+    List<Thread> threads = new ArrayList<>(numThreads());
+    for (int i = 0; i < numThreads(); i++) {
+      Thread thread = new Thread(() -> {
+        Validator validator = validatorSupplier.get();
+        for (int j = 0; j < numValidations; j++)
+          validator.requireArgument("John Doe", and(isNotNull(), containsString(" ")));
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread each : threads)
+      each.join();
+  }
+
+  private static int numThreads() {
+    return 10_000;
+  }
+
+  private static int numValidationsPerThread() {
+    return 100;
+  }
+}